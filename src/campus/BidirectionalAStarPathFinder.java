@@ -0,0 +1,195 @@
+package campus;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import graph.FrozenGraph;
+import graph.IndexedMinHeap;
+
+//	BidirectionalAStarPathFinder is not an ADT; therefore it does not need an abstraction function
+//	nor representation invariant. BidirectionalAStarPathFinder answers minimum-cost path queries by
+//	running A* forward from the start node and backward from the destination until they meet. The
+//	heuristic h is a pluggable LowerBound, such as the straight-line distance between node
+//	coordinates or landmark distances. Both directions use the averaged potential
+//	(h(v,dest) - h(start,v)) / 2 and its negation, which keeps the potentials consistent on both
+//	sides, so the search may stop as soon as the two smallest keys sum to at least the best path
+//	found so far. The search state is kept per thread and reused by the next query on that thread.
+
+public class BidirectionalAStarPathFinder implements PathFinder {
+	private FrozenGraph<String> forward;
+	private FrozenGraph<String> backward;
+	private int[] forwardEdge;
+	private LowerBound bound;
+	private final ThreadLocal<Workspace> workspaces;
+	
+	// The search state of one thread, sized for the graph; distances are only read once reached
+	private static class Workspace {
+		private final double[] distanceF;
+		private final double[] distanceB;
+		private final int[] previous;
+		private final int[] previousEdge;
+		private final int[] next;
+		private final int[] nextEdge;
+		private final BitSet reachedF;
+		private final BitSet reachedB;
+		private final BitSet settledF;
+		private final BitSet settledB;
+		private final IndexedMinHeap activeF;
+		private final IndexedMinHeap activeB;
+		
+		Workspace(int n) {
+			distanceF = new double[n];
+			distanceB = new double[n];
+			previous = new int[n];
+			previousEdge = new int[n];
+			next = new int[n];
+			nextEdge = new int[n];
+			reachedF = new BitSet(n);
+			reachedB = new BitSet(n);
+			settledF = new BitSet(n);
+			settledB = new BitSet(n);
+			activeF = new IndexedMinHeap(n);
+			activeB = new IndexedMinHeap(n);
+		}
+	}
+
+	/**
+	 * Creates a BidirectionalAStarPathFinder object for a given graph
+	 *
+	 * @param graph The snapshot of the graph to be searched
+	 * @param bound The consistent lower bound on distances between node indices of graph
+	 * @requires graph != null && bound != null
+	 * @effects Creates a BidirectionalAStarPathFinder object that searches graph
+	 */
+	public BidirectionalAStarPathFinder(FrozenGraph<String> graph, LowerBound bound) {
+		this.forward = graph;
+		this.backward = graph.reverse();
+		this.forwardEdge = new int[graph.edgeCount()];
+		int[] slot = new int[graph.size()];
+		for (int i = 0; i < graph.size(); i++) slot[i] = backward.edgesStart(i);
+		// reverse keeps the reversed edges of each node in order of the edge they reverse
+		for (int i = 0; i < graph.size(); i++) {
+			for (int e = graph.edgesStart(i); e < graph.edgesEnd(i); e++) forwardEdge[slot[graph.getTarget(e)]++] = e;
+		}
+		this.bound = bound;
+		this.workspaces = ThreadLocal.withInitial(() -> new Workspace(graph.size()));
+	}
+
+	/**
+	 * Tries to find a minimum-cost path from source to target using bidirectional A*
+	 *
+	 * @param source The node index of the start
+	 * @param target The node index of the destination
+	 * @requires 0 <= source, target < the size of the graph
+	 * @return an OK route from source to target, or a NO_PATH route if there is no path
+	 */
+	@Override
+	public Route findRoute(int source, int target) {
+		if (source == target) return Route.found(forward, new int[] {source});
+		Workspace w = workspaces.get();
+		double[] distanceF = w.distanceF;
+		double[] distanceB = w.distanceB;
+		int[] previous = w.previous;
+		int[] previousEdge = w.previousEdge;
+		int[] next = w.next;
+		int[] nextEdge = w.nextEdge;
+		BitSet reachedF = w.reachedF;
+		BitSet reachedB = w.reachedB;
+		BitSet settledF = w.settledF;
+		BitSet settledB = w.settledB;
+		IndexedMinHeap activeF = w.activeF;
+		IndexedMinHeap activeB = w.activeB;
+		reachedF.clear();
+		reachedB.clear();
+		settledF.clear();
+		settledB.clear();
+		activeF.clear();
+		activeB.clear();
+		Arrays.fill(previous, -1);
+		Arrays.fill(next, -1);
+		reachedF.set(source);
+		reachedB.set(target);
+		distanceF[source] = 0;
+		distanceB[target] = 0;
+		activeF.insertOrDecrease(source, potential(source, source, target));
+		activeB.insertOrDecrease(target, -potential(target, source, target));
+		double best = Double.POSITIVE_INFINITY;
+		int meeting = -1;
+		while (!activeF.isEmpty() && !activeB.isEmpty()) {
+			if (activeF.getKey(activeF.peek()) + activeB.getKey(activeB.peek()) >= best) break;
+			if (activeF.getKey(activeF.peek()) <= activeB.getKey(activeB.peek())) { // expands the forward search
+				int min = activeF.poll();
+				settledF.set(min);
+				for (int e = forward.edgesStart(min); e < forward.edgesEnd(min); e++) {
+					int child = forward.getTarget(e);
+					if (settledF.get(child)) continue;
+					double distance = distanceF[min] + forward.getWeight(e);
+					if (!reachedF.get(child) || distance < distanceF[child]) {
+						reachedF.set(child);
+						distanceF[child] = distance;
+						previous[child] = min;
+						previousEdge[child] = e;
+						activeF.insertOrDecrease(child, distance + potential(child, source, target));
+					}
+					if (reachedB.get(child) && distanceF[child] + distanceB[child] < best) {
+						best = distanceF[child] + distanceB[child];
+						meeting = child;
+					}
+				}
+			} else { // expands the backward search
+				int min = activeB.poll();
+				settledB.set(min);
+				for (int e = backward.edgesStart(min); e < backward.edgesEnd(min); e++) {
+					int parent = backward.getTarget(e);
+					if (settledB.get(parent)) continue;
+					double distance = distanceB[min] + backward.getWeight(e);
+					if (!reachedB.get(parent) || distance < distanceB[parent]) {
+						reachedB.set(parent);
+						distanceB[parent] = distance;
+						next[parent] = min;
+						nextEdge[parent] = forwardEdge[e];
+						activeB.insertOrDecrease(parent, distance - potential(parent, source, target));
+					}
+					if (reachedF.get(parent) && distanceF[parent] + distanceB[parent] < best) {
+						best = distanceF[parent] + distanceB[parent];
+						meeting = parent;
+					}
+				}
+			}
+		}
+		// returns no path
+		if (meeting == -1) return Route.noPath(forward.getLabel(source), forward.getLabel(target));
+		return buildRoute(source, target, meeting, distanceF, previous, previousEdge, next, nextEdge);
+	}
+
+	// Returns the forward potential of node v, the negation of which is the backward potential
+	private double potential(int v, int source, int target) {
+		return (bound.estimate(v, target) - bound.estimate(source, v)) / 2.0;
+	}
+
+	// Joins the forward predecessors and the backward successors at the meeting node, summing
+	// the cost from the start in the same order as Dijkstra's algorithm. The edges of both halves
+	// are indices in the forward graph.
+	private Route buildRoute(int source, int target, int meeting, double[] distanceF, int[] previous, int[] previousEdge, int[] next, int[] nextEdge) {
+		int length = 1;
+		for (int i = meeting; i != source; i = previous[i]) length++;
+		for (int i = meeting; i != target; i = next[i]) length++;
+		int[] path = new int[length];
+		int[] edges = new int[length];
+		double[] distances = new double[length];
+		int index = 1;
+		for (int i = meeting; i != source; i = previous[i]) index++;
+		for (int i = meeting, j = index; j > 0; i = previous[i]) {
+			path[--j] = i;
+			edges[j] = i == source ? -1 : previousEdge[i];
+			distances[j] = distanceF[i];
+		}
+		for (int i = meeting; i != target; i = next[i]) {
+			path[index] = next[i];
+			edges[index] = nextEdge[i];
+			distances[index] = distances[index-1] + forward.getWeight(nextEdge[i]);
+			index++;
+		}
+		return Route.found(forward, path, edges, distances);
+	}
+}
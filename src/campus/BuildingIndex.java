@@ -0,0 +1,229 @@
+package campus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+public final class BuildingIndex {
+	private final String[] names;
+	private final String[] ids;
+	private final String[] keys;
+	private final int[] byKey;
+	// The path-compressed prefix trie over keys, one entry per trie node
+	private final int[] depth;
+	private final int[] lo;
+	private final int[] hi;
+	private final int[] childStart;
+	private final int[] childEnd;
+
+	//	Abstraction Function:
+	//		A BuildingIndex is an immutable, sorted index of the named buildings of a campus. names[i]
+	//		is the i-th building name in String order and ids[i] is its ID. keys[i] is names[i] in
+	//		lower case, and byKey lists the building indices in the order of their keys. The trie has
+	//		one node per distinct key prefix at which keys branch or end, node 0 being the root: node
+	//		v stands for the prefix keys[byKey[lo[v]]].substring(0, depth[v]), which starts exactly the
+	//		keys of byKey[lo[v]] to byKey[hi[v]-1], and its children are the nodes childStart[v] to
+	//		childEnd[v]-1 in the order of the character that follows the prefix.
+	//
+	//	Representation Invariant for every BuildingIndex b:
+	//		names.length == ids.length == keys.length == byKey.length
+	//		for all 0 < i < names.length: names[i-1] < names[i]
+	//		for all 0 < i < byKey.length: keys[byKey[i-1]] <= keys[byKey[i]]
+	//		for every trie node v: lo[v] < hi[v] (unless the index is empty) && depth[v] < depth[c]
+	//		for every child c of v
+
+	/**
+	 * Creates a BuildingIndex object of named buildings
+	 *
+	 * @param buildingNames The name of each building
+	 * @param buildingIDs The ID of each building
+	 * @requires no argument is null && the arrays have the same length && names are unique
+	 * @effects Creates a BuildingIndex of every building with a name other than ""
+	 */
+	public BuildingIndex(String[] buildingNames, String[] buildingIDs) {
+		Integer[] sorted = new Integer[buildingNames.length];
+		int n = 0;
+		for (int i = 0; i < buildingNames.length; i++) if (!buildingNames[i].equals("")) sorted[n++] = i;
+		Arrays.sort(sorted, 0, n, Comparator.comparing((Integer i) -> buildingNames[i]));
+		names = new String[n];
+		ids = new String[n];
+		keys = new String[n];
+		for (int i = 0; i < n; i++) {
+			names[i] = buildingNames[sorted[i]];
+			ids[i] = buildingIDs[sorted[i]];
+			keys[i] = names[i].toLowerCase(Locale.ROOT);
+		}
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) order[i] = i;
+		Arrays.sort(order, Comparator.comparing((Integer i) -> keys[i])); // stable, so equal keys stay in name order
+		byKey = new int[names.length];
+		for (int i = 0; i < names.length; i++) byKey[i] = order[i];
+		// builds the trie breadth first, so the children of every node are contiguous
+		IntList nodeDepth = new IntList(), nodeLo = new IntList(), nodeHi = new IntList();
+		IntList nodeChildStart = new IntList(), nodeChildEnd = new IntList();
+		nodeDepth.add(0);
+		nodeLo.add(0);
+		nodeHi.add(names.length);
+		for (int v = 0; v < nodeDepth.size(); v++) {
+			int d = nodeDepth.get(v);
+			int start = nodeLo.get(v);
+			while (start < nodeHi.get(v) && key(start).length() == d) start++; // keys that end here
+			nodeChildStart.add(nodeDepth.size());
+			while (start < nodeHi.get(v)) {
+				char c = key(start).charAt(d);
+				int end = start;
+				while (end < nodeHi.get(v) && key(end).charAt(d) == c) end++;
+				nodeDepth.add(commonPrefix(key(start), key(end-1)));
+				nodeLo.add(start);
+				nodeHi.add(end);
+				start = end;
+			}
+			nodeChildEnd.add(nodeDepth.size());
+		}
+		depth = nodeDepth.toArray();
+		lo = nodeLo.toArray();
+		hi = nodeHi.toArray();
+		childStart = nodeChildStart.toArray();
+		childEnd = nodeChildEnd.toArray();
+		checkRep();
+	}
+
+	/**
+	 *
+	 * @return The number of named buildings
+	 */
+	public int size() { return names.length; }
+
+	/**
+	 *
+	 * @param i A building index, in the String order of names
+	 * @return The name of the building
+	 */
+	public String getName(int i) { return names[i]; }
+
+	/**
+	 *
+	 * @param i A building index, in the String order of names
+	 * @return The ID of the building
+	 */
+	public String getID(int i) { return ids[i]; }
+
+	// Returns the lower-case name of building i, in the String order of names
+	String getKey(int i) { return keys[i]; }
+
+	/**
+	 * Returns the index of a building name
+	 *
+	 * @param name The building name
+	 * @return the index of the building with the name, or -1 if there is no such building
+	 */
+	public int indexOf(String name) {
+		int i = Arrays.binarySearch(names, name);
+		if (i < 0) return -1;
+		return i;
+	}
+
+	/**
+	 * Returns the number of buildings whose name starts with a prefix, ignoring case, in time
+	 * proportional to the length of the prefix
+	 *
+	 * @param prefix The start of the name
+	 * @requires prefix != null
+	 * @return the number of matching buildings
+	 */
+	public int countPrefix(String prefix) {
+		int v = find(prefix.toLowerCase(Locale.ROOT));
+		if (v == -1) return 0;
+		return hi[v] - lo[v];
+	}
+
+	/**
+	 * Returns the buildings whose name starts with a prefix, ignoring case
+	 *
+	 * @param prefix The start of the name
+	 * @param limit The largest number of names returned
+	 * @requires prefix != null && limit >= 0
+	 * @return the first limit matching names, in case-insensitive order
+	 */
+	public List<String> complete(String prefix, int limit) {
+		ArrayList<String> matches = new ArrayList<String>();
+		int v = find(prefix.toLowerCase(Locale.ROOT));
+		if (v == -1) return matches;
+		for (int i = lo[v]; i < hi[v] && matches.size() < limit; i++) matches.add(names[byKey[i]]);
+		return matches;
+	}
+
+	// Returns the first trie node whose prefix starts with key, or -1 if no building key does
+	private int find(String key) {
+		int v = 0;
+		if (names.length == 0) return -1;
+		while (depth[v] < key.length()) {
+			int d = depth[v];
+			char c = key.charAt(d);
+			int first = childStart[v];
+			int last = childEnd[v] - 1;
+			int child = -1;
+			while (first <= last) { // children are sorted by their first character
+				int middle = (first + last) >>> 1;
+				char m = key(lo[middle]).charAt(d);
+				if (m < c) first = middle + 1;
+				else if (m > c) last = middle - 1;
+				else {
+					child = middle;
+					break;
+				}
+			}
+			if (child == -1) return -1;
+			String label = key(lo[child]);
+			int end = Math.min(depth[child], key.length());
+			if (!label.regionMatches(d, key, d, end - d)) return -1;
+			v = child;
+		}
+		return v;
+	}
+
+	// Returns the key at position i of the key order
+	private String key(int i) {
+		return keys[byKey[i]];
+	}
+
+	// Returns the length of the common prefix of two strings
+	private static int commonPrefix(String a, String b) {
+		int n = Math.min(a.length(), b.length());
+		int i = 0;
+		while (i < n && a.charAt(i) == b.charAt(i)) i++;
+		return i;
+	}
+
+	// A growable int array for building the trie
+	private static final class IntList {
+		private int[] values = new int[16];
+		private int size;
+
+		void add(int value) {
+			if (size == values.length) values = Arrays.copyOf(values, size * 2);
+			values[size++] = value;
+		}
+
+		int get(int i) { return values[i]; }
+
+		int size() { return size; }
+
+		int[] toArray() { return Arrays.copyOf(values, size); }
+	}
+
+	/**
+	 * Checks that the representation invariant holds (if any).
+	 **/
+	// Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (ids.length != names.length || keys.length != names.length || byKey.length != names.length) {
+			throw new RuntimeException("Every building must have a name, ID and key");
+		}
+		if (lo.length != depth.length || hi.length != depth.length || childStart.length != depth.length || childEnd.length != depth.length) {
+			throw new RuntimeException("Every trie node must have a depth, range and children");
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package campus;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import graph.FrozenGraph;
+
+//	BuildingMatrix is not an ADT; therefore it does not need an abstraction function nor
+//	representation invariant. BuildingMatrix precomputes the shortest-path tree from every
+//	building, running one Dijkstra search per building in parallel on a ForkJoinPool. It keeps a
+//	dense building-by-building distance matrix and, for each building, the predecessor of every
+//	node on its tree, so any building-to-building route, including intermediate intersections, is
+//	rebuilt in O(path length) without searching. Queries from or to other nodes fall back to the
+//	given path finder.
+
+public class BuildingMatrix implements PathFinder {
+	// Below this many rows a task computes its rows itself instead of splitting
+	private static final int ROWS_PER_TASK = 4;
+
+	private FrozenGraph<String> graph;
+	private PathFinder fallback;
+	private int[] buildings;
+	private int[] rowOf;
+	// Distance from building row r to building row c, at [r*buildings.length + c]
+	private double[] distances;
+	// Predecessor of node v on the tree of building row r, at [r*graph.size() + v]
+	private int[] previous;
+
+	/**
+	 * Creates a BuildingMatrix object by searching from every building in parallel
+	 *
+	 * @param finder The Dijkstra path finder whose trees are stored
+	 * @param graph The snapshot of the graph searched by finder
+	 * @param buildings The node indices of the buildings
+	 * @param pool The pool the searches run on
+	 * @requires finder, graph, buildings, pool != null
+	 * @effects Creates a BuildingMatrix for the given buildings
+	 */
+	public BuildingMatrix(DijkstraPathFinder finder, FrozenGraph<String> graph, int[] buildings, ForkJoinPool pool) {
+		this.graph = graph;
+		this.fallback = finder;
+		this.buildings = Arrays.copyOf(buildings, buildings.length);
+		int n = graph.size();
+		rowOf = new int[n];
+		Arrays.fill(rowOf, -1);
+		for (int r = 0; r < buildings.length; r++) rowOf[buildings[r]] = r;
+		distances = new double[buildings.length * buildings.length];
+		previous = new int[buildings.length * n];
+		pool.invoke(new RowTask(finder, 0, buildings.length));
+	}
+
+	// Computes the rows from start to end, splitting them in halves across the pool
+	private class RowTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private DijkstraPathFinder finder;
+		private int start;
+		private int end;
+
+		RowTask(DijkstraPathFinder finder, int start, int end) {
+			this.finder = finder;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start > ROWS_PER_TASK) {
+				int middle = (start + end) >>> 1;
+				invokeAll(new RowTask(finder, start, middle), new RowTask(finder, middle, end));
+				return;
+			}
+			int n = graph.size();
+			double[] distance = new double[n];
+			int[] tree = new int[n];
+			for (int r = start; r < end; r++) {
+				finder.shortestPathTree(buildings[r], distance, tree);
+				System.arraycopy(tree, 0, previous, r*n, n);
+				for (int c = 0; c < buildings.length; c++) distances[r*buildings.length + c] = distance[buildings[c]];
+			}
+		}
+	}
+
+	/**
+	 * Returns the minimum cost between two buildings
+	 *
+	 * @param name1 The start building
+	 * @param name2 The destination building
+	 * @requires name1 and name2 are nodes of the graph
+	 * @return the minimum cost from name1 to name2, infinity if there is no path, or NaN if either
+	 * is not a building
+	 */
+	public double distance(String name1, String name2) {
+		int source = graph.indexOf(name1);
+		int target = graph.indexOf(name2);
+		if (rowOf[source] == -1 || rowOf[target] == -1) return Double.NaN;
+		return distances[rowOf[source]*buildings.length + rowOf[target]];
+	}
+
+	/**
+	 * Returns the approximate heap size of the matrix and trees
+	 *
+	 * @return the number of bytes used by the distance matrix and predecessor table
+	 */
+	public long memoryBytes() {
+		return 8L * distances.length + 4L * (previous.length + rowOf.length + buildings.length);
+	}
+
+	/**
+	 * Returns the minimum-cost route between two nodes, looked up without searching when both
+	 * are buildings
+	 *
+	 * @param source The node index of the start
+	 * @param target The node index of the destination
+	 * @requires 0 <= source, target < graph.size()
+	 * @return an OK route from source to target, or a NO_PATH route if there is no path
+	 */
+	@Override
+	public Route findRoute(int source, int target) {
+		int row = rowOf[source];
+		if (row == -1 || rowOf[target] == -1) return fallback.findRoute(source, target);
+		double cost = distances[row*buildings.length + rowOf[target]];
+		if (cost == Double.POSITIVE_INFINITY) return Route.noPath(graph.getLabel(source), graph.getLabel(target));
+		int base = row * graph.size();
+		int length = 1;
+		for (int v = target; v != source; v = previous[base + v]) length++;
+		int[] path = new int[length];
+		for (int v = target; length > 0; v = previous[base + v]) path[--length] = v;
+		return Route.found(graph, path);
+	}
+}
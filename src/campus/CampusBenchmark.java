@@ -0,0 +1,420 @@
+package campus;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import graph.FrozenGraph;
+
+//	CampusBenchmark is not an ADT; therefore it does not need an abstraction function nor
+//	representation invariant. CampusBenchmark prints memory and latency reports for the optional
+//	routing accelerators so their settings can be tuned for a deployment. Queries are drawn from
+//	random pairs of buildings with a fixed seed, so reports are comparable between runs.
+
+public class CampusBenchmark {
+	private static final int QUERIES = 2000;
+	private static final long SEED = 42;
+
+	/**
+	 * Prints the preprocessing time, memory and mean query latency for each landmark count
+	 *
+	 * @param graph The campus graph
+	 * @param counts The landmark counts to report
+	 * @requires graph != null && counts != null
+	 */
+	public static void reportLandmarks(CampusWrapper graph, int[] counts) {
+		String[][] queries = randomBuildingPairs(graph);
+		System.out.println(String.format("Dijkstra: %.1f us/query", latency(graph, SearchMode.DIJKSTRA, queries)));
+		for (int count : counts) {
+			graph.setLandmarkCount(count);
+			long start = System.nanoTime();
+			LandmarkBound bound = graph.getLandmarkBound();
+			double preprocess = (System.nanoTime() - start) / 1e6;
+			System.out.println(String.format("%d landmarks: %.1f ms preprocessing, %d bytes, %.1f us/query", count, preprocess, bound.memoryBytes(), latency(graph, SearchMode.LANDMARKS, queries)));
+		}
+	}
+
+	/**
+	 * Prints the precompute time, memory and mean lookup latency of the building matrix
+	 *
+	 * @param graph The campus graph
+	 * @param threads The parallelism of the pool the searches run on
+	 * @requires graph != null && threads > 0
+	 */
+	public static void reportBuildingMatrix(CampusWrapper graph, int threads) {
+		String[][] queries = randomBuildingPairs(graph);
+		System.out.println(String.format("Dijkstra: %.1f us/query", latency(graph, SearchMode.DIJKSTRA, queries)));
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		BuildingMatrix matrix = graph.precomputeBuildingMatrix(pool);
+		double precompute = (System.nanoTime() - start) / 1e6;
+		pool.shutdown();
+		System.out.println(String.format("Building matrix on %d threads: %.1f ms precompute, %d bytes, %.1f us/query", threads, precompute, matrix.memoryBytes(), latency(graph, SearchMode.BUILDING_MATRIX, queries)));
+	}
+
+	/**
+	 * Prints the throughput of the batch API for each pool size up to threads, next to the
+	 * throughput of answering the same queries one by one
+	 *
+	 * @param graph The campus graph
+	 * @param threads The largest parallelism to report
+	 * @requires graph != null && threads > 0
+	 */
+	public static void reportBatch(CampusWrapper graph, int threads) {
+		List<String[]> queries = Arrays.asList(randomBuildingPairs(graph));
+		double sequential = 1e6 / latency(graph, graph.getSearchMode(), randomBuildingPairs(graph));
+		System.out.println(String.format("Sequential: %.0f queries/s", sequential));
+		for (int t = 1; t <= threads; t *= 2) {
+			ForkJoinPool pool = new ForkJoinPool(t);
+			graph.findPaths(queries, pool); // warms up
+			long start = System.nanoTime();
+			graph.findPaths(queries, pool);
+			double throughput = queries.size() / ((System.nanoTime() - start) / 1e9);
+			pool.shutdown();
+			System.out.println(String.format("Batch on %d threads: %.0f queries/s, %.2fx sequential", t, throughput, throughput / sequential));
+		}
+	}
+
+	/**
+	 * Prints the mean number of bytes allocated per query in every search mode, as reported by
+	 * the JVM for the current thread
+	 *
+	 * @param graph The campus graph
+	 * @requires graph != null
+	 */
+	public static void reportAllocation(CampusWrapper graph) {
+		String[][] queries = randomBuildingPairs(graph);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		for (SearchMode mode : SearchMode.values()) {
+			latency(graph, mode, queries); // builds the mode's structures and warms up
+			long start = threads.getThreadAllocatedBytes(thread);
+			for (String[] query : queries) graph.findRoute(query[0], query[1], mode);
+			double bytes = (threads.getThreadAllocatedBytes(thread) - start) / (double) queries.length;
+			System.out.println(String.format("%s: %.0f bytes/query", mode, bytes));
+		}
+	}
+
+	/**
+	 * Prints the mean time to find the direction of each step of random routes, from the
+	 * precomputed table by the edge of the step and by its two nodes, and from the coordinates of
+	 * the step
+	 *
+	 * @param graph The campus graph
+	 * @requires graph != null
+	 */
+	public static void reportDirections(CampusWrapper graph) {
+		String[][] queries = randomBuildingPairs(graph);
+		Route[] routes = new Route[queries.length];
+		long steps = 0;
+		for (int i = 0; i < queries.length; i++) {
+			routes[i] = graph.findRoute(queries[i][0], queries[i][1]);
+			steps += Math.max(0, routes[i].size() - 1);
+		}
+		DirectionTable directions = graph.getDirections();
+		CampusLocations locations = graph.getLocations();
+		int checksum = 0;
+		double[] nanos = new double[3];
+		for (int round = 0; round < 5; round++) { // the first rounds warm up
+			long start = System.nanoTime();
+			for (Route route : routes) {
+				for (int i = 1; i < route.size(); i++) checksum += directions.getDirection(route.getEdge(i)).length();
+			}
+			nanos[0] = (System.nanoTime() - start) / (double) steps;
+			start = System.nanoTime();
+			for (Route route : routes) {
+				for (int i = 1; i < route.size(); i++) checksum += directions.getDirection(route.getNode(i-1), route.getNode(i)).length();
+			}
+			nanos[1] = (System.nanoTime() - start) / (double) steps;
+			start = System.nanoTime();
+			for (Route route : routes) {
+				for (int i = 1; i < route.size(); i++) checksum += locations.getDirection(route.getId(i-1), route.getId(i)).length();
+			}
+			nanos[2] = (System.nanoTime() - start) / (double) steps;
+		}
+		System.out.println(String.format("Directions for %d steps: table by edge %.1f ns/step, by nodes %.1f ns/step, computed %.1f ns/step, %d bytes (checksum %d)", steps, nanos[0], nanos[1], nanos[2], directions.memoryBytes(), checksum % 10));
+	}
+
+	/**
+	 * Prints the throughput and allocation of streaming the node and edge files through the parser,
+	 * without building a graph
+	 *
+	 * @param nodeFilename The path to the node file
+	 * @param edgeFilename The path to the edge file
+	 * @param runs The number of timed runs, after one run to warm up
+	 * @requires runs > 0
+	 * @throws IOException if a file cannot be read
+	 */
+	public static void reportParser(String nodeFilename, String edgeFilename, int runs) throws IOException {
+		long[] rows = new long[2];
+		CampusDataHandler counter = new CampusDataHandler() {
+			@Override
+			public void node(int node, String name, String id, double x, double y) { rows[0]++; }
+
+			@Override
+			public void edge(int node1, int node2) { rows[1]++; }
+		};
+		CampusParser.parse(nodeFilename, edgeFilename, counter); // warms up
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long allocated = threads.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		long bytes = 0;
+		for (int run = 0; run < runs; run++) bytes += CampusParser.parse(nodeFilename, edgeFilename, counter);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+		System.out.println(String.format("Parsed %d nodes and %d edges from %.1f MB: %.1f MB/s, %.1f bytes allocated per row", rows[0] / (runs + 1), rows[1] / (runs + 1), bytes / 1e6 / runs, bytes / 1e6 / seconds, allocated / (double) (rows[0] + rows[1]) * (runs + 1) / runs));
+	}
+
+	/**
+	 * Prints the time to read the campus from the CSV files next to the time to load it from a
+	 * binary snapshot, saving the snapshot first
+	 *
+	 * @param nodeFilename The path to the node file
+	 * @param edgeFilename The path to the edge file
+	 * @param snapshotFilename The path the snapshot is saved to
+	 * @param runs The number of timed runs of each, after one run to warm up
+	 * @requires runs > 0
+	 * @throws IOException if a file cannot be read or the snapshot cannot be saved
+	 */
+	public static void reportStartup(String nodeFilename, String edgeFilename, String snapshotFilename, int runs) throws IOException {
+		CampusData.read(nodeFilename, edgeFilename).save(snapshotFilename, nodeFilename, edgeFilename);
+		CampusData.load(snapshotFilename, nodeFilename, edgeFilename); // warms up
+		long start = System.nanoTime();
+		for (int run = 0; run < runs; run++) CampusData.read(nodeFilename, edgeFilename);
+		double csv = (System.nanoTime() - start) / 1e6 / runs;
+		start = System.nanoTime();
+		for (int run = 0; run < runs; run++) CampusData.load(snapshotFilename, nodeFilename, edgeFilename);
+		double snapshot = (System.nanoTime() - start) / 1e6 / runs;
+		System.out.println(String.format("CSV: %.1f ms, snapshot: %.1f ms (%.1fx faster)", csv, snapshot, csv / snapshot));
+	}
+
+	/**
+	 * Prints the time to index the names of a campus of randomly named buildings by prefix and by
+	 * trigram, list them, fill a menu with them, complete random prefixes of their names and
+	 * suggest names for misspelled ones
+	 *
+	 * @param count The number of named buildings
+	 * @requires count > 0
+	 */
+	public static void reportBuildings(int count) {
+		Random random = new Random(SEED);
+		String[] ids = new String[count];
+		String[] names = new String[count];
+		String[] kinds = {" Hall", " Building", " Center", " Lab", ""};
+		HashSet<String> unique = new HashSet<String>();
+		for (int i = 0; i < count; i++) { // two random words, often followed by a common one
+			ids[i] = Integer.toString(i);
+			do {
+				names[i] = randomWord(random, 4 + random.nextInt(12)) + " " + randomWord(random, 3 + random.nextInt(8)) + kinds[random.nextInt(kinds.length)];
+			} while (!unique.add(names[i]));
+		}
+		CampusLocations locations = new CampusLocations(ids, names, new double[count], new double[count]);
+		long start = System.nanoTime();
+		BuildingIndex buildings = new BuildingIndex(names, ids);
+		double index = (System.nanoTime() - start) / 1e6;
+		start = System.nanoTime();
+		TrigramIndex trigrams = new TrigramIndex(buildings);
+		double trigramIndex = (System.nanoTime() - start) / 1e6;
+		locations.getBuildingIndex(); // the menu reads the index of the locations, built untimed
+		start = System.nanoTime();
+		int length = locations.listAllBuildings().length();
+		double list = (System.nanoTime() - start) / 1e6;
+		start = System.nanoTime();
+		length += locations.getBuildings(true).length;
+		double menu = (System.nanoTime() - start) / 1e6;
+		String[] prefixes = new String[QUERIES];
+		for (int i = 0; i < QUERIES; i++) prefixes[i] = names[random.nextInt(count)].substring(0, 1 + random.nextInt(3));
+		for (String prefix : prefixes) length += buildings.complete(prefix, 20).size(); // warms up
+		start = System.nanoTime();
+		for (String prefix : prefixes) length += buildings.complete(prefix, 20).size();
+		double complete = (System.nanoTime() - start) / 1e3 / QUERIES;
+		String[] typos = new String[QUERIES];
+		for (int i = 0; i < QUERIES; i++) { // swaps two letters of a random name
+			char[] name = names[random.nextInt(count)].toCharArray();
+			int c = random.nextInt(name.length - 1);
+			char swap = name[c];
+			name[c] = name[c+1];
+			name[c+1] = swap;
+			typos[i] = new String(name);
+		}
+		for (String typo : typos) length += trigrams.suggest(typo, 5).size(); // warms up
+		start = System.nanoTime();
+		for (String typo : typos) length += trigrams.suggest(typo, 5).size();
+		double suggest = (System.nanoTime() - start) / 1e3 / QUERIES;
+		System.out.println(String.format("%d buildings: %.1f ms to index, %.1f ms to index trigrams, %.1f ms to list, %.1f ms to fill a menu, %.2f us to complete 20 names, %.2f us to suggest 5 names from %d trigram bytes (checksum %d)", count, index, trigramIndex, list, menu, complete, suggest, trigrams.memoryBytes(), length % 10));
+	}
+
+	/**
+	 * Prints the time to index randomly placed buildings and the mean time to hit-test a random
+	 * click, by the index and by scanning every building, and to find the nearest buildings
+	 *
+	 * @param count The number of buildings
+	 * @requires count > 0
+	 */
+	public static void reportSpatial(int count) {
+		Random random = new Random(SEED);
+		String[] ids = new String[count];
+		String[] names = new String[count];
+		double[] x = new double[count];
+		double[] y = new double[count];
+		for (int i = 0; i < count; i++) {
+			ids[i] = Integer.toString(i);
+			names[i] = "Building " + i;
+			x[i] = random.nextDouble() * 5000;
+			y[i] = random.nextDouble() * 5000;
+		}
+		CampusLocations locations = new CampusLocations(ids, names, x, y);
+		long start = System.nanoTime();
+		SpatialIndex index = new SpatialIndex(locations);
+		double build = (System.nanoTime() - start) / 1e6;
+		double[][] clicks = new double[QUERIES][];
+		for (int i = 0; i < QUERIES; i++) clicks[i] = new double[] {random.nextDouble() * 5000, random.nextDouble() * 5000};
+		long checksum = 0;
+		double[] micros = new double[3];
+		for (int round = 0; round < 2; round++) { // the first round warms up
+			start = System.nanoTime();
+			for (double[] click : clicks) checksum += index.hitTest(click[0], click[1], 14);
+			micros[0] = (System.nanoTime() - start) / 1e3 / QUERIES;
+			start = System.nanoTime();
+			for (double[] click : clicks) { // the scan the map used before the index
+				for (int i = 0; i < locations.size(); i++) {
+					if (Math.abs(locations.getX(i) - click[0]) <= 14 && Math.abs(locations.getY(i) - click[1]) <= 14) {
+						checksum += i;
+						break;
+					}
+				}
+			}
+			micros[1] = (System.nanoTime() - start) / 1e3 / QUERIES;
+			start = System.nanoTime();
+			for (double[] click : clicks) checksum += index.nearest(click[0], click[1], 5).length;
+			micros[2] = (System.nanoTime() - start) / 1e3 / QUERIES;
+		}
+		System.out.println(String.format("%d buildings: %.1f ms to index, hit-test %.2f us indexed and %.2f us scanned, %.2f us for 5 nearest (checksum %d)", count, build, micros[0], micros[1], micros[2], checksum % 10));
+	}
+
+	/**
+	 * Prints the time to grid the pathway segments of a campus, its memory, and the mean time to
+	 * snap a random point onto the nearest pathway and to route between two random points
+	 *
+	 * @param nodeFilename The path to the node file
+	 * @param edgeFilename The path to the edge file
+	 * @requires the files hold a campus with at least one edge
+	 * @throws IOException if a file cannot be read
+	 */
+	public static void reportSnap(String nodeFilename, String edgeFilename) throws IOException {
+		CampusWrapper graph = new CampusWrapper(nodeFilename, edgeFilename);
+		FrozenGraph<String> snapshot = graph.getSnapshot();
+		double[] x = new double[snapshot.size()];
+		double[] y = new double[snapshot.size()];
+		double maxX = 0, maxY = 0;
+		for (int i = 0; i < snapshot.size(); i++) {
+			x[i] = graph.getNodeX(i);
+			y[i] = graph.getNodeY(i);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		long start = System.nanoTime();
+		SegmentIndex segments = new SegmentIndex(snapshot, x, y);
+		double build = (System.nanoTime() - start) / 1e6;
+		Random random = new Random(SEED);
+		double[][] points = new double[QUERIES][];
+		for (int i = 0; i < QUERIES; i++) points[i] = new double[] {random.nextDouble() * maxX, random.nextDouble() * maxY};
+		double checksum = 0;
+		double[] micros = new double[2];
+		for (int round = 0; round < 2; round++) { // the first round warms up
+			start = System.nanoTime();
+			for (double[] point : points) checksum += segments.snap(point[0], point[1]).getOffset();
+			micros[0] = (System.nanoTime() - start) / 1e3 / QUERIES;
+			start = System.nanoTime();
+			for (int i = 1; i < QUERIES; i++) checksum += graph.findRoute(points[i-1][0], points[i-1][1], points[i][0], points[i][1]).size();
+			micros[1] = (System.nanoTime() - start) / 1e3 / (QUERIES - 1);
+		}
+		System.out.println(String.format("%d segments: %.1f ms to grid, %d bytes, %.2f us to snap a point, %.1f us to route between points (checksum %d)", segments.size(), build, segments.memoryBytes(), micros[0], micros[1], (long) checksum % 10));
+	}
+
+	// Returns a capitalized word of random letters
+	private static String randomWord(Random random, int length) {
+		char[] word = new char[length];
+		for (int c = 0; c < length; c++) word[c] = (char) ((c == 0 ? 'A' : 'a') + random.nextInt(26));
+		return new String(word);
+	}
+
+	// Returns the mean microseconds per query after running every query once to warm up
+	private static double latency(CampusWrapper graph, SearchMode mode, String[][] queries) {
+		for (String[] query : queries) graph.findPath(query[0], query[1], mode);
+		long start = System.nanoTime();
+		for (String[] query : queries) graph.findPath(query[0], query[1], mode);
+		return (System.nanoTime() - start) / 1e3 / queries.length;
+	}
+
+	// Returns random pairs of building ids
+	private static String[][] randomBuildingPairs(CampusWrapper graph) {
+		ArrayList<String> ids = new ArrayList<String>();
+		for (String name : graph.getLocations().getBuildings(true)) {
+			if (graph.getLocations().getID(name) != null) ids.add(graph.getLocations().getID(name));
+		}
+		Random random = new Random(SEED);
+		String[][] queries = new String[QUERIES][];
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = new String[] {ids.get(random.nextInt(ids.size())), ids.get(random.nextInt(ids.size()))};
+		}
+		return queries;
+	}
+
+	/**
+	 * Main method
+	 *
+	 * @param args The report to print, "landmarks" followed by the landmark counts to compare,
+	 * "matrix" followed by the number of threads, "batch" followed by the largest number of
+	 * threads, "allocation", "directions", "parser" followed by the node and edge files to stream,
+	 * "startup" followed by the node and edge files and the snapshot file to write, "buildings"
+	 * followed by the number of buildings to index, "spatial" followed by the number of buildings
+	 * to place, or "snap" followed by the node and edge files to snap points onto
+	 * @throws IOException if the files of the parser report cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		String nodeArg = "src/campus/data/RPI_map_data_Nodes.csv";
+		String edgeArg = "src/campus/data/RPI_map_data_Edges.csv";
+		CampusWrapper graph = new CampusWrapper(nodeArg,edgeArg);
+		String report = args.length > 0 ? args[0] : "landmarks";
+		if (report.equals("landmarks")) {
+			int[] counts = new int[] {1, 2, 4, 8, 16};
+			if (args.length > 1) {
+				counts = new int[args.length - 1];
+				for (int i = 1; i < args.length; i++) counts[i-1] = Integer.parseInt(args[i]);
+			}
+			reportLandmarks(graph, counts);
+		} else if (report.equals("matrix")) {
+			int threads = Runtime.getRuntime().availableProcessors();
+			if (args.length > 1) threads = Integer.parseInt(args[1]);
+			reportBuildingMatrix(graph, threads);
+		} else if (report.equals("batch")) {
+			int threads = Runtime.getRuntime().availableProcessors();
+			if (args.length > 1) threads = Integer.parseInt(args[1]);
+			reportBatch(graph, threads);
+		} else if (report.equals("allocation")) {
+			reportAllocation(graph);
+		} else if (report.equals("directions")) {
+			reportDirections(graph);
+		} else if (report.equals("parser")) {
+			if (args.length > 2) reportParser(args[1], args[2], 5);
+			else reportParser(nodeArg, edgeArg, 200);
+		} else if (report.equals("startup")) {
+			if (args.length > 3) reportStartup(args[1], args[2], args[3], 3);
+			else reportStartup(nodeArg, edgeArg, "src/campus/data/RPI_map_data.snapshot", 200);
+		} else if (report.equals("buildings")) {
+			reportBuildings(args.length > 1 ? Integer.parseInt(args[1]) : 50000);
+		} else if (report.equals("spatial")) {
+			reportSpatial(args.length > 1 ? Integer.parseInt(args[1]) : 50000);
+		} else if (report.equals("snap")) {
+			if (args.length > 2) reportSnap(args[1], args[2]);
+			else reportSnap(nodeArg, edgeArg);
+		} else System.out.println("Unknown report");
+	}
+}
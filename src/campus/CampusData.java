@@ -0,0 +1,271 @@
+package campus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import graph.FrozenGraph;
+import graph.WeightedGraph;
+
+//	CampusData is not an ADT; therefore it does not need an abstraction function nor representation
+//	invariant. CampusData holds everything CampusWrapper loads for a campus: the frozen graph with
+//	its precomputed pathway lengths, and the coordinates and name of every node, numbered like the
+//	graph. It is read either from the node and edge CSV files or from a binary snapshot of the
+//	same data. A snapshot is written once and then loaded through a memory map, so startup copies
+//	arrays instead of parsing text and computing square roots. The snapshot records the size and
+//	modification time of both CSV files and a CRC32 of its contents; load refuses a snapshot that
+//	is stale, corrupt or of another format version, so callers can fall back to the CSV files.
+//
+//	Snapshot layout, big-endian:
+//		header:  int MAGIC, int FORMAT_VERSION, long node file size, long node file modified time,
+//		         long edge file size, long edge file modified time, long CRC32 of the payload
+//		payload: int n, int m, int[n+1] offsets, int[m] targets, double[m] weights, double[n] x,
+//		         double[n] y, then the ids and the names, each as int[n+1] UTF-8 end offsets
+//		         followed by the bytes
+
+public class CampusData {
+	private static final int MAGIC = 0x43414D50; // "CAMP"
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_BYTES = 48;
+
+	private FrozenGraph<String> graph;
+	private double[] x;
+	private double[] y;
+	private String[] names;
+
+	/**
+	 * Creates a CampusData object
+	 *
+	 * @param graph The campus graph, with each node's edges sorted by weight
+	 * @param x The x coordinate of each node index
+	 * @param y The y coordinate of each node index
+	 * @param names The name of each node index, or "" for an intersection
+	 * @requires no argument is null && every array has one entry per node of graph
+	 * @effects Creates a CampusData object that keeps the given arrays
+	 */
+	public CampusData(FrozenGraph<String> graph, double[] x, double[] y, String[] names) {
+		this.graph = graph;
+		this.x = x;
+		this.y = y;
+		this.names = names;
+	}
+
+	/**
+	 * Reads the campus from the node and edge CSV files, measuring every pathway once
+	 *
+	 * @param nodeFilename The path to the "CSV" file that contains the node data
+	 * @param edgeFilename The path to the "CSV" file that contains the edge data
+	 * @return the campus in the files, numbered in the order of the node file
+	 * @throws IOException if a file cannot be read
+	 */
+	public static CampusData read(String nodeFilename, String edgeFilename) throws IOException {
+		WeightedGraph<String> graph = new WeightedGraph<String>();
+		ArrayList<String> names = new ArrayList<String>();
+		double[][] coordinates = {new double[16], new double[16]};
+		CampusParser.parse(nodeFilename, edgeFilename, new CampusDataHandler() {
+			@Override
+			public void node(int node, String name, String id, double x, double y) {
+				graph.addNode(id);
+				if (node == names.size()) names.add(name);
+				else names.set(node, name);
+				if (node == coordinates[0].length) {
+					coordinates[0] = Arrays.copyOf(coordinates[0], node * 2);
+					coordinates[1] = Arrays.copyOf(coordinates[1], node * 2);
+				}
+				coordinates[0][node] = x;
+				coordinates[1][node] = y;
+			}
+
+			@Override
+			public void edge(int node1, int node2) {
+				double[] x = coordinates[0];
+				double[] y = coordinates[1];
+				double distance = Math.sqrt(Math.pow(x[node2] - x[node1],2) + Math.pow(y[node2] - y[node1],2));
+				graph.addEdge(node1, node2, distance);
+				graph.addEdge(node2, node1, distance);
+			}
+		});
+		// sorts each node's edges by weight, then by child id
+		FrozenGraph<String> frozen = graph.freeze(String::compareTo);
+		int n = frozen.size();
+		return new CampusData(frozen, Arrays.copyOf(coordinates[0], n), Arrays.copyOf(coordinates[1], n), names.toArray(new String[n]));
+	}
+
+	/**
+	 * Loads a campus saved by save, if it was saved from the current node and edge files
+	 *
+	 * @param filename The snapshot file
+	 * @param nodeFilename The node file the snapshot must have been saved from
+	 * @param edgeFilename The edge file the snapshot must have been saved from
+	 * @return the campus in the snapshot
+	 * @throws IOException if the snapshot cannot be read, is of another format version, does not
+	 * match its checksum, or either CSV file has changed since it was saved
+	 */
+	public static CampusData load(String filename, String nodeFilename, String edgeFilename) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) throw new IOException("File "+filename+" is not a campus snapshot.");
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC) throw new IOException("File "+filename+" is not a campus snapshot.");
+			if (buffer.getInt() != FORMAT_VERSION) throw new IOException("File "+filename+" has an unsupported version.");
+			File nodes = new File(nodeFilename);
+			File edges = new File(edgeFilename);
+			if (buffer.getLong() != nodes.length() || buffer.getLong() != nodes.lastModified()
+					|| buffer.getLong() != edges.length() || buffer.getLong() != edges.lastModified()) {
+				throw new IOException("File "+filename+" is stale.");
+			}
+			long checksum = buffer.getLong();
+			CRC32 crc = new CRC32();
+			crc.update(buffer.duplicate());
+			if (crc.getValue() != checksum) throw new IOException("File "+filename+" is corrupt.");
+			try {
+				int n = buffer.getInt();
+				int m = buffer.getInt();
+				int[] offsets = readInts(buffer, n + 1);
+				int[] targets = readInts(buffer, m);
+				double[] weights = readDoubles(buffer, m);
+				double[] x = readDoubles(buffer, n);
+				double[] y = readDoubles(buffer, n);
+				String[] ids = readStrings(buffer, n);
+				String[] names = readStrings(buffer, n);
+				return new CampusData(FrozenGraph.of(ids, offsets, targets, weights), x, y, names);
+			} catch (RuntimeException e) { // a checksum collision or a bug in save
+				throw new IOException("File "+filename+" is corrupt.");
+			}
+		}
+	}
+
+	/**
+	 * Saves this campus so it can be loaded instead of read from the CSV files. The snapshot is
+	 * written to a temporary file first and then moved into place, so a concurrent load never
+	 * sees a partial snapshot.
+	 *
+	 * @param filename The snapshot file
+	 * @param nodeFilename The node file this campus was read from
+	 * @param edgeFilename The edge file this campus was read from
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public void save(String filename, String nodeFilename, String edgeFilename) throws IOException {
+		int n = graph.size();
+		int m = graph.edgeCount();
+		byte[][] ids = new byte[n][];
+		byte[][] nameBytes = new byte[n][];
+		long stringBytes = 0;
+		for (int i = 0; i < n; i++) {
+			ids[i] = graph.getLabel(i).getBytes(StandardCharsets.UTF_8);
+			nameBytes[i] = names[i].getBytes(StandardCharsets.UTF_8);
+			stringBytes += ids[i].length + nameBytes[i].length;
+		}
+		long size = HEADER_BYTES + 8L + 4L * (n + 1) + 12L * m + 16L * n + 8L * (n + 1) + stringBytes;
+		if (size > Integer.MAX_VALUE) throw new IOException("The campus is too large for a snapshot.");
+		ByteBuffer buffer = ByteBuffer.allocate((int) size);
+		File nodes = new File(nodeFilename);
+		File edges = new File(edgeFilename);
+		buffer.putInt(MAGIC).putInt(FORMAT_VERSION);
+		buffer.putLong(nodes.length()).putLong(nodes.lastModified()).putLong(edges.length()).putLong(edges.lastModified());
+		buffer.putLong(0); // the checksum, filled in once the payload is written
+		buffer.putInt(n).putInt(m);
+		for (int i = 0; i < n; i++) buffer.putInt(graph.edgesStart(i));
+		buffer.putInt(m);
+		for (int e = 0; e < m; e++) buffer.putInt(graph.getTarget(e));
+		for (int e = 0; e < m; e++) buffer.putDouble(graph.getWeight(e));
+		for (int i = 0; i < n; i++) buffer.putDouble(x[i]);
+		for (int i = 0; i < n; i++) buffer.putDouble(y[i]);
+		writeStrings(buffer, ids);
+		writeStrings(buffer, nameBytes);
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), HEADER_BYTES, buffer.capacity() - HEADER_BYTES);
+		buffer.putLong(HEADER_BYTES - 8, crc.getValue());
+		Path target = Paths.get(filename).toAbsolutePath();
+		Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			Files.write(temporary, buffer.array());
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 *
+	 * @return The campus graph, with each node's edges sorted by weight
+	 */
+	public FrozenGraph<String> getGraph() { return graph; }
+
+	/**
+	 *
+	 * @param node A node index of the graph
+	 * @return The x coordinate of the node
+	 */
+	public double getX(int node) { return x[node]; }
+
+	/**
+	 *
+	 * @param node A node index of the graph
+	 * @return The y coordinate of the node
+	 */
+	public double getY(int node) { return y[node]; }
+
+	/**
+	 *
+	 * @param node A node index of the graph
+	 * @return The name of the node, or "" for an intersection
+	 */
+	public String getName(int node) { return names[node]; }
+
+	/**
+	 * Returns the locations of the campus
+	 *
+	 * @return a CampusLocations object with the name and coordinates of every node, whose location
+	 * indices are the node indices of the graph
+	 */
+	public CampusLocations toLocations() {
+		String[] ids = new String[graph.size()];
+		for (int i = 0; i < ids.length; i++) ids[i] = graph.getLabel(i);
+		return new CampusLocations(ids, names, x, y);
+	}
+
+	// Reads count ints from the position of buffer in one bulk copy
+	private static int[] readInts(ByteBuffer buffer, int count) {
+		int[] values = new int[count];
+		buffer.asIntBuffer().get(values);
+		buffer.position(buffer.position() + 4 * count);
+		return values;
+	}
+
+	// Reads count doubles from the position of buffer in one bulk copy
+	private static double[] readDoubles(ByteBuffer buffer, int count) {
+		double[] values = new double[count];
+		buffer.asDoubleBuffer().get(values);
+		buffer.position(buffer.position() + 8 * count);
+		return values;
+	}
+
+	// Reads count strings written by writeStrings
+	private static String[] readStrings(ByteBuffer buffer, int count) {
+		int[] ends = readInts(buffer, count + 1);
+		byte[] bytes = new byte[ends[count]];
+		buffer.get(bytes);
+		String[] strings = new String[count];
+		for (int i = 0; i < count; i++) strings[i] = new String(bytes, ends[i], ends[i+1] - ends[i], StandardCharsets.UTF_8);
+		return strings;
+	}
+
+	// Writes the end offset of every string, starting with 0, followed by their bytes
+	private static void writeStrings(ByteBuffer buffer, byte[][] strings) {
+		int end = 0;
+		buffer.putInt(end);
+		for (byte[] string : strings) buffer.putInt(end += string.length);
+		for (byte[] string : strings) buffer.put(string);
+	}
+}
@@ -0,0 +1,29 @@
+package campus;
+
+//	CampusDataHandler is the callback of CampusParser.parse. It receives every row of the node and
+//	edge files as soon as it is read, with coordinates already parsed to primitives and the ids of
+//	an edge already resolved to node numbers, so a caller can build its own structures without the
+//	parser keeping any rows.
+
+public interface CampusDataHandler {
+
+	/**
+	 * Receives one row of the node file
+	 *
+	 * @param node The number of the node, counting distinct ids from 0 in the order they first
+	 * appear in the node file
+	 * @param name The name of the location, or "" for an intersection
+	 * @param id The id of the location
+	 * @param x The x coordinate of the location
+	 * @param y The y coordinate of the location
+	 */
+	public void node(int node, String name, String id, double x, double y);
+
+	/**
+	 * Receives one row of the edge file, after every row of the node file
+	 *
+	 * @param node1 The number of the node with the first id of the row
+	 * @param node2 The number of the node with the second id of the row
+	 */
+	public void edge(int node1, int node2);
+}
@@ -1,46 +1,152 @@
 package campus;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeSet;
 
 
 public class CampusLocations { // Model
-	private Map<String,ArrayList<String>> dataFromIDs;
-	private Map<String,String> buildings;
+	// The name of each compass octant, clockwise from North
+	static final String[] DIRECTIONS = {"North", "NorthEast", "East", "SouthEast", "South", "SouthWest", "West", "NorthWest"};
+	
+	private String[] ids;
+	private String[] names;
+	private double[] x;
+	private double[] y;
+	private HashMap<String,Integer> indices;
+	private HashMap<String,Integer> buildings;
+	private volatile BuildingIndex buildingIndex;
+	private volatile TrigramIndex trigramIndex;
+	private volatile SpatialIndex spatialIndex;
+	private volatile String listing;
 	
 	//	Abstraction Function:
-	//		CampusLocations is an immutable collection of data from campus locations. It stores two maps:
-	//		a map of IDs, with their data, and a map of buildings, with their ID. Every location name has
-	//		an ID but not every ID has a location name because some IDs are for intersections.
-	//		
+	//		CampusLocations is an immutable collection of data from campus locations, stored as columns.
+	//		Every location has an int index i from 0 to size()-1: ids[i] is its ID, names[i] its name
+	//		and (x[i], y[i]) its coordinates. indices maps every ID to its index and buildings maps
+	//		every location name to the index of the last location with that name. Every location name
+	//		has an ID but not every ID has a location name because some IDs are for intersections,
+	//		whose name is "". buildingIndex, once built, is the sorted index of the buildings in
+	//		buildings, trigramIndex, once built, is the trigram index of its names, spatialIndex, once
+	//		built, is the k-d tree of their coordinates, and listing, once computed, is the text
+	//		returned by listAllBuildings().
+	//
 	//	Representation Invariant for every CampusLocations l:
-	//		dataFromIDs != null
-	//		buildings != null
+	//		ids, names, x, y, indices and buildings are not null
+	//		ids.length == names.length == x.length == y.length == indices.size()
+	//		for all i from 0 <= i < ids.length:
+	//			indices.get(ids[i]) == i && names[i] != null
 	
 	/**
 	 * Creates a CampusLocations object with ID data and campus buildings
 	 * 
 	 * @param dataFromIDs Map of ids with data
 	 * @param buildings Map of buildings with ids
-	 * @effects Creates a CampusLocations object
+	 * @requires every coordinate is a number && every id of buildings is a key of dataFromIDs
+	 * @effects Creates a CampusLocations object, parsing every coordinate once
 	 */
 	public CampusLocations(Map<String,ArrayList<String>> dataFromIDs, Map<String,String> buildings) {
-		this.dataFromIDs = dataFromIDs;
-		this.buildings = buildings;
+		int n = dataFromIDs.size();
+		ids = new String[n];
+		names = new String[n];
+		x = new double[n];
+		y = new double[n];
+		indices = new HashMap<String,Integer>(n * 2);
+		int i = 0;
+		for (Map.Entry<String,ArrayList<String>> entry : dataFromIDs.entrySet()) {
+			ids[i] = entry.getKey();
+			names[i] = entry.getValue().get(0);
+			x[i] = Double.parseDouble(entry.getValue().get(1));
+			y[i] = Double.parseDouble(entry.getValue().get(2));
+			indices.put(ids[i], i);
+			i++;
+		}
+		this.buildings = new HashMap<String,Integer>(buildings.size() * 2);
+		for (Map.Entry<String,String> entry : buildings.entrySet()) this.buildings.put(entry.getKey(), indices.get(entry.getValue()));
+		checkRep();
+	}
+	
+	/**
+	 * Creates a CampusLocations object from columns, which are not copied
+	 * 
+	 * @param ids The ID of each location index
+	 * @param names The name of each location index, or "" for an intersection
+	 * @param x The x coordinate of each location index
+	 * @param y The y coordinate of each location index
+	 * @requires no argument is null && the arrays have the same length && ids are unique
+	 * @effects Creates a CampusLocations object that keeps the given arrays
+	 */
+	public CampusLocations(String[] ids, String[] names, double[] x, double[] y) {
+		this.ids = ids;
+		this.names = names;
+		this.x = x;
+		this.y = y;
+		indices = new HashMap<String,Integer>(ids.length * 2);
+		buildings = new HashMap<String,Integer>();
+		for (int i = 0; i < ids.length; i++) {
+			indices.put(ids[i], i);
+			buildings.put(names[i], i);
+		}
 		checkRep();
 	}
 	
+	/**
+	 * 
+	 * @return The number of locations
+	 */
+	public int size() { return ids.length; }
+	
+	/**
+	 * Returns the index of a location
+	 * 
+	 * @param id The id of a building or intersection
+	 * @return the index of the location with the ID, or -1 if there is no such ID
+	 */
+	public int indexOf(String id) {
+		Integer index = indices.get(id);
+		if (index == null) return -1;
+		return index;
+	}
+	
+	/**
+	 * 
+	 * @param i A location index
+	 * @return The ID of the location
+	 */
+	public String getID(int i) { return ids[i]; }
+	
+	/**
+	 * 
+	 * @param i A location index
+	 * @return The name of the location, or "" for an intersection
+	 */
+	public String getName(int i) { return names[i]; }
+	
+	/**
+	 * 
+	 * @param i A location index
+	 * @return The x coordinate of the location
+	 */
+	public double getX(int i) { return x[i]; }
+	
+	/**
+	 * 
+	 * @param i A location index
+	 * @return The y coordinate of the location
+	 */
+	public double getY(int i) { return y[i]; }
+	
 	/**
 	 * Tries to return the ID for a given building name
-	 *   
+	 * 
 	 * @param name The building name
 	 * @return the ID of the building name, or null if there is no such building name
 	 */
 	public String getID(String name) { // returns id from name
-		if (buildings.get(name) == null) return null;
-		return new String(buildings.get(name));
+		Integer index = buildings.get(name);
+		if (index == null) return null;
+		return ids[index];
 	}
 	
 	/**
@@ -50,8 +156,9 @@ public class CampusLocations { // Model
 	 * @return the name of the specified ID, or null if there is no such ID
 	 */
 	public String getName(String id) { // returns name from id
-		if (dataFromIDs.get(id) == null) return null;
-		return new String(dataFromIDs.get(id).get(0));
+		Integer index = indices.get(id);
+		if (index == null) return null;
+		return names[index];
 	}
 	
 	/**
@@ -61,8 +168,9 @@ public class CampusLocations { // Model
 	 * @return the x coordinate of the specified ID, or null if there is no such ID
 	 */
 	public String getX(String id) {
-		if (dataFromIDs.get(id) == null) return null;
-		return new String(dataFromIDs.get(id).get(1));
+		Integer index = indices.get(id);
+		if (index == null) return null;
+		return CampusParser.format(x[index]);
 	}
 	
 	/**
@@ -72,8 +180,9 @@ public class CampusLocations { // Model
 	 * @return the y coordinate of the specified ID, or null if there is no such ID
 	 */
 	public String getY(String id) {
-		if (dataFromIDs.get(id) == null) return null;
-		return new String(dataFromIDs.get(id).get(2));
+		Integer index = indices.get(id);
+		if (index == null) return null;
+		return CampusParser.format(y[index]);
 	}
 	
 	/**
@@ -81,38 +190,113 @@ public class CampusLocations { // Model
 	 * 
 	 * @param id1 The starting ID
 	 * @param id2 The ending ID
+	 * @requires id1 and id2 are IDs of locations
 	 * @return the direction one must travel to reach id2 from id1
 	 */
 	public String getDirection(String id1, String id2) { // returns direction from id1 to id2
-		Double angle = Math.toDegrees((Math.atan2(Double.parseDouble(getY(id2)) - Double.parseDouble(getY(id1)), Double.parseDouble(getX(id2)) - Double.parseDouble(getX(id1)))) + (Math.PI/2.0));
-		if (angle < 0) angle += (double) 360;
-		if (angle < (double) 22.5) return new String("North");
-		else if (angle < (double) 67.5) return new String("NorthEast");
-		else if (angle < (double) 112.5) return new String("East");
-		else if (angle < (double) 157.5) return new String("SouthEast");
-		else if (angle < (double) 202.5) return new String("South");
-		else if (angle < (double) 247.5) return new String("SouthWest");
-		else if (angle < (double) 292.5) return new String("West");
-		else if (angle < (double) 337.5) return new String("NorthWest");
-		else return new String("North");
+		return getDirection(indices.get(id1), indices.get(id2));
 	}
 	
 	/**
-	 * Lists all stored buildings 
+	 * Returns the direction one would have to walk to go from location i to location j
+	 * 
+	 * @param i The starting location index
+	 * @param j The ending location index
+	 * @requires 0 <= i, j < size()
+	 * @return the direction one must travel to reach location j from location i
+	 */
+	public String getDirection(int i, int j) {
+		return DIRECTIONS[octant(x[i], y[i], x[j], y[j])];
+	}
+	
+	/**
+	 * Returns the compass octant of the bearing from (x1, y1) to (x2, y2), where y grows southwards
+	 * 
+	 * @param x1 The x coordinate walked from
+	 * @param y1 The y coordinate walked from
+	 * @param x2 The x coordinate walked to
+	 * @param y2 The y coordinate walked to
+	 * @return the index in DIRECTIONS of the direction walked, 0 being North and 2 being East
+	 */
+	static int octant(double x1, double y1, double x2, double y2) {
+		double angle = Math.toDegrees((Math.atan2(y2 - y1, x2 - x1)) + (Math.PI/2.0));
+		if (angle < 0) angle += 360;
+		if (angle < 22.5) return 0;
+		else if (angle < 67.5) return 1;
+		else if (angle < 112.5) return 2;
+		else if (angle < 157.5) return 3;
+		else if (angle < 202.5) return 4;
+		else if (angle < 247.5) return 5;
+		else if (angle < 292.5) return 6;
+		else if (angle < 337.5) return 7;
+		else return 0;
+	}
+	
+	/**
+	 * Returns the sorted index of every building name, building it on first use
+	 * 
+	 * @modifies buildingIndex
+	 * @return the sorted index of every building name
+	 */
+	public BuildingIndex getBuildingIndex() {
+		BuildingIndex index = buildingIndex;
+		if (index != null) return index;
+		synchronized (this) {
+			if (buildingIndex == null) buildingIndex = indexBuildings();
+			return buildingIndex;
+		}
+	}
+	
+	/**
+	 * Returns the trigram index of every building name, for suggesting names close to a misspelled
+	 * one, building it on first use
+	 * 
+	 * @modifies trigramIndex
+	 * @return the trigram index of every building name
+	 */
+	public TrigramIndex getTrigramIndex() {
+		TrigramIndex index = trigramIndex;
+		if (index != null) return index;
+		synchronized (this) {
+			if (trigramIndex == null) trigramIndex = new TrigramIndex(getBuildingIndex());
+			return trigramIndex;
+		}
+	}
+	
+	/**
+	 * Returns the k-d tree of the coordinates of every building, for hit-tests and nearest
+	 * buildings, building it on first use
+	 * 
+	 * @modifies spatialIndex
+	 * @return the k-d tree of the coordinates of every building
+	 */
+	public SpatialIndex getSpatialIndex() {
+		SpatialIndex index = spatialIndex;
+		if (index != null) return index;
+		synchronized (this) {
+			if (spatialIndex == null) spatialIndex = new SpatialIndex(this);
+			return spatialIndex;
+		}
+	}
+	
+	/**
+	 * Lists all stored buildings
 	 * 
 	 * @return a string of all buildings in the repeating order: "name,id\n"
 	 */
 	public String listAllBuildings() { // lists all buildings
-		Iterator<String> data_iter = dataFromIDs.keySet().iterator();
-		TreeSet<String> buildings_set = new TreeSet<String>();
-		String buildings_string = new String();
-		while (data_iter.hasNext()) {
-			String id = data_iter.next();
-			ArrayList<String> data = dataFromIDs.get(id);
-			if (!data.get(0).equals("")) buildings_set.add(String.format("%s,%s\n", data.get(0),id));
+		String buildings_string = listing;
+		if (buildings_string != null) return buildings_string;
+		String[] lines = new String[ids.length];
+		int n = 0;
+		for (int i = 0; i < ids.length; i++) {
+			if (!names[i].equals("")) lines[n++] = names[i] + "," + ids[i] + "\n";
 		}
-		Iterator<String> building_iter = buildings_set.iterator();
-		while (building_iter.hasNext()) buildings_string += building_iter.next();
+		Arrays.sort(lines, 0, n);
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < n; i++) builder.append(lines[i]);
+		buildings_string = builder.toString();
+		listing = buildings_string; // every thread computes the same text, so a race is harmless
 		return buildings_string;
 	}
 	
@@ -122,16 +306,34 @@ public class CampusLocations { // Model
 	 * @param departureMenu A boolean value for whether the menu is for departure or destination
 	 * @return a string array of all buildings
 	 */
-	public String[] getBuildings(boolean departureMenu) { 
-		String[] buildingStrings = new TreeSet<String>(buildings.keySet()).toArray(new String[buildings.size()]);
+	public String[] getBuildings(boolean departureMenu) {
+		String[] buildingStrings = new String[buildings.size()];
+		BuildingIndex index = getBuildingIndex();
+		int offset = buildingStrings.length - index.size(); // 1 if an intersection is named ""
+		for (int i = 0; i < index.size(); i++) buildingStrings[offset + i] = index.getName(i);
 		if (departureMenu) buildingStrings[0] = "Select Depature";
 		else buildingStrings[0] = "Select Destination";
 		return buildingStrings;
 	}
 	
+	// Returns the index of every building name, with the ID of the last location of that name
+	private BuildingIndex indexBuildings() {
+		String[] buildingNames = new String[buildings.size()];
+		String[] buildingIDs = new String[buildings.size()];
+		int i = 0;
+		for (Map.Entry<String,Integer> entry : buildings.entrySet()) {
+			buildingNames[i] = entry.getKey();
+			buildingIDs[i] = ids[entry.getValue()];
+			i++;
+		}
+		return new BuildingIndex(buildingNames, buildingIDs);
+	}
+	
 	private void checkRep() throws RuntimeException {
-		if (dataFromIDs == null) throw new RuntimeException("dataFromIDs must not be null");
-		if (buildings == null) throw new RuntimeException("buildings must not be null");
+		if (ids == null || names == null || x == null || y == null) throw new RuntimeException("Columns must not be null");
+		if (indices == null || buildings == null) throw new RuntimeException("Indices must not be null");
+		if (names.length != ids.length || x.length != ids.length || y.length != ids.length) throw new RuntimeException("Every column must have one entry per location");
+		if (indices.size() != ids.length) throw new RuntimeException("Every location must have a unique ID");
 	}
 	
 }
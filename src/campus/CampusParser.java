@@ -1,8 +1,12 @@
 package campus;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -12,18 +16,25 @@ import java.util.Set;
 import graph.Node;
 
 
-//	CampusParser is not an ADT; therefore it does not need an abstraction function nor 
+//	CampusParser is not an ADT; therefore it does not need an abstraction function nor
 //	representation invariant. CampusParser supports reading data from two files, a node
-//	file and an edge file, to fill multiple containers for information on buildings, pathways, 
-//	and nodes. The files passed into CampusParser are assumed to be correctly parsed, and contain
-//	no duplicate IDs. CampusParser is a helper class for the model for the MVC.
+//	file and an edge file, to fill multiple containers for information on buildings, pathways,
+//	and nodes. The files are streamed through memory-mapped windows of bounded size, so files of
+//	hundreds of megabytes are read without loading them whole. Fields are split on the raw bytes:
+//	coordinates are parsed straight to doubles and the ids of an edge are resolved to node numbers
+//	without creating a String, so only the name and id of each node are decoded. The files passed
+//	into CampusParser are assumed to be correctly parsed, and contain no duplicate IDs.
+//	CampusParser is a helper class for the model for the MVC.
 
 public class CampusParser {
-    private static BufferedReader reader;
+	// The largest part of a file mapped at once; no line may be longer
+	private static final int WINDOW = 1 << 26;
+	// Every power of ten that is exactly a double
+	private static final double[] POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
 
     /**
      * Parses through the given files and inputs data into the other parameters.
-     * 
+     *
      * @param nodeFilename The path to the "CSV" file that contains the node data
      * @param edgeFilename The path to the "CSV" file that contains the edge data
      * @param dataFromIDs The map that stores parsed <id, [name,x,y]>
@@ -32,40 +43,245 @@ public class CampusParser {
      * @param nodes The hashmap that stores <id, Node(id)>
      * @throws IOException if file cannot be read
      */
-	public static void readData(String nodeFilename, String edgeFilename, Map<String,ArrayList<String>> dataFromIDs, Map<String,String> buildings, Set<ArrayList<String>> pathways, HashMap<String,Node<String,Double>> nodes) 
+	public static void readData(String nodeFilename, String edgeFilename, Map<String,ArrayList<String>> dataFromIDs, Map<String,String> buildings, Set<ArrayList<String>> pathways, HashMap<String,Node<String,Double>> nodes)
     		throws IOException {
+		readData(nodeFilename, edgeFilename, dataFromIDs, buildings, pathways);
+		for (String id : dataFromIDs.keySet()) {
+			nodes.put(id, new Node<String,Double>(id));
+		}
+	}
 
-    	reader = new BufferedReader(new FileReader(nodeFilename));
-        String line = null;
-
-        while ((line = reader.readLine()) != null) {
-             int i = line.indexOf(",");
-             int j = line.indexOf(",",i+1);
-             int k = line.indexOf(",",j+1);
-//             if ((i == -1) || (j == -1) || (j == -1)) { // Node file is a working CSV
-//            	 throw new IOException("File "+nodeFilename+" not a CSV (name,id,x-coordinate,y-coordinate) file.");
-//             }             
-             String name = line.substring(0,i);
-             String id = line.substring(i+1,j);
-             String x = line.substring(j+1,k);
-             String y = line.substring(k+1,line.length());
-             // Node file seems to promise no duplicate IDs so no need to check (improves coverage)
-             dataFromIDs.put(id,new ArrayList<String>(Arrays.asList(name,x,y)));
-        	 buildings.put(name, id);
-        	 nodes.put(id, new Node<String,Double>(id));
-        }
-        
-       	reader = new BufferedReader(new FileReader(edgeFilename));
-
-        while ((line = reader.readLine()) != null) {
-             int i = line.indexOf(",");
-//             if (i == -1) { // Edge file is a working CSV
-//            	 throw new IOException("File "+edgeFilename+" not a CSV (id1,id2) file.");
-//             }
-             String id1 = line.substring(0,i);
-             String id2 = line.substring(i+1,line.length());
-             pathways.add(new ArrayList<String>(Arrays.asList(id1,id2)));
-        }
-        
-    }
+    /**
+     * Parses through the given files and inputs data into the other parameters, without creating
+     * a Node per id for callers that build a WeightedGraph.
+     *
+     * @param nodeFilename The path to the "CSV" file that contains the node data
+     * @param edgeFilename The path to the "CSV" file that contains the edge data
+     * @param dataFromIDs The map that stores parsed <id, [name,x,y]>
+     * @param buildings The map that stores <name,id>
+     * @param pathways The set that stores <[id1,id2]> pathways
+     * @throws IOException if file cannot be read
+     */
+	public static void readData(String nodeFilename, String edgeFilename, Map<String,ArrayList<String>> dataFromIDs, Map<String,String> buildings, Set<ArrayList<String>> pathways)
+    		throws IOException {
+		ArrayList<String> ids = new ArrayList<String>();
+		parse(nodeFilename, edgeFilename, new CampusDataHandler() {
+			@Override
+			public void node(int node, String name, String id, double x, double y) {
+				if (node == ids.size()) ids.add(id);
+				dataFromIDs.put(id,new ArrayList<String>(Arrays.asList(name,format(x),format(y))));
+				buildings.put(name, id);
+			}
+
+			@Override
+			public void edge(int node1, int node2) {
+				pathways.add(new ArrayList<String>(Arrays.asList(ids.get(node1),ids.get(node2))));
+			}
+		});
+	}
+
+	/**
+	 * Streams the rows of the node file, then the rows of the edge file, to a handler. Blank lines
+	 * are skipped and both files are closed before returning.
+	 *
+	 * @param nodeFilename The path to the "CSV" file of name,id,x,y rows
+	 * @param edgeFilename The path to the "CSV" file of id1,id2 rows
+	 * @param handler The callback given every row
+	 * @requires handler != null
+	 * @return the number of bytes read from both files
+	 * @throws IOException if a file cannot be read, a row has too few fields, a coordinate is not
+	 * a number or an edge has an id that is not in the node file
+	 */
+	public static long parse(String nodeFilename, String edgeFilename, CampusDataHandler handler) throws IOException {
+		IdTable table = new IdTable();
+		long bytes = readLines(nodeFilename, (line, length) -> {
+			int i = indexOf(line, 0, length);
+			int j = indexOf(line, i+1, length);
+			int k = indexOf(line, j+1, length);
+			if (i == -1 || j == -1 || k == -1) { // Node file is a working CSV
+				throw new IOException("File "+nodeFilename+" not a CSV (name,id,x-coordinate,y-coordinate) file.");
+			}
+			double x, y;
+			try {
+				x = parseCoordinate(line, j+1, k);
+				y = parseCoordinate(line, k+1, length);
+			} catch (NumberFormatException e) {
+				throw new IOException("File "+nodeFilename+" has a coordinate that is not a number.");
+			}
+			int node = table.add(line, i+1, j-i-1);
+			handler.node(node, new String(line, 0, i, StandardCharsets.UTF_8), new String(line, i+1, j-i-1, StandardCharsets.UTF_8), x, y);
+		});
+		bytes += readLines(edgeFilename, (line, length) -> {
+			int i = indexOf(line, 0, length);
+			if (i == -1) { // Edge file is a working CSV
+				throw new IOException("File "+edgeFilename+" not a CSV (id1,id2) file.");
+			}
+			int node1 = table.find(line, 0, i);
+			int node2 = table.find(line, i+1, length-i-1);
+			if (node1 == -1 || node2 == -1) {
+				throw new IOException("File "+edgeFilename+" has an id that is not in "+nodeFilename+".");
+			}
+			handler.edge(node1, node2);
+		});
+		return bytes;
+	}
+
+	/**
+	 * Formats a parsed coordinate the way it is written in the node files, without a fraction if it
+	 * is a whole number
+	 *
+	 * @param coordinate The coordinate
+	 * @return the coordinate as text
+	 */
+	static String format(double coordinate) {
+		if (coordinate == Math.rint(coordinate) && Math.abs(coordinate) < 1e15) return Long.toString((long) coordinate);
+		return Double.toString(coordinate);
+	}
+
+	// Receives each line of a file, without its line terminator, in a buffer reused between lines
+	private interface LineHandler {
+		public void line(byte[] line, int length) throws IOException;
+	}
+
+	// Maps the file window by window and passes every non-blank line to handler, returning the size
+	// of the file. A window ends after its last complete line, so no line is split between windows.
+	private static long readLines(String filename, LineHandler handler) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			long size = channel.size();
+			byte[] line = new byte[256];
+			long position = 0;
+			while (position < size) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW, size - position));
+				int limit = buffer.limit();
+				int start = 0;
+				for (int i = 0; i < limit; i++) {
+					if (buffer.get(i) == '\n') {
+						line = emit(buffer, start, i, line, handler);
+						start = i + 1;
+					}
+				}
+				if (position + limit == size) { // the last line may have no line terminator
+					if (start < limit) emit(buffer, start, limit, line, handler);
+					position = size;
+				} else if (start == 0) {
+					throw new IOException("File "+filename+" has a line longer than "+WINDOW+" bytes.");
+				} else position += start;
+			}
+			return size;
+		}
+	}
+
+	// Copies buffer[start, end) without a trailing '\r' into line, growing it if needed, and passes
+	// it to handler unless it is blank; returns the line buffer to reuse. Moves the position of
+	// buffer, which readLines only reads by index.
+	private static byte[] emit(MappedByteBuffer buffer, int start, int end, byte[] line, LineHandler handler) throws IOException {
+		if (end > start && buffer.get(end-1) == '\r') end--;
+		int length = end - start;
+		if (length == 0) return line;
+		if (length > line.length) line = new byte[Math.max(length, line.length * 2)];
+		((Buffer) buffer).position(start); // Buffer.position returns a Buffer on every JDK
+		buffer.get(line, 0, length);
+		handler.line(line, length);
+		return line;
+	}
+
+	// Returns the index of the first comma in line[from, to), or -1 if there is none
+	private static int indexOf(byte[] line, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (line[i] == ',') return i;
+		}
+		return -1;
+	}
+
+	// Parses line[from, to) as a double. Plain decimals of up to 15 significant digits are divided
+	// by an exact power of ten, which rounds the same as Double.parseDouble; anything else is
+	// passed to it.
+	private static double parseCoordinate(byte[] line, int from, int to) {
+		int i = from;
+		boolean negative = false;
+		if (i < to && (line[i] == '-' || line[i] == '+')) negative = line[i++] == '-';
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean point = false;
+		boolean any = false;
+		for (; i < to; i++) {
+			byte b = line[i];
+			if (b >= '0' && b <= '9' && digits < 16) {
+				mantissa = mantissa * 10 + (b - '0');
+				if (mantissa != 0) digits++;
+				if (point) scale++;
+				any = true;
+			} else if (b == '.' && !point) {
+				point = true;
+			} else {
+				return Double.parseDouble(new String(line, from, to - from, StandardCharsets.US_ASCII));
+			}
+		}
+		if (!any || digits > 15 || scale >= POWERS.length) {
+			return Double.parseDouble(new String(line, from, to - from, StandardCharsets.US_ASCII));
+		}
+		double value = mantissa / POWERS[scale];
+		return negative ? -value : value;
+	}
+
+	// An open-addressing hash table from id bytes to node numbers, so the ids of an edge are looked
+	// up without decoding them
+	private static final class IdTable {
+		private byte[] bytes = new byte[1024];
+		private int[] starts = new int[65]; // id i is bytes[starts[i], starts[i+1])
+		private int size;
+		private int[] slots = new int[128]; // node number + 1, or 0 if the slot is empty
+
+		// Returns the number of the id, adding it if it is new
+		int add(byte[] line, int from, int length) {
+			int node = find(line, from, length);
+			if (node != -1) return node;
+			int used = starts[size];
+			if (used + length > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(used + length, bytes.length * 2));
+			if (size + 2 > starts.length) starts = Arrays.copyOf(starts, starts.length * 2);
+			System.arraycopy(line, from, bytes, used, length);
+			starts[size+1] = used + length;
+			if ((size + 1) * 2 > slots.length) rehash(slots.length * 2);
+			slots[slot(line, from, length)] = size + 1;
+			return size++;
+		}
+
+		// Returns the number of the id, or -1 if it has not been added
+		int find(byte[] line, int from, int length) {
+			return slots[slot(line, from, length)] - 1;
+		}
+
+		// Returns the slot holding the id, or the empty slot where it would be added
+		private int slot(byte[] line, int from, int length) {
+			int mask = slots.length - 1;
+			int s = hash(line, from, length) & mask;
+			while (slots[s] != 0 && !matches(slots[s] - 1, line, from, length)) s = (s + 1) & mask;
+			return s;
+		}
+
+		private boolean matches(int node, byte[] line, int from, int length) {
+			if (starts[node+1] - starts[node] != length) return false;
+			for (int i = 0; i < length; i++) {
+				if (bytes[starts[node] + i] != line[from + i]) return false;
+			}
+			return true;
+		}
+
+		private void rehash(int capacity) {
+			slots = new int[capacity];
+			for (int node = 0; node < size; node++) {
+				int s = hash(bytes, starts[node], starts[node+1] - starts[node]) & (capacity - 1);
+				while (slots[s] != 0) s = (s + 1) & (capacity - 1);
+				slots[s] = node + 1;
+			}
+		}
+
+		private static int hash(byte[] line, int from, int length) {
+			int h = 0;
+			for (int i = from; i < from + length; i++) h = 31 * h + line[i];
+			h *= 0x9E3779B9; // spreads ids that differ only in their last bytes
+			return h ^ (h >>> 16);
+		}
+	}
 }
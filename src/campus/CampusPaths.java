@@ -3,6 +3,7 @@ package campus;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.List;
 
 //	CampusPaths is not an ADT; therefore it does not need an abstraction function nor 
 //	representation invariant. CampusWrapper supports finding the lowest cost path between two 
@@ -12,6 +13,8 @@ import java.io.InputStreamReader;
 //	the controller.
 
 public class CampusPaths { // View and Controller
+	// The largest number of building names suggested for an unknown building
+	private static final int SUGGESTIONS = 3;
 	private static BufferedReader reader;
 	
 	/**
@@ -29,45 +32,34 @@ public class CampusPaths { // View and Controller
 			String input1 = reader.readLine();
 			System.out.print("Second building id/name, followed by Enter: ");
 			String input2 = reader.readLine();
-			String path,id1,id2;
+			String id1,id2;
 			// Tries to determine the ID from the first input
 			if (graph.getLocations().getID(input1) == null) id1 = input1;
 			else id1 = graph.getLocations().getID(input1); 
 			// Tries to determine the ID from the second input
 			if (graph.getLocations().getID(input2) == null) id2 = input2;
 			else id2 = graph.getLocations().getID(input2);
-			// finds and prints path
-			path = graph.findPath(id1, id2);
-			if (path.equals("0.000")) { // for path to self
-				System.out.println(String.format("Path from %s to %s:\nTotal distance: %s pixel units.",graph.getLocations().getName(id1),graph.getLocations().getName(id2),path));
-				return;
-			}
-			int i = path.indexOf(",");
-			if (i == 0) { // for unknown buildings
-				i = path.indexOf(",",1);
-				if (i != -1) System.out.println(String.format("Unknown building: [%s]\nUnknown building: [%s]",path.substring(1, i),path.substring(i+1,path.length())));
-				else System.out.println(String.format("Unknown building: [%s]",path.substring(1,path.length())));
-			} else if (i == -1) System.out.println(String.format("There is no path from %s to %s.",graph.getLocations().getName(id1),graph.getLocations().getName(id2)));
-			else { // prints path
+			// finds and prints route
+			Route route = graph.findRoute(id1, id2);
+			if (route.getStatus() == Route.Status.UNKNOWN_START || route.getStatus() == Route.Status.UNKNOWN_END) { // for unknown buildings
+				for (String id : route.getUnknownIds()) {
+					System.out.println(String.format("Unknown building: [%s]",id));
+					// suggestions go to the error stream, so the output of the commands is unchanged
+					List<String> suggestions = graph.getLocations().getTrigramIndex().suggest(id, SUGGESTIONS);
+					if (!suggestions.isEmpty()) System.err.println(String.format("Did you mean: %s?",String.join(", ",suggestions)));
+				}
+			} else if (route.getStatus() == Route.Status.NO_PATH) System.out.println(String.format("There is no path from %s to %s.",graph.getLocations().getName(id1),graph.getLocations().getName(id2)));
+			else { // prints route, one line per hop
 				System.out.println(String.format("Path from %s to %s:",graph.getLocations().getName(id1),graph.getLocations().getName(id2)));
-				String id3 = path.substring(0,i);
-				String name = graph.getLocations().getName(id3);
-				String direction = graph.getLocations().getDirection(id1,id3);
-				if (name.equals("")) System.out.println(String.format("\tWalk %s to (Intersection %s)",direction,id3));
-				else System.out.println(String.format("\tWalk %s to (%s)",direction,name));
-				int j = path.indexOf(",",i+1);
-				while (i != -1) { // iterates through path string, printing each line
-					if (j != -1) { // if path has not ended
-						String id4 = path.substring(i+1,j);
-						name = graph.getLocations().getName(id4);
-						direction = graph.getLocations().getDirection(id3,id4);
-						if (name.equals("")) System.out.println(String.format("\tWalk %s to (Intersection %s)",direction,id4));
-						else System.out.println(String.format("\tWalk %s to (%s)",direction,name));
-						id3 = id4;
-					} else System.out.println(String.format("Total distance: %s pixel units.",path.substring(i+1,path.length())));
-					i = j;
-					j = path.indexOf(",",i+1);
+				CampusLocations locations = graph.getLocations();
+				DirectionTable directions = graph.getDirections();
+				for (int i = 1; i < route.size(); i++) { // location indices are the node indices of the route
+					String name = locations.getName(route.getNode(i));
+					String direction = directions.getDirection(route.getEdge(i));
+					if (name.equals("")) System.out.println(String.format("\tWalk %s to (Intersection %s)",direction,route.getId(i)));
+					else System.out.println(String.format("\tWalk %s to (%s)",direction,name));
 				}
+				System.out.println(String.format("Total distance: %.3f pixel units.",route.getTotalDistance()));
 			}
 		} else if (input.equals("m")) {
 			System.out.println("b: lists all buildings (only buildings) in the form name,id in lexicographic (alphabetical) order of name.");
@@ -85,7 +77,8 @@ public class CampusPaths { // View and Controller
 	public static void main(String[] args) throws IOException {
 		String nodeArg = "src/campus/data/RPI_map_data_Nodes.csv";
 		String edgeArg = "src/campus/data/RPI_map_data_Edges.csv";
-		CampusWrapper graph = new CampusWrapper(nodeArg,edgeArg);
+		String snapshotArg = "src/campus/data/RPI_map_data.snapshot";
+		CampusWrapper graph = new CampusWrapper(nodeArg,edgeArg,snapshotArg); // parses the files only once
 		reader = new BufferedReader(new InputStreamReader(System.in));
 		String input = reader.readLine();
 		while (!input.equals("q")) {
@@ -1,57 +1,62 @@
 package campus;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import graph.Edge;
-import graph.Graph;
-import graph.Node;
-
-//Comparator to help sort edges by weights, then child label in a given arraylist of edges.
-class EdgeWeightComparator<N,E> implements Comparator<Edge<N,E>> {
-	public int compare(Edge<N,E> e1, Edge<N,E> e2) {
-		int x = ((Double) e1.getLabel()).compareTo((Double) e2.getLabel());
-		if (x == 0) {
-			return ((String) e1.getChild().getLabel()).compareTo((String) e2.getChild().getLabel());
-		}
-		return x;
-	}
-}
-
-//Comparator to help sort arraylists in a priority queue by increasing cost order
-class QueueCostComparator<N,E> implements Comparator<ArrayList<Edge<N,E>>> {
-	public int compare(ArrayList<Edge<N,E>> a1, ArrayList<Edge<N,E>> a2) {
-		double a1_sum = 0;
-		double a2_sum = 0;
-		for (Edge<N,E> edge : a1) a1_sum += (Double) edge.getLabel();
-		for (Edge<N,E> edge : a2) a2_sum += (Double) edge.getLabel();
-		if (a1_sum < a2_sum) {
-			return -1;
-		} else if (a1_sum > a2_sum) {
-			return 1;
-		}
-		return 0;
-	}
-}
+import graph.FrozenGraph;
 
 //CampusWrapper is not an ADT, but is a subtype of Graph; therefore it does not need an
 //abstraction function nor representation invariant. CampusWrapper supports creating a 
-//Graph<String,Double> with the given filename by parsing through the data. The data is 
-//stored a node file and edge file. CampusWrapper also supports finding the lowest cost 
-//path between two buildings on campus using Dijkstra's algorithm on the graph. CampusWrapper
-//acts as a model for the MVC.
+//campus graph with the given filename by parsing through the data, or by loading a binary 
+//snapshot of it. The data is stored a node file and edge file. CampusWrapper also supports 
+//finding the lowest cost path between two buildings on campus using Dijkstra's algorithm on the
+//graph, which is delegated to a PathFinder over a FrozenGraph snapshot built once per loaded
+//graph. The search mode can be set per instance or per query. Queries only read the loaded graph,
+//so any number of them may run at once, in batches on a ForkJoinPool or asynchronously on an
+//Executor; loading a new graph waits for running queries and swaps every structure at once.
+//CampusWrapper acts as a model for the MVC.
 
 public class CampusWrapper { // Model
-	private Graph<String,Double> campus;
-	private CampusLocations locations;
+	// Below this many pairs a batch task answers its pairs itself instead of splitting
+	private static final int PAIRS_PER_TASK = 16;
+	
+	private volatile CampusLocations locations;
+	private volatile DirectionTable directions;
+	private volatile SegmentIndex segments;
+	private volatile FrozenGraph<String> snapshot;
+	// Coordinates of each snapshot node index
+	private volatile double[] x;
+	private volatile double[] y;
+	private volatile DijkstraPathFinder dijkstra;
+	private volatile BidirectionalAStarPathFinder aStar;
+	private volatile ContractionHierarchyPathFinder hierarchy;
+	private volatile BidirectionalAStarPathFinder landmarks;
+	private LandmarkBound landmarkBound;
+	private int landmarkCount = 8;
+	private volatile BuildingMatrix matrix;
+	private volatile RouteCache routeCache;
+	private int retainedTrees = 0;
+	private final LinkedHashMap<String,ShortestPathTree> trees = new LinkedHashMap<String,ShortestPathTree>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,ShortestPathTree> eldest) {
+			return size() > retainedTrees;
+		}
+	};
+	private volatile SearchMode mode = SearchMode.DIJKSTRA;
+	private volatile Executor executor = ForkJoinPool.commonPool();
+	// Queries hold the read lock; loading a new graph holds the write lock while swapping it in
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 	
 	/**
 	 * Creates a CampusWrapper object
@@ -72,12 +77,306 @@ public class CampusWrapper { // Model
 		createNewGraph(nodeFilename,edgeFilename);
 	}
 	
+	/**
+	 * Creates a CampusWrapper object and tries to make a graph with given filenames, through a
+	 * binary snapshot of them
+	 * 
+	 * @param nodeFilename The name of the node file to be parsed
+	 * @param edgeFilename The name of the edge file to be parsed
+	 * @param snapshotFilename The name of the binary snapshot to load, or to save for the next start
+	 * @requires nodeFilename != null && edgeFilename != null && snapshotFilename != null
+	 * @effects Constructs a CampusWrapper object with a graph from the data files
+	 */
+	public CampusWrapper(String nodeFilename, String edgeFilename, String snapshotFilename) {
+		createNewGraph(nodeFilename,edgeFilename,snapshotFilename);
+	}
+	
 	/**
 	 * 
-	 * @return The campus locations
+	 * @return The campus locations, whose location indices are the node indices of the snapshot
 	 */
 	public CampusLocations getLocations() { return locations; }
 	
+	/**
+	 * 
+	 * @return The compass direction of every edge of the snapshot
+	 */
+	public DirectionTable getDirections() { return directions; }
+	
+	/**
+	 * 
+	 * @return The grid of the pathway segments of the snapshot, for snapping points onto pathways
+	 */
+	public SegmentIndex getSegments() { return segments; }
+	
+	/**
+	 * 
+	 * @return The immutable snapshot of the campus graph, with each node's edges sorted by weight
+	 */
+	public FrozenGraph<String> getSnapshot() { return snapshot; }
+	
+	/**
+	 * 
+	 * @param node A node index of the snapshot, such as Route.getNode(i)
+	 * @return The x coordinate of the node
+	 */
+	public double getNodeX(int node) { return x[node]; }
+	
+	/**
+	 * 
+	 * @param node A node index of the snapshot, such as Route.getNode(i)
+	 * @return The y coordinate of the node
+	 */
+	public double getNodeY(int node) { return y[node]; }
+	
+	/**
+	 * 
+	 * @return The search mode used by findPath(name1, name2)
+	 */
+	public SearchMode getSearchMode() { return mode; }
+	
+	/**
+	 * Sets the search mode used by findPath(name1, name2)
+	 * 
+	 * @param mode The search mode
+	 * @requires mode != null
+	 * @modifies mode
+	 */
+	public void setSearchMode(SearchMode mode) { this.mode = mode; }
+	
+	/**
+	 * Prepares the contraction hierarchy of the loaded graph, loading it from filename if it was
+	 * saved there for the same graph, or building it and saving it to filename otherwise
+	 * 
+	 * @param filename The file the contraction hierarchy is persisted in
+	 * @requires filename != null
+	 * @modifies hierarchy
+	 * @throws IOException if the built hierarchy cannot be saved
+	 */
+	public void prepareContractionHierarchy(String filename) throws IOException {
+		FrozenGraph<String> graph;
+		synchronized (this) {
+			graph = snapshot;
+		}
+		ContractionHierarchyPathFinder prepared;
+		try {
+			prepared = ContractionHierarchyPathFinder.load(filename, graph);
+		} catch (IOException e) { // missing or stale file
+			prepared = ContractionHierarchyPathFinder.build(graph);
+			prepared.save(filename);
+		}
+		synchronized (this) {
+			if (snapshot == graph) hierarchy = prepared;
+		}
+	}
+	
+	/**
+	 * Returns the contraction hierarchy of the loaded graph, building it on first use
+	 * 
+	 * @modifies hierarchy
+	 * @return the contraction hierarchy path finder
+	 */
+	private ContractionHierarchyPathFinder getHierarchy() {
+		ContractionHierarchyPathFinder prepared = hierarchy;
+		if (prepared != null) return prepared; // built, so concurrent queries skip the lock
+		synchronized (this) {
+			if (hierarchy == null) hierarchy = ContractionHierarchyPathFinder.build(snapshot);
+			return hierarchy;
+		}
+	}
+	
+	/**
+	 * 
+	 * @return The number of landmarks used by the LANDMARKS search mode
+	 */
+	public int getLandmarkCount() { return landmarkCount; }
+	
+	/**
+	 * Sets the number of landmarks used by the LANDMARKS search mode. More landmarks give tighter
+	 * bounds and faster queries, at the cost of two distances per node for each landmark.
+	 * 
+	 * @param count The number of landmarks
+	 * @requires count >= 0
+	 * @modifies landmarkCount, landmarks
+	 */
+	public synchronized void setLandmarkCount(int count) {
+		if (count == landmarkCount) return;
+		landmarkCount = count;
+		landmarks = null;
+		landmarkBound = null;
+	}
+	
+	/**
+	 * Returns the landmark lower bound of the loaded graph, choosing landmarks among the
+	 * buildings on first use
+	 * 
+	 * @modifies landmarks, landmarkBound
+	 * @return the landmark lower bound
+	 */
+	public synchronized LandmarkBound getLandmarkBound() {
+		if (landmarkBound == null) { // landmarks are chosen among buildings
+			landmarkBound = new LandmarkBound(snapshot, buildingIndices(), landmarkCount);
+			landmarks = new BidirectionalAStarPathFinder(snapshot, landmarkBound);
+		}
+		return landmarkBound;
+	}
+	
+	/**
+	 * Returns the landmark path finder of the loaded graph, building it on first use
+	 * 
+	 * @modifies landmarks, landmarkBound
+	 * @return the landmark path finder
+	 */
+	private BidirectionalAStarPathFinder getLandmarks() {
+		BidirectionalAStarPathFinder prepared = landmarks;
+		if (prepared != null) return prepared;
+		synchronized (this) {
+			getLandmarkBound();
+			return landmarks;
+		}
+	}
+	
+	/**
+	 * Precomputes the distance matrix and shortest-path trees between every pair of buildings,
+	 * running one search per building on the given pool
+	 * 
+	 * @param pool The pool the searches run on
+	 * @requires pool != null
+	 * @modifies matrix
+	 * @return the building matrix of the loaded graph
+	 */
+	public BuildingMatrix precomputeBuildingMatrix(ForkJoinPool pool) {
+		FrozenGraph<String> graph;
+		DijkstraPathFinder finder;
+		int[] buildings;
+		synchronized (this) { // reads the inputs of one loaded graph
+			graph = snapshot;
+			finder = dijkstra;
+			buildings = buildingIndices();
+		}
+		BuildingMatrix computed = new BuildingMatrix(finder, graph, buildings, pool);
+		synchronized (this) {
+			if (snapshot == graph) matrix = computed;
+		}
+		return computed;
+	}
+	
+	/**
+	 * Returns the building matrix of the loaded graph, computing it on the common pool on first use
+	 * 
+	 * @modifies matrix
+	 * @return the building matrix
+	 */
+	public BuildingMatrix getBuildingMatrix() {
+		BuildingMatrix computed = matrix;
+		if (computed != null) return computed;
+		synchronized (this) {
+			if (matrix == null) matrix = new BuildingMatrix(dijkstra, snapshot, buildingIndices(), ForkJoinPool.commonPool());
+			return matrix;
+		}
+	}
+	
+	/**
+	 * Returns the node indices of the snapshot that are named buildings
+	 * 
+	 * @return the building node indices in index order
+	 */
+	private int[] buildingIndices() {
+		int buildings = 0;
+		int[] indices = new int[snapshot.size()];
+		for (int i = 0; i < snapshot.size(); i++) {
+			String name = locations.getName(snapshot.getLabel(i));
+			if (name != null && !name.equals("")) indices[buildings++] = i;
+		}
+		return Arrays.copyOf(indices, buildings);
+	}
+	
+	/**
+	 * Turns on caching of found routes, keeping the most recently used ones. The cache is
+	 * cleared whenever a new graph is loaded.
+	 * 
+	 * @param capacity The largest number of routes kept
+	 * @requires capacity > 0
+	 * @modifies routeCache
+	 */
+	public void enableRouteCache(int capacity) { routeCache = new RouteCache(capacity); }
+	
+	/**
+	 * Turns off caching of found routes
+	 * 
+	 * @modifies routeCache
+	 */
+	public void disableRouteCache() { routeCache = null; }
+	
+	/**
+	 * 
+	 * @return The route cache, or null if caching is off
+	 */
+	public RouteCache getRouteCache() { return routeCache; }
+	
+	/**
+	 * 
+	 * @return The number of shortest-path trees kept for reuse
+	 */
+	public int getRetainedTrees() {
+		synchronized (trees) {
+			return retainedTrees;
+		}
+	}
+	
+	/**
+	 * Sets the number of shortest-path trees kept for reuse. While it is positive, a Dijkstra
+	 * query searches the whole graph from its start node and keeps the tree, so later queries
+	 * from any of the most recent start nodes only walk a tree.
+	 * 
+	 * @param count The number of trees kept, or 0 to keep none
+	 * @requires count >= 0
+	 * @modifies retainedTrees, trees
+	 */
+	public void setRetainedTrees(int count) {
+		synchronized (trees) {
+			retainedTrees = count;
+			Iterator<String> sources = trees.keySet().iterator();
+			while (trees.size() > count) { // drops the least recently used trees
+				sources.next();
+				sources.remove();
+			}
+		}
+	}
+	
+	/**
+	 * Returns the complete shortest-path tree from source, reusing a kept tree if there is one
+	 * and keeping the new tree otherwise
+	 * 
+	 * @param source The node to search from
+	 * @requires source != null
+	 * @modifies trees
+	 * @return the shortest-path tree from source, or null if source is not a node of the graph
+	 */
+	public ShortestPathTree getShortestPathTree(String source) {
+		lock.readLock().lock();
+		try {
+			return tree(source);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	// Returns the tree from source as getShortestPathTree does, while the read lock is held
+	private ShortestPathTree tree(String source) {
+		FrozenGraph<String> graph = snapshot;
+		if (graph.indexOf(source) == -1) return null;
+		synchronized (trees) {
+			ShortestPathTree tree = trees.get(source);
+			if (tree != null) return tree;
+		}
+		ShortestPathTree tree = new ShortestPathTree(dijkstra, graph, source);
+		synchronized (trees) {
+			if (snapshot == graph && retainedTrees > 0) trees.put(source, tree);
+		}
+		return tree;
+	}
+	
 	/**
 	 * Tries to create a graph with a given filenames
 	 * 
@@ -87,84 +386,391 @@ public class CampusWrapper { // Model
 	 */
 	public void createNewGraph(String nodeFilename, String edgeFilename) {
 		try {
-			Map<String,ArrayList<String>> dataFromIDs = new HashMap<String,ArrayList<String>>();
-			Map<String,String> buildings = new HashMap<String,String>();
-    		Set<ArrayList<String>> pathways = new HashSet<ArrayList<String>>();
-    		HashMap<String,Node<String,Double>> nodes = new HashMap<String,Node<String,Double>>(0);
-			CampusParser.readData(nodeFilename,edgeFilename,dataFromIDs,buildings,pathways,nodes);
-			locations = new CampusLocations(dataFromIDs,buildings);
-			Iterator<ArrayList<String>> path_iter = pathways.iterator();
-    		ArrayList<Edge<String,Double>> edges = new ArrayList<Edge<String,Double>>(0);
-			while (path_iter.hasNext()) {
-				ArrayList<String> ids = path_iter.next();
-				String id1 = ids.get(0);
-				String id2 = ids.get(1);
-				Double distance = Math.sqrt(Math.pow(Double.parseDouble(dataFromIDs.get(id2).get(1)) - Double.parseDouble(dataFromIDs.get(id1).get(1)),2) + Math.pow(Double.parseDouble(dataFromIDs.get(id2).get(2)) - Double.parseDouble(dataFromIDs.get(id1).get(2)),2));
-				edges.add(new Edge<String,Double>(nodes.get(id1),nodes.get(id2),distance));
-				edges.add(new Edge<String,Double>(nodes.get(id2),nodes.get(id1),distance));
-				nodes.get(id1).addEdge(new Edge<String,Double>(nodes.get(id1),nodes.get(id2),distance));
-				nodes.get(id2).addEdge(new Edge<String,Double>(nodes.get(id2),nodes.get(id1),distance));
-			}
-			campus = new Graph<String,Double>(nodes,edges);
+			install(CampusData.read(nodeFilename,edgeFilename));
 		} catch (IOException e) {
 		}
 	}
 	
 	/**
-	 * Tries to find a minimum-cost path from name1 to name2 using Dijkstra's algorithm
+	 * Tries to create a graph with a given filenames, loading it from a binary snapshot if one was
+	 * saved for the current files, or reading the files and saving a snapshot for the next start
+	 * otherwise. A snapshot that cannot be saved is skipped.
+	 * 
+	 * @param nodeFilename The filename containing node data
+	 * @param edgeFilename The filename containing edge data
+	 * @param snapshotFilename The filename of the binary snapshot
+	 * @modifies graph
+	 */
+	public void createNewGraph(String nodeFilename, String edgeFilename, String snapshotFilename) {
+		CampusData data;
+		try {
+			data = CampusData.load(snapshotFilename,nodeFilename,edgeFilename);
+		} catch (IOException e) { // missing, stale or corrupt snapshot
+			try {
+				data = CampusData.read(nodeFilename,edgeFilename);
+			} catch (IOException e2) {
+				return;
+			}
+			try {
+				data.save(snapshotFilename,nodeFilename,edgeFilename);
+			} catch (IOException e3) { // the graph is still usable without a snapshot
+			}
+		}
+		install(data);
+	}
+	
+	/**
+	 * Builds the path finders of a loaded campus and swaps them in
+	 * 
+	 * @param data The loaded campus
+	 * @requires data != null
+	 * @modifies graph
+	 */
+	private void install(CampusData data) {
+		CampusLocations newLocations = data.toLocations();
+		FrozenGraph<String> newSnapshot = data.getGraph();
+		double[] newX = new double[newSnapshot.size()];
+		double[] newY = new double[newSnapshot.size()];
+		for (int i = 0; i < newSnapshot.size(); i++) {
+			newX[i] = data.getX(i);
+			newY[i] = data.getY(i);
+		}
+		DirectionTable newDirections = new DirectionTable(newSnapshot, newLocations);
+		SegmentIndex newSegments = new SegmentIndex(newSnapshot, newX, newY);
+		DijkstraPathFinder newDijkstra = new DijkstraPathFinder(newSnapshot);
+		BidirectionalAStarPathFinder newAStar = new BidirectionalAStarPathFinder(newSnapshot, new StraightLineBound(newX, newY));
+		lock.writeLock().lock();
+		try { // swaps the new graph in while no query is running
+			synchronized (this) {
+				locations = newLocations;
+				directions = newDirections;
+				segments = newSegments;
+				snapshot = newSnapshot;
+				x = newX;
+				y = newY;
+				dijkstra = newDijkstra;
+				aStar = newAStar;
+				hierarchy = null;
+				landmarks = null;
+				landmarkBound = null;
+				matrix = null;
+			}
+			RouteCache cache = routeCache;
+			if (cache != null) cache.clear();
+			synchronized (trees) {
+				trees.clear();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Tries to find a minimum-cost path from name1 to name2 using the current search mode
 	 * 
 	 * @param name1 The start node
 	 * @param name2 The destination node
 	 * @requires name1 != null && name2 != null
-	 * @return a simple string of the path from name1 to name2 using Dijkstra's algorithm
+	 * @return a simple string of the path from name1 to name2, as formatted by Route.format()
 	 */
 	public String findPath(String name1, String name2) {
-		String path_string = new String();
-		// checks if IDs belongs to a building in the graph
-		if ((locations.getName(name1) != null && locations.getName(name1).equals("")) || campus.getNode(name1) == null) { // if name1 invalid
-			path_string += new String(","+name1);
-		}
-		if (!(name1.equals(name2)) && ((locations.getName(name2) != null && locations.getName(name2).equals("")) || campus.getNode(name2) == null)) { // if name2 is invalid & unique
-			path_string += new String(","+name2);
-		}
-		if (!path_string.equals(new String())) { // returns invalid input string
-			return path_string;
-		}
-		// start of the Dijkstra algorithm
-		PriorityQueue<ArrayList<Edge<String,Double>>> active = new PriorityQueue<ArrayList<Edge<String,Double>>>(1,new QueueCostComparator<String,Double>());
-		ArrayList<String> finished = new ArrayList<String>();
-		ArrayList<Edge<String,Double>> self_path = new ArrayList<Edge<String,Double>>(0);
-		self_path.add(new Edge<String,Double>(campus.getNode(name1),campus.getNode(name1),(double) 0));
-		active.add(self_path);
-		while (!active.isEmpty()) {
-			ArrayList<Edge<String,Double>> minPath = active.poll();
-			String minDest = minPath.get(minPath.size() - 1).getChild().getLabel();
-			if (minDest.equals(name2)) { // destination has been reached
-				double total_cost = 0;
-				minPath.remove(0);
-				for (Edge<String,Double> edge : minPath) {
-					path_string += String.format("%s,", edge.getChild().getLabel());
-					total_cost += edge.getLabel();
+		return findRoute(name1, name2, mode).format();
+	}
+	
+	/**
+	 * Tries to find a minimum-cost path from name1 to name2 using the given search mode
+	 * 
+	 * @param name1 The start node
+	 * @param name2 The destination node
+	 * @param mode The search mode for this query
+	 * @requires name1 != null && name2 != null && mode != null
+	 * @return a simple string of the path from name1 to name2, as formatted by Route.format()
+	 */
+	public String findPath(String name1, String name2, SearchMode mode) {
+		return findRoute(name1, name2, mode).format();
+	}
+	
+	/**
+	 * Tries to find a minimum-cost route from name1 to name2 using the current search mode
+	 * 
+	 * @param name1 The start node
+	 * @param name2 The destination node
+	 * @requires name1 != null && name2 != null
+	 * @return the route from name1 to name2
+	 */
+	public Route findRoute(String name1, String name2) {
+		return findRoute(name1, name2, mode);
+	}
+	
+	/**
+	 * Tries to find a minimum-cost route from name1 to name2 using the given search mode
+	 * 
+	 * @param name1 The start node
+	 * @param name2 The destination node
+	 * @param mode The search mode for this query
+	 * @requires name1 != null && name2 != null && mode != null
+	 * @return the route from name1 to name2
+	 */
+	public Route findRoute(String name1, String name2, SearchMode mode) {
+		lock.readLock().lock();
+		try {
+			return query(name1, name2, mode);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Projects a point onto the nearest pathway
+	 * 
+	 * @param x The x coordinate of the point
+	 * @param y The y coordinate of the point
+	 * @return the nearest point on a pathway segment, or null if the campus has no pathways
+	 */
+	public PathwayPoint snap(double x, double y) {
+		lock.readLock().lock();
+		try {
+			return segments.snap(x, y);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Tries to find a minimum-cost route between two arbitrary points, such as clicks on the map.
+	 * Each point is snapped onto its nearest pathway and joined to the ends of that segment by
+	 * temporary virtual edges, which are never added to the shared graph.
+	 * 
+	 * @param x1 The x coordinate of the start
+	 * @param y1 The y coordinate of the start
+	 * @param x2 The x coordinate of the destination
+	 * @param y2 The y coordinate of the destination
+	 * @return the route between the snapped points, or null if the campus has no pathways
+	 */
+	public PointRoute findRoute(double x1, double y1, double x2, double y2) {
+		lock.readLock().lock();
+		try {
+			PathwayPoint start = segments.snap(x1, y1);
+			PathwayPoint end = segments.snap(x2, y2);
+			if (start == null || end == null) return null;
+			FrozenGraph<String> graph = snapshot;
+			// the start walks the rest of its segment to either end, as far as the edges allow
+			double forward = lightestEdge(graph, start.getFrom(), start.getTo());
+			double backward = lightestEdge(graph, start.getTo(), start.getFrom());
+			int[] sources = {start.getTo(), start.getFrom()};
+			double[] sourceCosts = {along(1 - start.getFraction(), forward), along(start.getFraction(), backward)};
+			// and the destination is reached from either end of its segment
+			int[] targets = {end.getFrom(), end.getTo()};
+			double[] targetCosts = {along(end.getFraction(), lightestEdge(graph, end.getFrom(), end.getTo())), along(1 - end.getFraction(), lightestEdge(graph, end.getTo(), end.getFrom()))};
+			double[] cost = new double[1];
+			int[] nodes = dijkstra.findPath(sources, sourceCosts, targets, targetCosts, cost);
+			if (nodes == null) nodes = new int[0];
+			double distance = cost[0];
+			if (start.getFrom() == end.getFrom() && start.getTo() == end.getTo()) { // both points are on one segment
+				double direct = Double.POSITIVE_INFINITY;
+				if (end.getFraction() >= start.getFraction()) direct = along(end.getFraction() - start.getFraction(), forward);
+				if (end.getFraction() <= start.getFraction()) direct = Math.min(direct, along(start.getFraction() - end.getFraction(), backward));
+				if (direct <= distance) {
+					nodes = new int[0];
+					distance = direct;
 				}
-				return path_string + String.format("%.3f",total_cost);
 			}
-			if (finished.contains(minDest)) continue;
-			ArrayList<Edge<String,Double>> node_edges = new ArrayList<Edge<String,Double>>(campus.getNode(minDest).getEdges());
-			Collections.sort(node_edges,new EdgeWeightComparator<String,Double>());
-			Iterator<Edge<String,Double>> sorted_node_edges = node_edges.iterator();
-			// loops for each edge next_edge = <minDest,child_name>
-			while (sorted_node_edges.hasNext()) {
-				Edge<String,Double> next_edge = sorted_node_edges.next();
-				String child_name = next_edge.getChild().getLabel();
-				if (!finished.contains(child_name)) { // if the child hasn't been visited
-					ArrayList<Edge<String,Double>> newPath = new ArrayList<Edge<String,Double>>(minPath);
-					newPath.add(next_edge);
-					active.add(newPath);
-				}
+			return new PointRoute(start, end, nodes, distance);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	// Returns the cost of walking a fraction of an edge of a weight, which is 0 for no part of the
+	// edge even if there is no such edge
+	private static double along(double fraction, double weight) {
+		if (fraction == 0) return 0;
+		return fraction * weight;
+	}
+	
+	// Returns the weight of the lightest edge from node i to node j, or infinity if there is none
+	private static double lightestEdge(FrozenGraph<String> graph, int i, int j) {
+		double weight = Double.POSITIVE_INFINITY;
+		for (int e = graph.edgesStart(i); e < graph.edgesEnd(i); e++) {
+			if (graph.getTarget(e) == j) weight = Math.min(weight, graph.getWeight(e));
+		}
+		return weight;
+	}
+	
+	/**
+	 * Finds a minimum-cost path for every pair of nodes, answering the pairs in parallel on the
+	 * common pool with the current search mode
+	 * 
+	 * @param pairs The queries, each an array of the start node and the destination node
+	 * @requires pairs != null && every pair holds two non-null nodes
+	 * @return the path strings of the pairs, in the order of the pairs
+	 */
+	public List<String> findPaths(List<String[]> pairs) {
+		return findPaths(pairs, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Finds a minimum-cost path for every pair of nodes, answering the pairs in parallel on the
+	 * given pool with the current search mode
+	 * 
+	 * @param pairs The queries, each an array of the start node and the destination node
+	 * @param pool The pool the queries run on
+	 * @requires pairs != null && pool != null && every pair holds two non-null nodes
+	 * @return the path strings of the pairs, in the order of the pairs
+	 */
+	public List<String> findPaths(List<String[]> pairs, ForkJoinPool pool) {
+		List<Route> routes = findRoutes(pairs, pool);
+		String[] paths = new String[routes.size()];
+		for (int i = 0; i < paths.length; i++) paths[i] = routes.get(i).format();
+		return Arrays.asList(paths);
+	}
+	
+	/**
+	 * Finds a minimum-cost route for every pair of nodes, answering the pairs in parallel on the
+	 * given pool with the current search mode
+	 * 
+	 * @param pairs The queries, each an array of the start node and the destination node
+	 * @param pool The pool the queries run on
+	 * @requires pairs != null && pool != null && every pair holds two non-null nodes
+	 * @return the routes of the pairs, in the order of the pairs
+	 */
+	public List<Route> findRoutes(List<String[]> pairs, ForkJoinPool pool) {
+		String[][] queries = pairs.toArray(new String[pairs.size()][]);
+		Route[] routes = new Route[queries.length];
+		pool.invoke(new BatchTask(queries, routes, mode, 0, queries.length));
+		return Arrays.asList(routes);
+	}
+	
+	// Answers the queries from start to end, splitting them in halves across the pool
+	private class BatchTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private String[][] queries;
+		private Route[] routes;
+		private SearchMode mode;
+		private int start;
+		private int end;
+		
+		BatchTask(String[][] queries, Route[] routes, SearchMode mode, int start, int end) {
+			this.queries = queries;
+			this.routes = routes;
+			this.mode = mode;
+			this.start = start;
+			this.end = end;
+		}
+		
+		@Override
+		protected void compute() {
+			if (end - start > PAIRS_PER_TASK) {
+				int middle = (start + end) >>> 1;
+				invokeAll(new BatchTask(queries, routes, mode, start, middle), new BatchTask(queries, routes, mode, middle, end));
+				return;
 			}
-			finished.add(minDest);
+			for (int i = start; i < end; i++) routes[i] = findRoute(queries[i][0], queries[i][1], mode);
 		}
-		// returns no path;
-		return new String("");
+	}
+	
+	/**
+	 * 
+	 * @return The executor findPathAsync runs queries on
+	 */
+	public Executor getExecutor() { return executor; }
+	
+	/**
+	 * Sets the executor findPathAsync runs queries on. Queries never block on each other, so a
+	 * virtual thread per task executor (Executors.newVirtualThreadPerTaskExecutor() on Java 21)
+	 * works as well as a fixed pool.
+	 * 
+	 * @param executor The executor
+	 * @requires executor != null
+	 * @modifies executor
+	 */
+	public void setExecutor(Executor executor) { this.executor = executor; }
+	
+	/**
+	 * Finds a minimum-cost path from name1 to name2 on the executor, using the current search mode
+	 * 
+	 * @param name1 The start node
+	 * @param name2 The destination node
+	 * @requires name1 != null && name2 != null
+	 * @return a future completed with the path string from name1 to name2
+	 */
+	public CompletableFuture<String> findPathAsync(String name1, String name2) {
+		return findRouteAsync(name1, name2).thenApply(Route::format);
+	}
+	
+	/**
+	 * Finds a minimum-cost route from name1 to name2 on the executor, using the current search mode
+	 * 
+	 * @param name1 The start node
+	 * @param name2 The destination node
+	 * @requires name1 != null && name2 != null
+	 * @return a future completed with the route from name1 to name2
+	 */
+	public CompletableFuture<Route> findRouteAsync(String name1, String name2) {
+		SearchMode current = mode;
+		return CompletableFuture.supplyAsync(() -> findRoute(name1, name2, current), executor);
+	}
+	
+	/**
+	 * Finds a minimum-cost route between two nodes as findRoute(name1, name2, mode) does, while the
+	 * read lock is held
+	 * 
+	 * @param name1 The start node
+	 * @param name2 The destination node
+	 * @param mode The search mode for this query
+	 * @requires name1 != null && name2 != null && mode != null
+	 * @return the route from name1 to name2
+	 */
+	private Route query(String name1, String name2, SearchMode mode) {
+		// checks if IDs belongs to a building in the graph
+		boolean known1 = !((locations.getName(name1) != null && locations.getName(name1).equals("")) || snapshot.indexOf(name1) == -1);
+		boolean known2 = name1.equals(name2) || !((locations.getName(name2) != null && locations.getName(name2).equals("")) || snapshot.indexOf(name2) == -1);
+		if (!known1 || !known2) return Route.unknown(name1, name2, known1, known2);
+		RouteCache cache = routeCache;
+		if (cache == null) return search(name1, name2, mode);
+		long generation = cache.getGeneration();
+		Route route = cache.get(name1, name2);
+		if (route == null) {
+			route = search(name1, name2, mode);
+			cache.put(name1, name2, route, generation);
+		}
+		return route;
+	}
+	
+	/**
+	 * Finds a route between two valid nodes, walking a kept shortest-path tree from name1 if
+	 * there is one
+	 * 
+	 * @param name1 The start node
+	 * @param name2 The destination node
+	 * @param mode The search mode for this query
+	 * @requires name1 and name2 are nodes of the graph && mode != null
+	 * @return the route from name1 to name2
+	 */
+	private Route search(String name1, String name2, SearchMode mode) {
+		ShortestPathTree tree;
+		boolean retain;
+		synchronized (trees) {
+			tree = trees.get(name1);
+			retain = retainedTrees > 0;
+		}
+		if (tree == null && retain && mode == SearchMode.DIJKSTRA) tree = tree(name1);
+		if (tree != null) return tree.findRoute(name2);
+		return getFinder(mode).findRoute(snapshot.indexOf(name1), snapshot.indexOf(name2));
+	}
+	
+	/**
+	 * Returns the path finder of the loaded graph for a search mode
+	 * 
+	 * @param mode The search mode
+	 * @requires mode != null
+	 * @return the path finder used by mode
+	 */
+	private PathFinder getFinder(SearchMode mode) {
+		if (mode == SearchMode.BIDIRECTIONAL_ASTAR) return aStar;
+		if (mode == SearchMode.CONTRACTION_HIERARCHIES) return getHierarchy();
+		if (mode == SearchMode.LANDMARKS) return getLandmarks();
+		if (mode == SearchMode.BUILDING_MATRIX) return getBuildingMatrix();
+		return dijkstra;
 	}
 }
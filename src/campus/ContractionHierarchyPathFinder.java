@@ -0,0 +1,565 @@
+package campus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+
+import graph.FrozenGraph;
+import graph.IndexedMinHeap;
+
+//	ContractionHierarchyPathFinder is not an ADT; therefore it does not need an abstraction function
+//	nor representation invariant. ContractionHierarchyPathFinder preprocesses a FrozenGraph once by
+//	contracting its nodes one at a time, in order of increasing importance, and adding a shortcut
+//	u->w through a contracted node v whenever u->v->w may be the only shortest path between u and
+//	w. A query then runs Dijkstra's algorithm upward from both ends, only following arcs toward
+//	more important nodes, and unpacks the shortcuts of the best meeting path back into original
+//	edges so every intersection is reported. The preprocessed hierarchy can be saved to a file and
+//	loaded again for the same graph, which load checks by a CRC32 of the graph's edges and weights,
+//	so a hierarchy is never reused after a pathway length changes. The query state is kept per
+//	thread and reused by the next query on that thread.
+
+public class ContractionHierarchyPathFinder implements PathFinder {
+	private static final int FORMAT_VERSION = 2;
+	// Witness searches give up after settling this many nodes, which may only add extra shortcuts
+	private static final int ESTIMATE_SETTLE_LIMIT = 50;
+	private static final int CONTRACT_SETTLE_LIMIT = 500;
+
+	private FrozenGraph<String> graph;
+	private int[] rank;
+	// Arcs u->w where rank[u] < rank[w], stored at u
+	private int[] upOffsets;
+	private int[] upTargets;
+	private double[] upWeights;
+	private int[] upMiddles;
+	// Arcs u->w where rank[u] > rank[w], stored reversed at w
+	private int[] downOffsets;
+	private int[] downTargets;
+	private double[] downWeights;
+	private int[] downMiddles;
+	private final ThreadLocal<Workspace> workspaces;
+
+	// The query state of one thread, sized for the graph; distances are only read once reached
+	private static class Workspace {
+		private final double[] distanceF;
+		private final double[] distanceB;
+		private final int[] arcF;
+		private final int[] arcB;
+		private final BitSet reachedF;
+		private final BitSet reachedB;
+		private final IndexedMinHeap activeF;
+		private final IndexedMinHeap activeB;
+
+		Workspace(int n) {
+			distanceF = new double[n];
+			distanceB = new double[n];
+			arcF = new int[n];
+			arcB = new int[n];
+			reachedF = new BitSet(n);
+			reachedB = new BitSet(n);
+			activeF = new IndexedMinHeap(n);
+			activeB = new IndexedMinHeap(n);
+		}
+	}
+
+	// A working arc of the graph being contracted; middle is -1 for an original edge
+	private static class Arc {
+		int from;
+		int to;
+		double weight;
+		int middle;
+
+		Arc(int from, int to, double weight, int middle) {
+			this.from = from;
+			this.to = to;
+			this.weight = weight;
+			this.middle = middle;
+		}
+	}
+
+	// Creates an empty finder to be filled by build or load
+	private ContractionHierarchyPathFinder(FrozenGraph<String> graph) {
+		this.graph = graph;
+		this.workspaces = ThreadLocal.withInitial(() -> new Workspace(graph.size()));
+	}
+
+	/**
+	 * Builds the contraction hierarchy of a given graph
+	 *
+	 * @param graph The snapshot of the graph to be searched
+	 * @requires graph != null && no edge weight is negative
+	 * @return a ContractionHierarchyPathFinder for graph
+	 */
+	public static ContractionHierarchyPathFinder build(FrozenGraph<String> graph) {
+		ContractionHierarchyPathFinder finder = new ContractionHierarchyPathFinder(graph);
+		finder.contract();
+		return finder;
+	}
+
+	/**
+	 * Loads a contraction hierarchy saved by save for a given graph
+	 *
+	 * @param filename The file the hierarchy was saved to
+	 * @param graph The snapshot of the graph the hierarchy was built from
+	 * @requires filename != null && graph != null
+	 * @return a ContractionHierarchyPathFinder for graph
+	 * @throws IOException if the file cannot be read or was built for a different graph
+	 */
+	public static ContractionHierarchyPathFinder load(String filename, FrozenGraph<String> graph) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)));
+		try {
+			if (in.readInt() != FORMAT_VERSION) throw new IOException("File "+filename+" has an unsupported version.");
+			if (in.readInt() != graph.size() || in.readInt() != graph.edgeCount() || in.readLong() != fingerprint(graph)) {
+				throw new IOException("File "+filename+" was built for a different graph.");
+			}
+			for (int i = 0; i < graph.size(); i++) {
+				if (!in.readUTF().equals(graph.getLabel(i))) throw new IOException("File "+filename+" was built for a different graph.");
+			}
+			ContractionHierarchyPathFinder finder = new ContractionHierarchyPathFinder(graph);
+			finder.rank = readInts(in);
+			finder.upOffsets = readInts(in);
+			finder.upTargets = readInts(in);
+			finder.upWeights = readDoubles(in);
+			finder.upMiddles = readInts(in);
+			finder.downOffsets = readInts(in);
+			finder.downTargets = readInts(in);
+			finder.downWeights = readDoubles(in);
+			finder.downMiddles = readInts(in);
+			return finder;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Saves this contraction hierarchy so it can be loaded instead of rebuilt. The hierarchy is
+	 * written to a temporary file first and then moved into place, so a concurrent load never sees
+	 * a partial hierarchy.
+	 *
+	 * @param filename The file to save the hierarchy to
+	 * @requires filename != null
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(String filename) throws IOException {
+		Path target = Paths.get(filename).toAbsolutePath();
+		Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			write(temporary);
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	// Writes this contraction hierarchy to a file
+	private void write(Path file) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+		try {
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(graph.size());
+			out.writeInt(graph.edgeCount());
+			out.writeLong(fingerprint(graph));
+			for (int i = 0; i < graph.size(); i++) out.writeUTF(graph.getLabel(i));
+			writeInts(out, rank);
+			writeInts(out, upOffsets);
+			writeInts(out, upTargets);
+			writeDoubles(out, upWeights);
+			writeInts(out, upMiddles);
+			writeInts(out, downOffsets);
+			writeInts(out, downTargets);
+			writeDoubles(out, downWeights);
+			writeInts(out, downMiddles);
+		} finally {
+			out.close();
+		}
+	}
+
+	// Returns a CRC32 of the edges of a graph and their weights, which changes whenever a pathway
+	// is added, removed or changes length
+	private static long fingerprint(FrozenGraph<String> graph) {
+		CRC32 crc = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocate(12);
+		for (int i = 0; i < graph.size(); i++) {
+			buffer.clear();
+			crc.update(buffer.putInt(graph.degree(i)).array(), 0, 4); // marks which node the edges leave
+			for (int e = graph.edgesStart(i); e < graph.edgesEnd(i); e++) {
+				buffer.clear();
+				crc.update(buffer.putInt(graph.getTarget(e)).putDouble(graph.getWeight(e)).array(), 0, 12);
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Returns the number of shortcuts added by the contraction
+	 *
+	 * @return the number of arcs in the hierarchy that are not original edges
+	 */
+	public int shortcutCount() {
+		int count = 0;
+		for (int middle : upMiddles) if (middle != -1) count++;
+		for (int middle : downMiddles) if (middle != -1) count++;
+		return count;
+	}
+
+	/**
+	 * Tries to find a minimum-cost path from source to target using the contraction hierarchy
+	 *
+	 * @param source The node index of the start
+	 * @param target The node index of the destination
+	 * @requires 0 <= source, target < graph.size()
+	 * @return an OK route from source to target, or a NO_PATH route if there is no path
+	 */
+	@Override
+	public Route findRoute(int source, int target) {
+		if (source == target) return Route.found(graph, new int[] {source});
+		Workspace w = workspaces.get();
+		double[] distanceF = w.distanceF;
+		double[] distanceB = w.distanceB;
+		int[] arcF = w.arcF;
+		int[] arcB = w.arcB;
+		BitSet reachedF = w.reachedF;
+		BitSet reachedB = w.reachedB;
+		IndexedMinHeap activeF = w.activeF;
+		IndexedMinHeap activeB = w.activeB;
+		reachedF.clear();
+		reachedB.clear();
+		activeF.clear();
+		activeB.clear();
+		reachedF.set(source);
+		reachedB.set(target);
+		distanceF[source] = 0;
+		distanceB[target] = 0;
+		arcF[source] = -1;
+		arcB[target] = -1;
+		activeF.insertOrDecrease(source, 0);
+		activeB.insertOrDecrease(target, 0);
+		double best = Double.POSITIVE_INFINITY;
+		int meeting = -1;
+		while (!activeF.isEmpty() || !activeB.isEmpty()) {
+			if (!activeF.isEmpty() && activeF.getKey(activeF.peek()) >= best) activeF.clear();
+			if (!activeB.isEmpty() && activeB.getKey(activeB.peek()) >= best) activeB.clear();
+			boolean forward = !activeF.isEmpty() && (activeB.isEmpty() || activeF.getKey(activeF.peek()) <= activeB.getKey(activeB.peek()));
+			if (forward) { // expands the upward search from the start
+				int min = activeF.poll();
+				if (reachedB.get(min) && distanceF[min] + distanceB[min] < best) {
+					best = distanceF[min] + distanceB[min];
+					meeting = min;
+				}
+				for (int a = upOffsets[min]; a < upOffsets[min+1]; a++) {
+					int child = upTargets[a];
+					double distance = distanceF[min] + upWeights[a];
+					if (!reachedF.get(child) || distance < distanceF[child]) {
+						reachedF.set(child);
+						distanceF[child] = distance;
+						arcF[child] = a;
+						activeF.insertOrDecrease(child, distance);
+					}
+				}
+			} else if (!activeB.isEmpty()) { // expands the upward search from the destination
+				int min = activeB.poll();
+				if (reachedF.get(min) && distanceF[min] + distanceB[min] < best) {
+					best = distanceF[min] + distanceB[min];
+					meeting = min;
+				}
+				for (int a = downOffsets[min]; a < downOffsets[min+1]; a++) {
+					int parent = downTargets[a];
+					double distance = distanceB[min] + downWeights[a];
+					if (!reachedB.get(parent) || distance < distanceB[parent]) {
+						reachedB.set(parent);
+						distanceB[parent] = distance;
+						arcB[parent] = a;
+						activeB.insertOrDecrease(parent, distance);
+					}
+				}
+			}
+		}
+		// returns no path
+		if (meeting == -1) return Route.noPath(graph.getLabel(source), graph.getLabel(target));
+		return buildRoute(source, target, meeting, arcF, arcB);
+	}
+
+	// Unpacks the meeting path into original nodes, summing the original edge weights from the
+	// start in the same order as Dijkstra's algorithm
+	private Route buildRoute(int source, int target, int meeting, int[] arcF, int[] arcB) {
+		ArrayList<Integer> path = new ArrayList<Integer>();
+		path.add(source);
+		ArrayList<Integer> upArcs = new ArrayList<Integer>();
+		for (int v = meeting; v != source; v = upSource(arcF[v])) upArcs.add(arcF[v]);
+		for (int i = upArcs.size() - 1; i >= 0; i--) {
+			int a = upArcs.get(i);
+			unpack(upSource(a), upTargets[a], upMiddles[a], path);
+		}
+		for (int v = meeting; v != target; v = downSource(arcB[v])) {
+			int a = arcB[v];
+			unpack(v, downSource(a), downMiddles[a], path);
+		}
+		int[] nodes = new int[path.size()];
+		for (int i = 0; i < nodes.length; i++) nodes[i] = path.get(i);
+		return Route.found(graph, nodes);
+	}
+
+	// Appends the original nodes after u on the arc u->w with the given middle node, ending at w
+	private void unpack(int u, int w, int middle, ArrayList<Integer> path) {
+		if (middle == -1) {
+			path.add(w);
+			return;
+		}
+		// the middle node is less important than both ends: u->middle is stored reversed at middle
+		// and middle->w is stored upward at middle
+		int first = findArc(downOffsets, downTargets, downWeights, middle, u);
+		int second = findArc(upOffsets, upTargets, upWeights, middle, w);
+		unpack(u, middle, downMiddles[first], path);
+		unpack(middle, w, upMiddles[second], path);
+	}
+
+	// Returns the lightest arc stored at node v leading to node w
+	private static int findArc(int[] offsets, int[] targets, double[] weights, int v, int w) {
+		int found = -1;
+		for (int a = offsets[v]; a < offsets[v+1]; a++) {
+			if (targets[a] == w && (found == -1 || weights[a] < weights[found])) found = a;
+		}
+		return found;
+	}
+
+	// Returns the node an upward arc is stored at
+	private int upSource(int a) {
+		return arcOwner(upOffsets, a);
+	}
+
+	// Returns the node a reversed downward arc is stored at
+	private int downSource(int a) {
+		return arcOwner(downOffsets, a);
+	}
+
+	// Returns the node whose range of arcs contains a
+	private static int arcOwner(int[] offsets, int a) {
+		int low = 0;
+		int high = offsets.length - 2;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (offsets[mid] <= a) low = mid;
+			else high = mid - 1;
+		}
+		return low;
+	}
+
+	// Contracts every node of the graph and stores the resulting upward and downward arcs
+	private void contract() {
+		int n = graph.size();
+		ArrayList<ArrayList<Arc>> out = new ArrayList<ArrayList<Arc>>(n);
+		ArrayList<ArrayList<Arc>> in = new ArrayList<ArrayList<Arc>>(n);
+		for (int i = 0; i < n; i++) {
+			out.add(new ArrayList<Arc>());
+			in.add(new ArrayList<Arc>());
+		}
+		for (int u = 0; u < n; u++) {
+			for (int e = graph.edgesStart(u); e < graph.edgesEnd(u); e++) {
+				if (graph.getTarget(e) != u) addArc(out, in, u, graph.getTarget(e), graph.getWeight(e), -1);
+			}
+		}
+		rank = new int[n];
+		BitSet contracted = new BitSet(n);
+		int[] deletedNeighbors = new int[n];
+		int[] level = new int[n];
+		WitnessSearch witness = new WitnessSearch(n);
+		IndexedMinHeap order = new IndexedMinHeap(n);
+		for (int v = 0; v < n; v++) {
+			order.insertOrDecrease(v, priority(v, out, in, contracted, deletedNeighbors, level, witness));
+		}
+		int next = 0;
+		while (!order.isEmpty()) {
+			int v = order.poll();
+			double priority = priority(v, out, in, contracted, deletedNeighbors, level, witness);
+			if (!order.isEmpty() && priority > order.getKey(order.peek())) { // lazily reorders stale priorities
+				order.insertOrDecrease(v, priority);
+				continue;
+			}
+			for (Arc[] shortcut : shortcuts(v, out, in, contracted, witness, CONTRACT_SETTLE_LIMIT)) {
+				addArc(out, in, shortcut[0].from, shortcut[1].to, shortcut[0].weight + shortcut[1].weight, v);
+			}
+			contracted.set(v);
+			rank[v] = next++;
+			for (Arc arc : out.get(v)) {
+				if (contracted.get(arc.to)) continue;
+				deletedNeighbors[arc.to]++;
+				level[arc.to] = Math.max(level[arc.to], level[v] + 1);
+			}
+			for (Arc arc : in.get(v)) {
+				if (contracted.get(arc.from)) continue;
+				deletedNeighbors[arc.from]++;
+				level[arc.from] = Math.max(level[arc.from], level[v] + 1);
+			}
+		}
+		storeArcs(out);
+	}
+
+	// Returns the importance of v: twice the shortcuts its contraction adds minus the arcs it
+	// removes, plus the number of neighbors already contracted and the depth of the hierarchy
+	// below v, which spread contraction evenly and keep upward searches shallow
+	private double priority(int v, ArrayList<ArrayList<Arc>> out, ArrayList<ArrayList<Arc>> in, BitSet contracted, int[] deletedNeighbors, int[] level, WitnessSearch witness) {
+		int removed = 0;
+		for (Arc arc : out.get(v)) if (!contracted.get(arc.to)) removed++;
+		for (Arc arc : in.get(v)) if (!contracted.get(arc.from)) removed++;
+		return 2*(shortcuts(v, out, in, contracted, witness, ESTIMATE_SETTLE_LIMIT).size() - removed) + deletedNeighbors[v] + level[v];
+	}
+
+	// Returns the pairs of arcs u->v, v->w that need a shortcut u->w when v is contracted
+	private ArrayList<Arc[]> shortcuts(int v, ArrayList<ArrayList<Arc>> out, ArrayList<ArrayList<Arc>> in, BitSet contracted, WitnessSearch witness, int settleLimit) {
+		ArrayList<Arc[]> needed = new ArrayList<Arc[]>();
+		double maxOut = 0;
+		for (Arc arc : out.get(v)) if (!contracted.get(arc.to)) maxOut = Math.max(maxOut, arc.weight);
+		for (Arc first : in.get(v)) {
+			int u = first.from;
+			if (contracted.get(u)) continue;
+			witness.search(u, v, first.weight + maxOut, settleLimit, out, contracted);
+			for (Arc second : out.get(v)) {
+				int w = second.to;
+				if (contracted.get(w) || w == u) continue;
+				if (witness.distance(w) > first.weight + second.weight) needed.add(new Arc[] {first, second});
+			}
+		}
+		return needed;
+	}
+
+	// Adds the arc u->w, or lowers the weight of an existing heavier arc u->w
+	private static void addArc(ArrayList<ArrayList<Arc>> out, ArrayList<ArrayList<Arc>> in, int u, int w, double weight, int middle) {
+		for (Arc arc : out.get(u)) {
+			if (arc.to == w) {
+				if (weight < arc.weight) {
+					arc.weight = weight;
+					arc.middle = middle;
+				}
+				return;
+			}
+		}
+		Arc arc = new Arc(u, w, weight, middle);
+		out.get(u).add(arc);
+		in.get(w).add(arc);
+	}
+
+	// Splits every arc into the upward and reversed downward arrays by rank
+	private void storeArcs(ArrayList<ArrayList<Arc>> out) {
+		int n = graph.size();
+		upOffsets = new int[n + 1];
+		downOffsets = new int[n + 1];
+		for (int u = 0; u < n; u++) {
+			for (Arc arc : out.get(u)) {
+				if (rank[u] < rank[arc.to]) upOffsets[u+1]++;
+				else downOffsets[arc.to+1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			upOffsets[i+1] += upOffsets[i];
+			downOffsets[i+1] += downOffsets[i];
+		}
+		upTargets = new int[upOffsets[n]];
+		upWeights = new double[upOffsets[n]];
+		upMiddles = new int[upOffsets[n]];
+		downTargets = new int[downOffsets[n]];
+		downWeights = new double[downOffsets[n]];
+		downMiddles = new int[downOffsets[n]];
+		int[] upNext = new int[n];
+		int[] downNext = new int[n];
+		for (int i = 0; i < n; i++) {
+			upNext[i] = upOffsets[i];
+			downNext[i] = downOffsets[i];
+		}
+		for (int u = 0; u < n; u++) {
+			for (Arc arc : out.get(u)) {
+				if (rank[u] < rank[arc.to]) {
+					int a = upNext[u]++;
+					upTargets[a] = arc.to;
+					upWeights[a] = arc.weight;
+					upMiddles[a] = arc.middle;
+				} else {
+					int a = downNext[arc.to]++;
+					downTargets[a] = u;
+					downWeights[a] = arc.weight;
+					downMiddles[a] = arc.middle;
+				}
+			}
+		}
+	}
+
+	// Local Dijkstra search used during contraction to look for paths that avoid the node being
+	// contracted. The arrays are reused between searches and reset through a search stamp.
+	private static class WitnessSearch {
+		private double[] distance;
+		private int[] stamp;
+		private int current;
+		private IndexedMinHeap active;
+
+		WitnessSearch(int n) {
+			distance = new double[n];
+			stamp = new int[n];
+			active = new IndexedMinHeap(n);
+		}
+
+		// Searches from u without passing through v until distances exceed limit or settleLimit
+		// nodes are settled
+		void search(int u, int v, double limit, int settleLimit, ArrayList<ArrayList<Arc>> out, BitSet contracted) {
+			current++;
+			active.clear();
+			stamp[u] = current;
+			distance[u] = 0;
+			active.insertOrDecrease(u, 0);
+			int settled = 0;
+			while (!active.isEmpty() && settled++ < settleLimit) {
+				int min = active.poll();
+				if (distance[min] > limit) break;
+				for (Arc arc : out.get(min)) {
+					if (arc.to == v || contracted.get(arc.to)) continue;
+					double d = distance[min] + arc.weight;
+					if (stamp[arc.to] != current || d < distance[arc.to]) {
+						stamp[arc.to] = current;
+						distance[arc.to] = d;
+						active.insertOrDecrease(arc.to, d);
+					}
+				}
+			}
+		}
+
+		// Returns the distance found to w by the last search, or infinity if w was not reached
+		double distance(int w) {
+			if (stamp[w] != current) return Double.POSITIVE_INFINITY;
+			return distance[w];
+		}
+	}
+
+	// Writes an int array with its length
+	private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int value : values) out.writeInt(value);
+	}
+
+	// Writes a double array with its length
+	private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+		out.writeInt(values.length);
+		for (double value : values) out.writeDouble(value);
+	}
+
+	// Reads an int array written by writeInts
+	private static int[] readInts(DataInputStream in) throws IOException {
+		int[] values = new int[in.readInt()];
+		for (int i = 0; i < values.length; i++) values[i] = in.readInt();
+		return values;
+	}
+
+	// Reads a double array written by writeDoubles
+	private static double[] readDoubles(DataInputStream in) throws IOException {
+		double[] values = new double[in.readInt()];
+		for (int i = 0; i < values.length; i++) values[i] = in.readDouble();
+		return values;
+	}
+}
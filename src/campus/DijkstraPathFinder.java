@@ -0,0 +1,230 @@
+package campus;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import graph.FrozenGraph;
+import graph.IndexedMinHeap;
+
+//	DijkstraPathFinder is not an ADT; therefore it does not need an abstraction function nor
+//	representation invariant. DijkstraPathFinder searches a FrozenGraph snapshot of the campus and
+//	answers minimum-cost path queries with Dijkstra's algorithm using per-node distance and
+//	predecessor arrays, an IndexedMinHeap with decrease-key, and a BitSet of settled nodes. The
+//	path is only rebuilt once the destination is settled. Each node's edges are stored sorted by
+//	weight, then child label, so ties are broken the same way as the original CampusWrapper search.
+//	The arrays, BitSet and heap of a query are kept per thread and reused by the next query on that
+//	thread, so a query only allocates its Route.
+
+public class DijkstraPathFinder implements PathFinder {
+	private FrozenGraph<String> graph;
+	private final ThreadLocal<Workspace> workspaces;
+	
+	// The search state of one thread, sized for the graph
+	private static class Workspace {
+		private final double[] distance;
+		private final int[] previous;
+		private final int[] previousEdge;
+		private final BitSet settled;
+		private final IndexedMinHeap active;
+		
+		Workspace(int n) {
+			distance = new double[n];
+			previous = new int[n];
+			previousEdge = new int[n];
+			settled = new BitSet(n);
+			active = new IndexedMinHeap(n);
+		}
+	}
+
+	/**
+	 * Creates a DijkstraPathFinder object for a given graph
+	 *
+	 * @param graph The snapshot of the graph to be searched, with each node's edges sorted by
+	 * weight, then child label
+	 * @requires graph != null
+	 * @effects Creates a DijkstraPathFinder object that searches graph
+	 */
+	public DijkstraPathFinder(FrozenGraph<String> graph) {
+		this.graph = graph;
+		this.workspaces = ThreadLocal.withInitial(() -> new Workspace(graph.size()));
+	}
+
+	/**
+	 * Tries to find a minimum-cost path from source to target using Dijkstra's algorithm
+	 *
+	 * @param source The node index of the start
+	 * @param target The node index of the destination
+	 * @requires 0 <= source, target < graph.size()
+	 * @return an OK route from source to target, or a NO_PATH route if there is no path
+	 */
+	@Override
+	public Route findRoute(int source, int target) {
+		Workspace w = workspaces.get();
+		w.settled.clear();
+		w.active.clear();
+		if (search(graph, source, target, w.distance, w.previous, w.previousEdge, w.settled, w.active)) return buildRoute(graph, source, target, w.distance, w.previous, w.previousEdge);
+		// returns no path
+		return Route.noPath(graph.getLabel(source), graph.getLabel(target));
+	}
+
+	/**
+	 * Tries to find a minimum-cost path between two virtual nodes that are not in the graph: a start
+	 * joined by an edge of cost sourceCosts[i] to each node sources[i], and an end joined from each
+	 * node targets[j] by an edge of cost targetCosts[j]. The graph is not modified, so points in the
+	 * middle of edges are routed from without adding nodes that other queries would see.
+	 *
+	 * @param sources The node indices the virtual start is joined to
+	 * @param sourceCosts The cost of each edge from the virtual start
+	 * @param targets The node indices joined to the virtual end
+	 * @param targetCosts The cost of each edge to the virtual end
+	 * @param cost The array to store the total cost of the path in, including both virtual edges
+	 * @requires sources.length == sourceCosts.length && targets.length == targetCosts.length &&
+	 * every index is a node of the graph && every cost >= 0 && cost.length >= 1
+	 * @modifies cost
+	 * @return the node indices of the path from a source to a target, or null if there is no path,
+	 * in which case cost[0] is infinity
+	 */
+	public int[] findPath(int[] sources, double[] sourceCosts, int[] targets, double[] targetCosts, double[] cost) {
+		Workspace w = workspaces.get();
+		w.settled.clear();
+		w.active.clear();
+		Arrays.fill(w.distance, Double.POSITIVE_INFINITY);
+		Arrays.fill(w.previous, -1);
+		for (int i = 0; i < sources.length; i++) { // the edges of the virtual start
+			if (w.active.insertOrDecrease(sources[i], sourceCosts[i])) w.distance[sources[i]] = sourceCosts[i];
+		}
+		double best = Double.POSITIVE_INFINITY;
+		int bestTarget = -1;
+		while (!w.active.isEmpty()) {
+			int min = w.active.poll();
+			if (w.distance[min] >= best) break; // the virtual end is settled
+			w.settled.set(min);
+			for (int j = 0; j < targets.length; j++) { // the edges to the virtual end
+				if (targets[j] == min && w.distance[min] + targetCosts[j] < best) {
+					best = w.distance[min] + targetCosts[j];
+					bestTarget = min;
+				}
+			}
+			for (int e = graph.edgesStart(min); e < graph.edgesEnd(min); e++) {
+				int child = graph.getTarget(e);
+				if (w.settled.get(child)) continue;
+				if (w.active.insertOrDecrease(child, w.distance[min] + graph.getWeight(e))) {
+					w.distance[child] = w.distance[min] + graph.getWeight(e);
+					w.previous[child] = min;
+				}
+			}
+		}
+		cost[0] = best;
+		if (bestTarget == -1) return null;
+		int length = 1;
+		for (int i = bestTarget; w.previous[i] != -1; i = w.previous[i]) length++;
+		int[] path = new int[length];
+		for (int i = bestTarget; length > 0; i = w.previous[i]) path[--length] = i;
+		return path;
+	}
+
+	/**
+	 * Fills in the complete shortest-path tree from source, with the same tie-breaks as findRoute
+	 *
+	 * @param source The node index to start from
+	 * @param distance The array to store the minimum cost to each node index in
+	 * @param previous The array to store the predecessor of each node index in
+	 * @requires 0 <= source < graph.size() && distance.length == previous.length == graph.size()
+	 * @modifies distance, previous
+	 * @effects Sets distance to infinity and previous to -1 for nodes that cannot be reached, and
+	 * previous[source] to -1
+	 */
+	public void shortestPathTree(int source, double[] distance, int[] previous) {
+		shortestPathTree(source, distance, previous, workspaces.get().previousEdge);
+	}
+
+	/**
+	 * Fills in the complete shortest-path tree from source with the edge taken to each node, with
+	 * the same tie-breaks as findRoute
+	 *
+	 * @param source The node index to start from
+	 * @param distance The array to store the minimum cost to each node index in
+	 * @param previous The array to store the predecessor of each node index in
+	 * @param previousEdge The array to store the index of the edge from the predecessor of each
+	 * node index in
+	 * @requires 0 <= source < graph.size() &&
+	 * distance.length == previous.length == previousEdge.length == graph.size()
+	 * @modifies distance, previous, previousEdge
+	 * @effects Sets distance to infinity and previous and previousEdge to -1 for nodes that cannot
+	 * be reached, and previous[source] and previousEdge[source] to -1
+	 */
+	public void shortestPathTree(int source, double[] distance, int[] previous, int[] previousEdge) {
+		Workspace w = workspaces.get();
+		w.settled.clear();
+		w.active.clear();
+		search(graph, source, -1, distance, previous, previousEdge, w.settled, w.active);
+	}
+
+	/**
+	 * Returns the minimum cost from source to every node of a graph using Dijkstra's algorithm
+	 *
+	 * @param graph The snapshot of the graph to be searched
+	 * @param source The node index to start from
+	 * @requires graph != null && 0 <= source < graph.size()
+	 * @return the minimum cost to each node index, or infinity for nodes that cannot be reached
+	 */
+	public static double[] distancesFrom(FrozenGraph<?> graph, int source) {
+		double[] distance = new double[graph.size()];
+		search(graph, source, -1, distance, new int[graph.size()], new int[graph.size()], new BitSet(graph.size()), new IndexedMinHeap(graph.size()));
+		return distance;
+	}
+
+	// Runs Dijkstra's algorithm from source until target is settled, or over the whole graph if
+	// target is -1, and returns true if and if only target was reached or no target was given.
+	// previousEdge records the edge each predecessor was relaxed along. settled and active must
+	// be empty.
+	private static boolean search(FrozenGraph<?> graph, int source, int target, double[] distance, int[] previous, int[] previousEdge, BitSet settled, IndexedMinHeap active) {
+		Arrays.fill(distance, Double.POSITIVE_INFINITY);
+		Arrays.fill(previous, -1);
+		Arrays.fill(previousEdge, -1);
+		distance[source] = 0;
+		active.insertOrDecrease(source, 0);
+		while (!active.isEmpty()) {
+			int min = active.poll();
+			if (min == target) return true;
+			settled.set(min);
+			// loops for each edge <min,child> in order of weight, then child label
+			for (int e = graph.edgesStart(min); e < graph.edgesEnd(min); e++) {
+				int child = graph.getTarget(e);
+				if (settled.get(child)) continue;
+				if (active.insertOrDecrease(child, distance[min] + graph.getWeight(e))) {
+					distance[child] = distance[min] + graph.getWeight(e);
+					previous[child] = min;
+					previousEdge[child] = e;
+				}
+			}
+		}
+		return target == -1;
+	}
+
+	/**
+	 * Walks the predecessors of a shortest-path tree from target back to source
+	 *
+	 * @param graph The graph the tree was found in
+	 * @param source The node index the tree was searched from
+	 * @param target The node index of the destination
+	 * @param distance The minimum cost to each node index
+	 * @param previous The predecessor of each node index
+	 * @param previousEdge The index of the edge from the predecessor of each node index
+	 * @requires target was reached from source
+	 * @return the route from source to target with the tree's cost and edge at every node
+	 */
+	static Route buildRoute(FrozenGraph<String> graph, int source, int target, double[] distance, int[] previous, int[] previousEdge) {
+		int length = 1;
+		for (int i = target; i != source; i = previous[i]) length++;
+		int[] path = new int[length];
+		int[] edges = new int[length];
+		double[] distances = new double[length];
+		for (int i = target; length > 0; i = previous[i]) {
+			path[--length] = i;
+			edges[length] = i == source ? -1 : previousEdge[i];
+			distances[length] = distance[i];
+		}
+		return Route.found(graph, path, edges, distances);
+	}
+}
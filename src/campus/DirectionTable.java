@@ -0,0 +1,81 @@
+package campus;
+
+import graph.FrozenGraph;
+
+//	DirectionTable is not an ADT; therefore it does not need an abstraction function nor
+//	representation invariant. DirectionTable stores the compass octant of every directed edge of a
+//	campus graph in one byte, computed once when the graph is loaded since pathways never move. An
+//	itinerary then reads the direction of each step from the table instead of computing atan2 from
+//	the coordinates, and every direction is one of eight shared strings.
+
+public class DirectionTable {
+	private FrozenGraph<String> graph;
+	private byte[] octants;
+	private CampusLocations locations;
+
+	/**
+	 * Creates a DirectionTable object for every edge of a graph
+	 *
+	 * @param graph The campus graph
+	 * @param locations The campus locations, whose location indices are the node indices of graph
+	 * @requires graph != null && locations != null
+	 * @effects Creates a DirectionTable with the octant of every edge of graph
+	 */
+	public DirectionTable(FrozenGraph<String> graph, CampusLocations locations) {
+		this.graph = graph;
+		this.locations = locations;
+		octants = new byte[graph.edgeCount()];
+		for (int i = 0; i < graph.size(); i++) {
+			for (int e = graph.edgesStart(i); e < graph.edgesEnd(i); e++) {
+				int j = graph.getTarget(e);
+				octants[e] = (byte) CampusLocations.octant(locations.getX(i), locations.getY(i), locations.getX(j), locations.getY(j));
+			}
+		}
+	}
+
+	/**
+	 * Returns the compass octant walked along an edge
+	 *
+	 * @param edge An edge index of the graph
+	 * @return the octant of the edge, 0 being North and counting clockwise to 7 being NorthWest
+	 */
+	public int getOctant(int edge) {
+		return octants[edge];
+	}
+
+	/**
+	 * Returns the direction walked along an edge, as on every step of a route
+	 *
+	 * @param edge An edge index of the graph, such as Route.getEdge
+	 * @return the direction of the edge, such as "North" or "SouthEast"
+	 */
+	public String getDirection(int edge) {
+		return CampusLocations.DIRECTIONS[octants[edge]];
+	}
+
+	/**
+	 * Returns the direction walked from node i to node j, reading the table if there is an edge
+	 * between them. This scans the edges of i, so callers that know the edge walked use
+	 * getDirection(edge) instead.
+	 *
+	 * @param i The node index walked from
+	 * @param j The node index walked to
+	 * @requires 0 <= i, j < the size of the graph
+	 * @return the direction one must travel to reach node j from node i
+	 */
+	public String getDirection(int i, int j) {
+		for (int e = graph.edgesStart(i); e < graph.edgesEnd(i); e++) {
+			if (graph.getTarget(e) == j) return CampusLocations.DIRECTIONS[octants[e]];
+		}
+		return locations.getDirection(i, j);
+	}
+
+	/**
+	 * Returns the heap size of the table
+	 *
+	 * @return the number of bytes used by the stored octants
+	 */
+	public long memoryBytes() {
+		return octants.length;
+	}
+}
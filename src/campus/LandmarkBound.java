@@ -0,0 +1,101 @@
+package campus;
+
+import java.util.Arrays;
+
+import graph.FrozenGraph;
+
+//	LandmarkBound is not an ADT; therefore it does not need an abstraction function nor
+//	representation invariant. LandmarkBound picks k landmark nodes and stores the minimum cost from
+//	and to every landmark for every node. By the triangle inequality, for any landmark L the cost
+//	from u to t is at least d(L,t) - d(L,u) and at least d(u,L) - d(t,L), and the largest of these
+//	is a consistent lower bound. Unlike the straight-line distance it stays valid when pathway
+//	weights are penalised or pathways are closed, as long as the distances are recomputed. The
+//	landmarks are chosen from the candidates by farthest-point selection, which favours nodes on
+//	the edge of the map.
+
+public class LandmarkBound implements LowerBound {
+	private int[] landmarks;
+	// Costs stored node-major so both lookups for a node are adjacent: [v*count + l]
+	private double[] fromLandmark;
+	private double[] toLandmark;
+
+	/**
+	 * Creates a LandmarkBound object by choosing landmarks and computing their distances
+	 *
+	 * @param graph The snapshot of the graph to be searched
+	 * @param candidates The node indices landmarks may be chosen from
+	 * @param k The number of landmarks to choose
+	 * @requires graph != null && candidates != null && k >= 0 && no edge weight is negative
+	 * @effects Creates a LandmarkBound object with min(k, candidates.length) landmarks
+	 */
+	public LandmarkBound(FrozenGraph<String> graph, int[] candidates, int k) {
+		int n = graph.size();
+		int count = Math.min(k, candidates.length);
+		FrozenGraph<String> backward = graph.reverse();
+		landmarks = new int[count];
+		fromLandmark = new double[n * count];
+		toLandmark = new double[n * count];
+		double[] closest = new double[n]; // distance from the nearest chosen landmark
+		Arrays.fill(closest, Double.POSITIVE_INFINITY);
+		double[] start = count == 0 ? null : DijkstraPathFinder.distancesFrom(graph, candidates[0]);
+		for (int l = 0; l < count; l++) {
+			// chooses the reachable candidate farthest from the chosen landmarks, or from the first
+			// candidate when no landmark has been chosen yet
+			double[] reference = l == 0 ? start : closest;
+			int landmark = candidates[0];
+			double farthest = -1;
+			for (int c : candidates) {
+				if (start[c] != Double.POSITIVE_INFINITY && reference[c] > farthest) {
+					farthest = reference[c];
+					landmark = c;
+				}
+			}
+			landmarks[l] = landmark;
+			double[] from = DijkstraPathFinder.distancesFrom(graph, landmark);
+			double[] to = DijkstraPathFinder.distancesFrom(backward, landmark);
+			for (int v = 0; v < n; v++) {
+				fromLandmark[v*count + l] = from[v];
+				toLandmark[v*count + l] = to[v];
+				closest[v] = Math.min(closest[v], from[v]);
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return The node indices of the chosen landmarks
+	 */
+	public int[] getLandmarks() { return Arrays.copyOf(landmarks, landmarks.length); }
+
+	/**
+	 * Returns the approximate heap size of the landmark distance tables
+	 *
+	 * @return the number of bytes used by the stored distances and landmarks
+	 */
+	public long memoryBytes() {
+		return 8L * (fromLandmark.length + toLandmark.length) + 4L * landmarks.length;
+	}
+
+	/**
+	 * Returns the largest triangle inequality bound over every landmark
+	 *
+	 * @param from The node index the path starts at
+	 * @param to The node index the path ends at
+	 * @return a lower bound on the cost from 'from' to 'to'
+	 */
+	@Override
+	public double estimate(int from, int to) {
+		int count = landmarks.length;
+		int f = from * count;
+		int t = to * count;
+		double best = 0;
+		for (int l = 0; l < count; l++) {
+			double fromL = fromLandmark[t+l] - fromLandmark[f+l];
+			double toL = toLandmark[f+l] - toLandmark[t+l];
+			// infinite costs mean the landmark is in another component, where it gives no bound
+			if (fromL > best && fromLandmark[t+l] != Double.POSITIVE_INFINITY) best = fromL;
+			if (toL > best && toLandmark[f+l] != Double.POSITIVE_INFINITY) best = toL;
+		}
+		return best;
+	}
+}
@@ -0,0 +1,18 @@
+package campus;
+
+//	LowerBound is the interface for the heuristics that guide BidirectionalAStarPathFinder. An
+//	estimate must never exceed the true minimum cost between two nodes, and must be consistent:
+//	estimate(u, t) <= weight(u, v) + estimate(v, t) for every edge u->v, and likewise from the
+//	start, so that nodes never need to be settled twice.
+
+public interface LowerBound {
+	
+	/**
+	 * Returns a lower bound on the minimum cost from node 'from' to node 'to'
+	 *
+	 * @param from The node index the path starts at
+	 * @param to The node index the path ends at
+	 * @return a value no greater than the cost of any path from 'from' to 'to'
+	 */
+	public double estimate(int from, int to);
+}
@@ -0,0 +1,19 @@
+package campus;
+
+//	PathFinder is the interface implemented by every campus search engine. Each engine is built
+//	once per loaded graph by CampusWrapper and answers minimum-cost path queries between nodes
+//	that are known to exist, leaving input validation to CampusWrapper. Queries take and return
+//	node indices of the engine's FrozenGraph snapshot, so no ids are looked up or formatted.
+
+public interface PathFinder {
+	
+	/**
+	 * Tries to find a minimum-cost path from source to target
+	 *
+	 * @param source The node index of the start
+	 * @param target The node index of the destination
+	 * @requires 0 <= source, target < the size of the searched graph
+	 * @return an OK route from source to target, or a NO_PATH route if there is no path
+	 */
+	public Route findRoute(int source, int target);
+}
@@ -0,0 +1,85 @@
+package campus;
+
+public final class PathwayPoint {
+	private final int from;
+	private final int to;
+	private final double fraction;
+	private final double x;
+	private final double y;
+	private final double offset;
+
+	//	Abstraction Function:
+	//		A PathwayPoint is an immutable point (x, y) on the pathway segment between the nodes with
+	//		indices from and to, a fraction of the way from node from to node to. It is the point of
+	//		the segment nearest to a queried point, which lies offset away from it.
+	//
+	//	Representation Invariant for every PathwayPoint p:
+	//		0 <= fraction <= 1 && offset >= 0
+
+	/**
+	 * Creates a PathwayPoint object
+	 *
+	 * @param from The node index at one end of the segment
+	 * @param to The node index at the other end of the segment
+	 * @param fraction How far the point is along the segment, 0 being from and 1 being to
+	 * @param x The x coordinate of the point
+	 * @param y The y coordinate of the point
+	 * @param offset The distance from the queried point to the point
+	 * @requires 0 <= fraction <= 1 && offset >= 0
+	 * @effects Creates a PathwayPoint object
+	 */
+	public PathwayPoint(int from, int to, double fraction, double x, double y, double offset) {
+		this.from = from;
+		this.to = to;
+		this.fraction = fraction;
+		this.x = x;
+		this.y = y;
+		this.offset = offset;
+		checkRep();
+	}
+
+	/**
+	 *
+	 * @return The node index at the start of the segment
+	 */
+	public int getFrom() { return from; }
+
+	/**
+	 *
+	 * @return The node index at the end of the segment
+	 */
+	public int getTo() { return to; }
+
+	/**
+	 *
+	 * @return How far the point is along the segment, 0 being getFrom() and 1 being getTo()
+	 */
+	public double getFraction() { return fraction; }
+
+	/**
+	 *
+	 * @return The x coordinate of the point
+	 */
+	public double getX() { return x; }
+
+	/**
+	 *
+	 * @return The y coordinate of the point
+	 */
+	public double getY() { return y; }
+
+	/**
+	 *
+	 * @return The distance from the queried point to the point
+	 */
+	public double getOffset() { return offset; }
+
+	/**
+	 * Checks that the representation invariant holds (if any).
+	 **/
+	// Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (!(0 <= fraction && fraction <= 1)) throw new RuntimeException("A point must lie on its segment");
+		if (!(offset >= 0)) throw new RuntimeException("The offset must not be negative");
+	}
+}
@@ -0,0 +1,88 @@
+package campus;
+
+public final class PointRoute {
+	private final PathwayPoint start;
+	private final PathwayPoint end;
+	private final int[] nodes;
+	private final double distance;
+
+	//	Abstraction Function:
+	//		A PointRoute is the immutable result of a minimum-cost path query between two points
+	//		snapped onto pathways. If distance is finite, the path walks from start along its segment
+	//		to nodes[0], through the graph to nodes[k-1], then along the segment of end to end, at a
+	//		total cost of distance. If nodes is empty, the path walks directly along the one segment
+	//		that holds both points. If distance is infinite, there is no path.
+	//
+	//	Representation Invariant for every PointRoute r:
+	//		start != null && end != null && nodes != null && distance >= 0
+	//		distance is infinite implies nodes.length == 0
+
+	/**
+	 * Creates a PointRoute object
+	 *
+	 * @param start The snapped start of the route
+	 * @param end The snapped destination of the route
+	 * @param nodes The node indices walked through between the two segments, which are not copied
+	 * @param distance The total cost of the path, or infinity if there is no path
+	 * @requires start != null && end != null && nodes != null && distance >= 0
+	 * @effects Creates a PointRoute object
+	 */
+	PointRoute(PathwayPoint start, PathwayPoint end, int[] nodes, double distance) {
+		this.start = start;
+		this.end = end;
+		this.nodes = nodes;
+		this.distance = distance;
+		checkRep();
+	}
+
+	/**
+	 *
+	 * @return Whether a path was found
+	 */
+	public boolean isFound() { return distance != Double.POSITIVE_INFINITY; }
+
+	/**
+	 *
+	 * @return The snapped start of the route
+	 */
+	public PathwayPoint getStart() { return start; }
+
+	/**
+	 *
+	 * @return The snapped destination of the route
+	 */
+	public PathwayPoint getEnd() { return end; }
+
+	/**
+	 *
+	 * @return The number of graph nodes walked through, or 0 if there is no path or the path stays
+	 * on one segment
+	 */
+	public int size() { return nodes.length; }
+
+	/**
+	 * Returns the snapshot index of a node walked through
+	 *
+	 * @param i The position on the path, 0 being the node nearest to the start
+	 * @requires 0 <= i < size()
+	 * @return the index of the i-th node in the snapshot the route was found in
+	 */
+	public int getNode(int i) { return nodes[i]; }
+
+	/**
+	 *
+	 * @return The total cost of the path from the snapped start to the snapped destination, or
+	 * infinity if there is no path
+	 */
+	public double getTotalDistance() { return distance; }
+
+	/**
+	 * Checks that the representation invariant holds (if any).
+	 **/
+	// Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (start == null || end == null || nodes == null) throw new RuntimeException("Route fields must not be null");
+		if (!(distance >= 0)) throw new RuntimeException("The distance must not be negative");
+		if (distance == Double.POSITIVE_INFINITY && nodes.length != 0) throw new RuntimeException("A route without a path has no nodes");
+	}
+}
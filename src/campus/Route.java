@@ -0,0 +1,277 @@
+package campus;
+
+import java.util.Arrays;
+
+import graph.FrozenGraph;
+
+public final class Route {
+
+	/**
+	 * The outcome of a route query
+	 */
+	public enum Status {
+		/** A minimum-cost path was found */
+		OK,
+		/** The start is not a node of the graph, or is an unnamed building */
+		UNKNOWN_START,
+		/** The destination is not a node of the graph, or is an unnamed building */
+		UNKNOWN_END,
+		/** Both nodes exist but the destination cannot be reached from the start */
+		NO_PATH
+	}
+
+	private final Status status;
+	private final String start;
+	private final String end;
+	private final String[] unknown;
+	private final FrozenGraph<String> graph;
+	private final int[] nodes;
+	private final int[] edges;
+	private final double[] distances;
+
+	//	Abstraction Function:
+	//		A Route is the immutable result of a minimum-cost path query from start to end, whose
+	//		outcome is status. If status is OK, the path of k = nodes.length nodes visits
+	//		graph.getLabel(nodes[0]) = start, ..., graph.getLabel(nodes[k-1]) = end, walking the edge
+	//		with index edges[i] of graph from nodes[i-1] to nodes[i] for every 0 < i < k, and
+	//		distances[i] is the cost of the path from start to nodes[i]. If status is UNKNOWN_START or
+	//		UNKNOWN_END, unknown lists the invalid ids in the order they were given. If status is
+	//		NO_PATH, both ids are nodes but end cannot be reached from start. A route that is not OK
+	//		has no nodes, edges or distances.
+	//
+	//	Representation Invariant for every Route r:
+	//		status, start, end, unknown, nodes, edges and distances are not null
+	//		nodes.length == edges.length == distances.length
+	//		if status == OK:
+	//			graph != null && nodes.length >= 1 && distances[0] == 0 && edges[0] == -1
+	//			for all 0 < i < nodes.length:
+	//				graph.edgesStart(nodes[i-1]) <= edges[i] < graph.edgesEnd(nodes[i-1])
+	//				graph.getTarget(edges[i]) == nodes[i] && distances[i-1] <= distances[i]
+	//		else:
+	//			nodes.length == 0
+	//		unknown.length > 0 if and if only status is UNKNOWN_START or UNKNOWN_END
+
+	// Creates a Route with the given fields, which are not copied
+	private Route(Status status, String start, String end, String[] unknown, FrozenGraph<String> graph, int[] nodes, int[] edges, double[] distances) {
+		this.status = status;
+		this.start = start;
+		this.end = end;
+		this.unknown = unknown;
+		this.graph = graph;
+		this.nodes = nodes;
+		this.edges = edges;
+		this.distances = distances;
+		checkRep();
+	}
+
+	/**
+	 * Returns the route along found nodes and the edges the search took between them, with the
+	 * given costs
+	 *
+	 * @param graph The graph the path was found in
+	 * @param nodes The node indices of the path, including the start and destination
+	 * @param edges The edge index walked to each node of the path, -1 for the start
+	 * @param distances The cost from the start to each node of the path
+	 * @requires graph != null && nodes.length == edges.length == distances.length >= 1 &&
+	 * edges[0] == -1 && distances[0] == 0
+	 * @return an OK route, which keeps the three arrays
+	 */
+	static Route found(FrozenGraph<String> graph, int[] nodes, int[] edges, double[] distances) {
+		return new Route(Status.OK, graph.getLabel(nodes[0]), graph.getLabel(nodes[nodes.length-1]), new String[0], graph, nodes, edges, distances);
+	}
+
+	/**
+	 * Returns the route along found nodes, walking the lightest edge of each hop and summing
+	 * their weights from the start in the same order as Dijkstra's algorithm. Searches that know
+	 * the edges they took use the other found instead.
+	 *
+	 * @param graph The graph the path was found in
+	 * @param nodes The node indices of the path, including the start and destination
+	 * @requires graph != null && nodes.length >= 1 && every hop is an edge of graph
+	 * @return an OK route, which keeps nodes
+	 */
+	static Route found(FrozenGraph<String> graph, int[] nodes) {
+		int[] edges = new int[nodes.length];
+		double[] distances = new double[nodes.length];
+		edges[0] = -1;
+		for (int i = 1; i < nodes.length; i++) {
+			edges[i] = lightestEdge(graph, nodes[i-1], nodes[i]);
+			distances[i] = distances[i-1] + graph.getWeight(edges[i]);
+		}
+		return found(graph, nodes, edges, distances);
+	}
+
+	// Returns the index of the lightest edge from node i to node j, the first of those as light
+	private static int lightestEdge(FrozenGraph<String> graph, int i, int j) {
+		int lightest = -1;
+		for (int e = graph.edgesStart(i); e < graph.edgesEnd(i); e++) {
+			if (graph.getTarget(e) == j && (lightest == -1 || graph.getWeight(e) < graph.getWeight(lightest))) lightest = e;
+		}
+		return lightest;
+	}
+
+	/**
+	 * Returns the route between two nodes that are not connected
+	 *
+	 * @param start The start node
+	 * @param end The destination node
+	 * @requires start != null && end != null
+	 * @return a NO_PATH route
+	 */
+	static Route noPath(String start, String end) {
+		return new Route(Status.NO_PATH, start, end, new String[0], null, new int[0], new int[0], new double[0]);
+	}
+
+	/**
+	 * Returns the route for a query with an invalid start or destination
+	 *
+	 * @param start The start node
+	 * @param end The destination node
+	 * @param startKnown Whether start is valid
+	 * @param endKnown Whether end is valid
+	 * @requires start != null && end != null && !(startKnown && endKnown)
+	 * @return an UNKNOWN_START route if start is invalid, or an UNKNOWN_END route otherwise
+	 */
+	static Route unknown(String start, String end, boolean startKnown, boolean endKnown) {
+		String[] ids;
+		if (!startKnown && !endKnown) ids = new String[] {start, end};
+		else if (!startKnown) ids = new String[] {start};
+		else ids = new String[] {end};
+		return new Route(startKnown ? Status.UNKNOWN_END : Status.UNKNOWN_START, start, end, ids, null, new int[0], new int[0], new double[0]);
+	}
+
+	/**
+	 *
+	 * @return The outcome of the query
+	 */
+	public Status getStatus() { return status; }
+
+	/**
+	 *
+	 * @return The start node of the query
+	 */
+	public String getStart() { return start; }
+
+	/**
+	 *
+	 * @return The destination node of the query
+	 */
+	public String getEnd() { return end; }
+
+	/**
+	 *
+	 * @return The invalid ids of the query, the start before the destination
+	 */
+	public String[] getUnknownIds() { return Arrays.copyOf(unknown, unknown.length); }
+
+	/**
+	 *
+	 * @return The number of nodes on the path, including the start, or 0 if the status is not OK
+	 */
+	public int size() { return nodes.length; }
+
+	/**
+	 * Returns the snapshot index of a node on the path
+	 *
+	 * @param i The position on the path, 0 being the start
+	 * @requires 0 <= i < size()
+	 * @return the index of the i-th node in the snapshot the route was found in
+	 */
+	public int getNode(int i) { return nodes[i]; }
+
+	/**
+	 * Returns the snapshot index of the edge walked to a node on the path
+	 *
+	 * @param i The position on the path, 0 being the start
+	 * @requires 1 <= i < size()
+	 * @return the index of the edge from the (i-1)-th to the i-th node in the snapshot the route
+	 * was found in
+	 */
+	public int getEdge(int i) { return edges[i]; }
+
+	/**
+	 * Returns the id of a node on the path
+	 *
+	 * @param i The position on the path, 0 being the start
+	 * @requires 0 <= i < size()
+	 * @return the id of the i-th node
+	 */
+	public String getId(int i) { return graph.getLabel(nodes[i]); }
+
+	/**
+	 * Returns the cost of the path from the start to a node on the path
+	 *
+	 * @param i The position on the path, 0 being the start
+	 * @requires 0 <= i < size()
+	 * @return the cumulative cost at the i-th node
+	 */
+	public double getDistance(int i) { return distances[i]; }
+
+	/**
+	 *
+	 * @return The total cost of the path, or NaN if the status is not OK
+	 */
+	public double getTotalDistance() {
+		if (status != Status.OK) return Double.NaN;
+		return distances[distances.length-1];
+	}
+
+	/**
+	 * Returns the same route walked from the destination back to the start, which is a
+	 * minimum-cost path when every edge has a reverse edge of the same weight. Each hop walks the
+	 * lightest reverse edge.
+	 *
+	 * @return a route from end to start with the same total cost
+	 */
+	public Route reverse() {
+		if (status == Status.NO_PATH) return noPath(end, start);
+		if (status != Status.OK) return this; // the ids stay in the order they were given
+		int k = nodes.length;
+		int[] reversed = new int[k];
+		int[] reversedEdges = new int[k];
+		double[] reversedDistances = new double[k];
+		double total = distances[k-1];
+		for (int i = 0; i < k; i++) {
+			reversed[i] = nodes[k-1-i];
+			reversedEdges[i] = i == 0 ? -1 : lightestEdge(graph, reversed[i-1], reversed[i]);
+			reversedDistances[i] = total - distances[k-1-i];
+		}
+		return found(graph, reversed, reversedEdges, reversedDistances);
+	}
+
+	/**
+	 * Formats the route the way CampusWrapper.findPath returns it
+	 *
+	 * @return "id,...,cost" with the ids excluding the start if the status is OK, ",id" for each
+	 * invalid id, or an empty string if there is no path
+	 */
+	public String format() {
+		StringBuilder path_string = new StringBuilder();
+		if (status == Status.NO_PATH) return "";
+		if (status != Status.OK) {
+			for (String id : unknown) path_string.append(',').append(id);
+			return path_string.toString();
+		}
+		for (int i = 1; i < nodes.length; i++) path_string.append(graph.getLabel(nodes[i])).append(',');
+		return path_string.append(String.format("%.3f",getTotalDistance())).toString();
+	}
+
+    /**
+     * Checks that the representation invariant holds (if any).
+     **/
+    // Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (status == null || start == null || end == null || unknown == null) throw new RuntimeException("Route fields must not be null");
+		if (nodes == null || edges == null || distances == null) throw new RuntimeException("Route arrays must not be null");
+		if (nodes.length != distances.length || nodes.length != edges.length) throw new RuntimeException("Every node must have a distance and an edge");
+		if (status == Status.OK) {
+			if (graph == null || nodes.length == 0 || distances[0] != 0) throw new RuntimeException("A found route must start at cost 0");
+			if (edges[0] != -1) throw new RuntimeException("No edge is walked to the start");
+			for (int i = 1; i < distances.length; i++) {
+				if (edges[i] < graph.edgesStart(nodes[i-1]) || edges[i] >= graph.edgesEnd(nodes[i-1]) || graph.getTarget(edges[i]) != nodes[i]) throw new RuntimeException("Every hop must walk an edge between its nodes");
+				if (distances[i-1] > distances[i]) throw new RuntimeException("Distances must not decrease");
+			}
+		} else if (nodes.length != 0) throw new RuntimeException("Only a found route has nodes");
+		if ((unknown.length > 0) != (status == Status.UNKNOWN_START || status == Status.UNKNOWN_END)) throw new RuntimeException("Unknown ids must match the status");
+	}
+}
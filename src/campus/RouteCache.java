@@ -0,0 +1,130 @@
+package campus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//	RouteCache is not an ADT; therefore it does not need an abstraction function nor
+//	representation invariant. RouteCache is a size-bounded, least-recently-used cache of found
+//	routes keyed by the (id1, id2) pair. Because campus pathways are undirected, a route
+//	cached for (id2, id1) also answers (id1, id2) by reversing it. Every method is synchronized so
+//	one cache can be shared by concurrent queries, and hit, miss and eviction counters are kept
+//	for monitoring.
+
+public class RouteCache {
+	private final int capacity;
+	private final LinkedHashMap<String,Route> routes;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long generation;
+
+	/**
+	 * Creates a RouteCache object
+	 *
+	 * @param capacity The largest number of routes kept
+	 * @requires capacity > 0
+	 * @effects Creates an empty RouteCache that keeps at most capacity routes
+	 */
+	public RouteCache(int capacity) {
+		this.capacity = capacity;
+		this.routes = new LinkedHashMap<String,Route>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String,Route> eldest) {
+				if (size() > RouteCache.this.capacity) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached route from id1 to id2, reversing a cached route from id2 to id1 if needed
+	 *
+	 * @param id1 The start node
+	 * @param id2 The destination node
+	 * @requires id1 != null && id2 != null
+	 * @modifies hits, misses
+	 * @return the cached route, or null if neither direction is cached
+	 */
+	public synchronized Route get(String id1, String id2) {
+		Route route = routes.get(key(id1, id2));
+		if (route == null) {
+			Route reverse = routes.get(key(id2, id1));
+			if (reverse != null) route = reverse.reverse();
+		}
+		if (route == null) misses++;
+		else hits++;
+		return route;
+	}
+
+	/**
+	 * Caches the route from id1 to id2, evicting the least recently used route if the cache is
+	 * full. The route is dropped if the cache was cleared since the search started, so a search
+	 * on an old graph cannot fill the cache of a new one.
+	 *
+	 * @param id1 The start node
+	 * @param id2 The destination node
+	 * @param route The route found from id1 to id2
+	 * @param generation The value of getGeneration() when the search started
+	 * @requires id1 != null && id2 != null && route != null
+	 * @modifies routes, evictions
+	 */
+	public synchronized void put(String id1, String id2, Route route, long generation) {
+		if (generation == this.generation) routes.put(key(id1, id2), route);
+	}
+
+	/**
+	 * Removes every cached route, keeping the counters
+	 *
+	 * @modifies routes, generation
+	 */
+	public synchronized void clear() {
+		routes.clear();
+		generation++;
+	}
+
+	/**
+	 *
+	 * @return The number of times the cache has been cleared
+	 */
+	public synchronized long getGeneration() { return generation; }
+
+	/**
+	 *
+	 * @return The number of cached routes
+	 */
+	public synchronized int size() { return routes.size(); }
+
+	/**
+	 *
+	 * @return The largest number of routes kept
+	 */
+	public int getCapacity() { return capacity; }
+
+	/**
+	 *
+	 * @return The number of lookups answered from the cache
+	 */
+	public synchronized long getHits() { return hits; }
+
+	/**
+	 *
+	 * @return The number of lookups not answered from the cache
+	 */
+	public synchronized long getMisses() { return misses; }
+
+	/**
+	 *
+	 * @return The number of routes evicted to make room for newer ones
+	 */
+	public synchronized long getEvictions() { return evictions; }
+
+	// Returns the map key of the pair; ids never contain commas since they come from CSV fields
+	private static String key(String id1, String id2) {
+		return id1 + "," + id2;
+	}
+}
@@ -0,0 +1,17 @@
+package campus;
+
+//	SearchMode selects the engine CampusWrapper uses to answer a path query. Every mode returns
+//	a path of the same minimum cost; they only differ in how much of the graph they explore.
+
+public enum SearchMode {
+	/** Uniform-cost search from the start node */
+	DIJKSTRA,
+	/** Meet-in-the-middle A* from both ends, guided by straight-line distance */
+	BIDIRECTIONAL_ASTAR,
+	/** Upward search from both ends over a contraction hierarchy built once per graph */
+	CONTRACTION_HIERARCHIES,
+	/** Meet-in-the-middle A* from both ends, guided by landmark distances (ALT) */
+	LANDMARKS,
+	/** Lookup in the precomputed shortest-path trees of every building */
+	BUILDING_MATRIX
+}
@@ -0,0 +1,196 @@
+package campus;
+
+import java.util.Arrays;
+
+import graph.FrozenGraph;
+
+public final class SegmentIndex {
+	private double[] x;
+	private double[] y;
+	private int[] from;
+	private int[] to;
+	private double minX;
+	private double minY;
+	private double cellSize;
+	private int columns;
+	private int rows;
+	private int[] cellStarts;
+	private int[] cellSegments;
+
+	//	Abstraction Function:
+	//		A SegmentIndex is an immutable uniform grid over the pathway segments of a campus graph,
+	//		whose nodes lie at (x[i], y[i]). Segment s joins the nodes from[s] < to[s], and there is
+	//		one segment for every pair of nodes joined by an edge in either direction. The grid has
+	//		columns * rows square cells of side cellSize, its first cell starting at (minX, minY), and
+	//		cell c = row * columns + column lists the segments cellSegments[cellStarts[c]] to
+	//		cellSegments[cellStarts[c+1]-1], which are every segment whose bounding box overlaps it.
+	//
+	//	Representation Invariant for every SegmentIndex s:
+	//		x, y, from, to, cellStarts and cellSegments are not null && from.length == to.length
+	//		cellSize > 0 && columns >= 1 && rows >= 1 && cellStarts.length == columns * rows + 1
+
+	/**
+	 * Creates a SegmentIndex object over the edges of a graph
+	 *
+	 * @param graph The campus graph
+	 * @param x The x coordinate of each node index of graph, which is not copied
+	 * @param y The y coordinate of each node index of graph, which is not copied
+	 * @requires no argument is null && x.length == y.length == graph.size()
+	 * @effects Creates a SegmentIndex of every edge of graph
+	 */
+	public SegmentIndex(FrozenGraph<String> graph, double[] x, double[] y) {
+		this.x = x;
+		this.y = y;
+		// collects each pair of joined nodes once, smaller index first
+		long[] pairs = new long[graph.edgeCount()];
+		for (int i = 0; i < graph.size(); i++) {
+			for (int e = graph.edgesStart(i); e < graph.edgesEnd(i); e++) {
+				int j = graph.getTarget(e);
+				pairs[e] = ((long) Math.min(i, j) << 32) | Math.max(i, j);
+			}
+		}
+		Arrays.sort(pairs);
+		int n = 0;
+		for (int k = 0; k < pairs.length; k++) if (k == 0 || pairs[k] != pairs[k-1]) pairs[n++] = pairs[k];
+		from = new int[n];
+		to = new int[n];
+		for (int s = 0; s < n; s++) {
+			from[s] = (int) (pairs[s] >>> 32);
+			to[s] = (int) pairs[s];
+		}
+		// sizes the cells so there are about as many cells as segments
+		minX = Double.POSITIVE_INFINITY;
+		minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < x.length; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		if (x.length == 0) minX = minY = maxX = maxY = 0;
+		double width = Math.max(maxX - minX, 1);
+		double height = Math.max(maxY - minY, 1);
+		cellSize = Math.max(Math.sqrt(width * height / Math.max(n, 1)), Math.max(width, height) / 4096);
+		columns = (int) (width / cellSize) + 1;
+		rows = (int) (height / cellSize) + 1;
+		// counts the segments of each cell, then fills the cells in segment order
+		cellStarts = new int[columns * rows + 1];
+		for (int s = 0; s < n; s++) {
+			int[] box = cells(s);
+			for (int row = box[1]; row <= box[3]; row++) {
+				for (int column = box[0]; column <= box[2]; column++) cellStarts[row * columns + column + 1]++;
+			}
+		}
+		for (int c = 0; c < columns * rows; c++) cellStarts[c+1] += cellStarts[c];
+		cellSegments = new int[cellStarts[columns * rows]];
+		int[] next = Arrays.copyOf(cellStarts, columns * rows);
+		for (int s = 0; s < n; s++) {
+			int[] box = cells(s);
+			for (int row = box[1]; row <= box[3]; row++) {
+				for (int column = box[0]; column <= box[2]; column++) cellSegments[next[row * columns + column]++] = s;
+			}
+		}
+		checkRep();
+	}
+
+	/**
+	 *
+	 * @return The number of pathway segments
+	 */
+	public int size() { return from.length; }
+
+	/**
+	 * Projects a point onto the nearest pathway segment, searching the cells around the point in
+	 * growing rings until no unsearched cell can hold a nearer segment
+	 *
+	 * @param px The x coordinate of the point
+	 * @param py The y coordinate of the point
+	 * @return the nearest point on any pathway segment, on the segment of least index among those as
+	 * near, or null if the graph has no edges
+	 */
+	public PathwayPoint snap(double px, double py) {
+		if (from.length == 0) return null;
+		int column = clamp((int) Math.floor((px - minX) / cellSize), columns);
+		int row = clamp((int) Math.floor((py - minY) / cellSize), rows);
+		int best = -1;
+		double bestDistance = Double.POSITIVE_INFINITY;
+		for (int ring = 0; ring <= Math.max(columns, rows); ring++) {
+			for (int r = row - ring; r <= row + ring; r++) {
+				if (r < 0 || r >= rows) continue;
+				boolean edge = r == row - ring || r == row + ring;
+				for (int c = column - ring; c <= column + ring; c += edge ? 1 : 2 * ring) { // only the border of the ring
+					if (c >= 0 && c < columns) {
+						for (int k = cellStarts[r * columns + c]; k < cellStarts[r * columns + c + 1]; k++) {
+							int s = cellSegments[k];
+							double distance = distance(s, px, py);
+							if (distance < bestDistance || (distance == bestDistance && s < best)) {
+								best = s;
+								bestDistance = distance;
+							}
+						}
+					}
+					if (ring == 0) break;
+				}
+			}
+			// every cell outside the searched rings is at least ring cells away from the point
+			if (best != -1 && Math.sqrt(bestDistance) < ring * cellSize) break;
+		}
+		double fraction = fraction(best, px, py);
+		double sx = x[from[best]] + fraction * (x[to[best]] - x[from[best]]);
+		double sy = y[from[best]] + fraction * (y[to[best]] - y[from[best]]);
+		return new PathwayPoint(from[best], to[best], fraction, sx, sy, Math.sqrt(bestDistance));
+	}
+
+	/**
+	 * Returns the heap size of the grid
+	 *
+	 * @return the number of bytes used by the segments and cells
+	 */
+	public long memoryBytes() {
+		return from.length * 8L + cellStarts.length * 4L + cellSegments.length * 4L;
+	}
+
+	// Returns the squared distance from (px, py) to segment s
+	private double distance(int s, double px, double py) {
+		double fraction = fraction(s, px, py);
+		double dx = x[from[s]] + fraction * (x[to[s]] - x[from[s]]) - px;
+		double dy = y[from[s]] + fraction * (y[to[s]] - y[from[s]]) - py;
+		return dx * dx + dy * dy;
+	}
+
+	// Returns how far along segment s the point nearest to (px, py) is, from 0 to 1
+	private double fraction(int s, double px, double py) {
+		double dx = x[to[s]] - x[from[s]];
+		double dy = y[to[s]] - y[from[s]];
+		double length = dx * dx + dy * dy;
+		if (length == 0) return 0;
+		return Math.max(0, Math.min(1, ((px - x[from[s]]) * dx + (py - y[from[s]]) * dy) / length));
+	}
+
+	// Returns the first column, first row, last column and last row of the cells that the
+	// bounding box of segment s overlaps
+	private int[] cells(int s) {
+		double x1 = Math.min(x[from[s]], x[to[s]]);
+		double x2 = Math.max(x[from[s]], x[to[s]]);
+		double y1 = Math.min(y[from[s]], y[to[s]]);
+		double y2 = Math.max(y[from[s]], y[to[s]]);
+		return new int[] {clamp((int) ((x1 - minX) / cellSize), columns), clamp((int) ((y1 - minY) / cellSize), rows), clamp((int) ((x2 - minX) / cellSize), columns), clamp((int) ((y2 - minY) / cellSize), rows)};
+	}
+
+	// Returns i clamped to a cell from 0 to count-1
+	private static int clamp(int i, int count) {
+		return Math.max(0, Math.min(count - 1, i));
+	}
+
+	/**
+	 * Checks that the representation invariant holds (if any).
+	 **/
+	// Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (x == null || y == null || from == null || to == null || cellStarts == null || cellSegments == null) throw new RuntimeException("Index must not be null");
+		if (from.length != to.length) throw new RuntimeException("Every segment must have two ends");
+		if (!(cellSize > 0) || columns < 1 || rows < 1 || cellStarts.length != columns * rows + 1) throw new RuntimeException("The grid must have cells");
+	}
+}
@@ -0,0 +1,78 @@
+package campus;
+
+import graph.FrozenGraph;
+
+//	ShortestPathTree is not an ADT; therefore it does not need an abstraction function nor
+//	representation invariant. ShortestPathTree stores the complete result of one Dijkstra search
+//	from a source node as distance, predecessor and predecessor edge arrays, so the route and cost
+//	from the source to any node are read by walking the tree instead of searching again. Routes
+//	match DijkstraPathFinder exactly because the tree is built with the same tie-breaks.
+
+public class ShortestPathTree {
+	private FrozenGraph<String> graph;
+	private String source;
+	private int sourceIndex;
+	private double[] distance;
+	private int[] previous;
+	private int[] previousEdge;
+
+	/**
+	 * Creates a ShortestPathTree object by searching the whole graph from source
+	 *
+	 * @param finder The Dijkstra path finder of the graph
+	 * @param graph The snapshot of the graph searched by finder
+	 * @param source The node to search from
+	 * @requires finder != null && graph != null && source is a node of graph
+	 * @effects Creates the shortest-path tree from source
+	 */
+	public ShortestPathTree(DijkstraPathFinder finder, FrozenGraph<String> graph, String source) {
+		this.graph = graph;
+		this.source = source;
+		this.sourceIndex = graph.indexOf(source);
+		distance = new double[graph.size()];
+		previous = new int[graph.size()];
+		previousEdge = new int[graph.size()];
+		finder.shortestPathTree(sourceIndex, distance, previous, previousEdge);
+	}
+
+	/**
+	 *
+	 * @return The node the tree was searched from
+	 */
+	public String getSource() { return source; }
+
+	/**
+	 * Returns the minimum cost from the source to a node
+	 *
+	 * @param id The destination node
+	 * @return the minimum cost to id, infinity if there is no path, or NaN if id is not a node
+	 */
+	public double distanceTo(String id) {
+		int target = graph.indexOf(id);
+		if (target == -1) return Double.NaN;
+		return distance[target];
+	}
+
+	/**
+	 * Returns the minimum-cost route from the source to a node by walking the tree
+	 *
+	 * @param id The destination node
+	 * @requires id is a node of the graph
+	 * @return an OK route from the source to id, or a NO_PATH route if there is no path
+	 */
+	public Route findRoute(String id) {
+		return findRoute(graph.indexOf(id));
+	}
+
+	/**
+	 * Returns the minimum-cost route from the source to a node index by walking the tree
+	 *
+	 * @param target The node index of the destination
+	 * @requires 0 <= target < the size of the graph
+	 * @return an OK route from the source to target, or a NO_PATH route if there is no path
+	 */
+	public Route findRoute(int target) {
+		if (distance[target] == Double.POSITIVE_INFINITY) return Route.noPath(source, graph.getLabel(target));
+		return DijkstraPathFinder.buildRoute(graph, sourceIndex, target, distance, previous, previousEdge);
+	}
+}
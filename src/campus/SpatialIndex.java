@@ -0,0 +1,229 @@
+package campus;
+
+import java.util.Arrays;
+
+public final class SpatialIndex {
+	private int[] locations;
+	private double[] x;
+	private double[] y;
+
+	//	Abstraction Function:
+	//		A SpatialIndex is an immutable, balanced k-d tree over the coordinates of a set of campus
+	//		locations, stored implicitly in arrays. The subtree over positions lo to hi-1 has its root
+	//		at position mid = (lo + hi) / 2: location locations[mid] lies at (x[mid], y[mid]), the
+	//		positions lo to mid-1 form its left subtree and mid+1 to hi-1 its right subtree. A root at
+	//		an even depth splits its subtree by x and one at an odd depth by y, so the left subtree
+	//		holds no larger and the right subtree no smaller coordinate than the root.
+	//
+	//	Representation Invariant for every SpatialIndex s:
+	//		locations, x and y are not null && locations.length == x.length == y.length
+
+	/**
+	 * Creates a SpatialIndex object of the named buildings of a campus
+	 *
+	 * @param campus The campus locations
+	 * @requires campus != null
+	 * @effects Creates a SpatialIndex of every location of campus with a name other than ""
+	 */
+	public SpatialIndex(CampusLocations campus) {
+		int n = 0;
+		for (int i = 0; i < campus.size(); i++) if (!campus.getName(i).equals("")) n++;
+		locations = new int[n];
+		x = new double[n];
+		y = new double[n];
+		n = 0;
+		for (int i = 0; i < campus.size(); i++) {
+			if (campus.getName(i).equals("")) continue;
+			locations[n] = i;
+			x[n] = campus.getX(i);
+			y[n] = campus.getY(i);
+			n++;
+		}
+		build(0, n, 0);
+		checkRep();
+	}
+
+	/**
+	 *
+	 * @return The number of indexed locations
+	 */
+	public int size() { return locations.length; }
+
+	/**
+	 * Returns the location hit by a click, which is the nearest location whose square of half-width
+	 * radius contains the point
+	 *
+	 * @param px The x coordinate of the point
+	 * @param py The y coordinate of the point
+	 * @param radius Half the width of the square around each location
+	 * @requires radius >= 0
+	 * @return the index of the location hit, or -1 if no location is hit
+	 */
+	public int hitTest(double px, double py, double radius) {
+		Positions hits = new Positions();
+		range(0, locations.length, 0, px - radius, py - radius, px + radius, py + radius, hits);
+		int best = -1;
+		double bestDistance = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < hits.size; i++) { // few locations are ever this close together
+			int p = hits.values[i];
+			double distance = (x[p] - px) * (x[p] - px) + (y[p] - py) * (y[p] - py);
+			if (distance < bestDistance || (distance == bestDistance && locations[p] < best)) {
+				best = locations[p];
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the locations nearest to a point
+	 *
+	 * @param px The x coordinate of the point
+	 * @param py The y coordinate of the point
+	 * @param k The largest number of locations returned
+	 * @requires k >= 0
+	 * @return the indices of the min(k, size()) nearest locations, nearest first and in increasing
+	 * order of index between locations as near
+	 */
+	public int[] nearest(double px, double py, int k) {
+		k = Math.min(k, locations.length);
+		int[] best = new int[k]; // positions, kept sorted nearest first
+		double[] distances = new double[k];
+		int found = 0;
+		if (k > 0) found = nearest(0, locations.length, 0, px, py, best, distances, 0);
+		int[] result = new int[found];
+		for (int i = 0; i < found; i++) result[i] = locations[best[i]];
+		return result;
+	}
+
+	/**
+	 * Returns the locations within a rectangle, borders included
+	 *
+	 * @param minX The smallest x coordinate of the rectangle
+	 * @param minY The smallest y coordinate of the rectangle
+	 * @param maxX The largest x coordinate of the rectangle
+	 * @param maxY The largest y coordinate of the rectangle
+	 * @return the indices of the locations within the rectangle, in increasing order
+	 */
+	public int[] range(double minX, double minY, double maxX, double maxY) {
+		Positions hits = new Positions();
+		range(0, locations.length, 0, minX, minY, maxX, maxY, hits);
+		int[] result = new int[hits.size];
+		for (int i = 0; i < hits.size; i++) result[i] = locations[hits.values[i]];
+		Arrays.sort(result);
+		return result;
+	}
+
+	// Adds the positions of the subtree over positions lo to hi-1 that lie within the rectangle
+	private void range(int lo, int hi, int depth, double minX, double minY, double maxX, double maxY, Positions hits) {
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (minX <= x[mid] && x[mid] <= maxX && minY <= y[mid] && y[mid] <= maxY) hits.add(mid);
+			double split = depth % 2 == 0 ? x[mid] : y[mid];
+			double min = depth % 2 == 0 ? minX : minY;
+			double max = depth % 2 == 0 ? maxX : maxY;
+			depth++;
+			if (min <= split && split <= max) {
+				range(lo, mid, depth, minX, minY, maxX, maxY, hits);
+				lo = mid + 1;
+			} else if (max < split) hi = mid; // the rectangle is left of the root
+			else lo = mid + 1;
+		}
+	}
+
+	// Offers the locations of the subtree over positions lo to hi-1 to the found nearest positions
+	// so far and returns how many are found
+	private int nearest(int lo, int hi, int depth, double px, double py, int[] best, double[] distances, int found) {
+		if (lo >= hi) return found;
+		int mid = (lo + hi) >>> 1;
+		found = offer(mid, (x[mid] - px) * (x[mid] - px) + (y[mid] - py) * (y[mid] - py), best, distances, found);
+		double difference = depth % 2 == 0 ? px - x[mid] : py - y[mid];
+		if (difference < 0) { // searches the side of the point first
+			found = nearest(lo, mid, depth + 1, px, py, best, distances, found);
+			if (found < best.length || difference * difference <= distances[found-1]) found = nearest(mid + 1, hi, depth + 1, px, py, best, distances, found);
+		} else {
+			found = nearest(mid + 1, hi, depth + 1, px, py, best, distances, found);
+			if (found < best.length || difference * difference <= distances[found-1]) found = nearest(lo, mid, depth + 1, px, py, best, distances, found);
+		}
+		return found;
+	}
+
+	// Inserts position p at distance into the found nearest positions unless k nearer ones are found
+	private int offer(int p, double distance, int[] best, double[] distances, int found) {
+		int i = found;
+		if (found == best.length) {
+			int last = best[found-1];
+			if (distance > distances[found-1] || (distance == distances[found-1] && locations[p] > locations[last])) return found;
+			i--;
+		} else found++;
+		while (i > 0 && (distances[i-1] > distance || (distances[i-1] == distance && locations[best[i-1]] > locations[p]))) {
+			best[i] = best[i-1];
+			distances[i] = distances[i-1];
+			i--;
+		}
+		best[i] = p;
+		distances[i] = distance;
+		return found;
+	}
+
+	// Reorders positions lo to hi-1 into the subtree of a root at depth
+	private void build(int lo, int hi, int depth) {
+		if (hi - lo <= 1) return;
+		int mid = (lo + hi) >>> 1;
+		select(lo, hi - 1, mid, depth % 2 == 0);
+		build(lo, mid, depth + 1);
+		build(mid + 1, hi, depth + 1);
+	}
+
+	// Partially sorts positions lo to hi by x or by y, so that position k holds the coordinate it
+	// would hold if sorted, no larger ones are before it and no smaller ones after it
+	private void select(int lo, int hi, int k, boolean byX) {
+		double[] keys = byX ? x : y;
+		while (lo < hi) {
+			double pivot = keys[(lo + hi) >>> 1];
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (keys[i] < pivot) i++;
+				while (keys[j] > pivot) j--;
+				if (i <= j) swap(i++, j--);
+			}
+			if (k <= j) hi = j;
+			else if (k >= i) lo = i;
+			else return;
+		}
+	}
+
+	// Swaps the locations at positions i and j
+	private void swap(int i, int j) {
+		int location = locations[i];
+		locations[i] = locations[j];
+		locations[j] = location;
+		double coordinate = x[i];
+		x[i] = x[j];
+		x[j] = coordinate;
+		coordinate = y[i];
+		y[i] = y[j];
+		y[j] = coordinate;
+	}
+
+	// A growable array of positions
+	private static final class Positions {
+		private int[] values = new int[16];
+		private int size;
+
+		void add(int p) {
+			if (size == values.length) values = Arrays.copyOf(values, size * 2);
+			values[size++] = p;
+		}
+	}
+
+	/**
+	 * Checks that the representation invariant holds (if any).
+	 **/
+	// Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (locations == null || x == null || y == null) throw new RuntimeException("Index must not be null");
+		if (x.length != locations.length || y.length != locations.length) throw new RuntimeException("Every location must have coordinates");
+	}
+}
@@ -0,0 +1,37 @@
+package campus;
+
+//	StraightLineBound is not an ADT; therefore it does not need an abstraction function nor
+//	representation invariant. StraightLineBound estimates the cost between two nodes as the
+//	straight-line distance between their coordinates, which never overestimates because campus
+//	edge weights are Euclidean distances.
+
+public class StraightLineBound implements LowerBound {
+	private double[] x;
+	private double[] y;
+	
+	/**
+	 * Creates a StraightLineBound object
+	 *
+	 * @param x The x coordinate of each node index
+	 * @param y The y coordinate of each node index
+	 * @requires x.length == y.length && no edge weight is less than the straight-line distance
+	 * between its nodes
+	 * @effects Creates a StraightLineBound object over the given coordinates
+	 */
+	public StraightLineBound(double[] x, double[] y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * Returns the straight-line distance between two nodes
+	 *
+	 * @param from The node index the path starts at
+	 * @param to The node index the path ends at
+	 * @return the straight-line distance from 'from' to 'to'
+	 */
+	@Override
+	public double estimate(int from, int to) {
+		return Math.sqrt(Math.pow(x[to] - x[from],2) + Math.pow(y[to] - y[from],2));
+	}
+}
@@ -0,0 +1,233 @@
+package campus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public final class TrigramIndex {
+	// The character padding both ends of a name, so its first and last letters start trigrams
+	private static final char PAD = ' ';
+	private BuildingIndex buildings;
+	private long[] grams;
+	private int[] starts;
+	private int[] postings;
+
+	//	Abstraction Function:
+	//		A TrigramIndex is an immutable inverted index from the trigrams of the lower-case building
+	//		names of a BuildingIndex to the buildings whose names contain them. A name is padded with
+	//		PAD at both ends before it is cut into trigrams, and a trigram is packed into a long, one
+	//		char per 16 bits. grams lists every distinct trigram in increasing order, and the buildings
+	//		containing grams[g] are postings[starts[g]] to postings[starts[g+1]-1], in increasing order
+	//		of their index in buildings.
+	//
+	//	Representation Invariant for every TrigramIndex t:
+	//		buildings, grams, starts and postings are not null
+	//		starts.length == grams.length + 1 && starts[0] == 0 && starts[grams.length] == postings.length
+	//		for all 0 < g < grams.length: grams[g-1] < grams[g]
+
+	/**
+	 * Creates a TrigramIndex object over the names of buildings
+	 *
+	 * @param buildings The buildings to index
+	 * @requires buildings != null
+	 * @effects Creates a TrigramIndex of every trigram of every building name
+	 */
+	public TrigramIndex(BuildingIndex buildings) {
+		this.buildings = buildings;
+		// collects the distinct trigrams of each name
+		long[][] nameGrams = new long[buildings.size()][];
+		int total = 0;
+		for (int i = 0; i < buildings.size(); i++) {
+			nameGrams[i] = trigrams(buildings.getName(i));
+			total += nameGrams[i].length;
+		}
+		long[] allGrams = new long[total];
+		int n = 0;
+		for (long[] row : nameGrams) for (long gram : row) allGrams[n++] = gram;
+		Arrays.sort(allGrams);
+		int distinct = 0;
+		for (int i = 0; i < total; i++) if (i == 0 || allGrams[i] != allGrams[i-1]) allGrams[distinct++] = allGrams[i];
+		grams = Arrays.copyOf(allGrams, distinct);
+		// counts the buildings of each trigram, then fills the postings in building order
+		int[][] nameGramIndices = new int[nameGrams.length][];
+		starts = new int[distinct + 1];
+		for (int i = 0; i < nameGrams.length; i++) {
+			nameGramIndices[i] = new int[nameGrams[i].length];
+			for (int k = 0; k < nameGrams[i].length; k++) {
+				nameGramIndices[i][k] = Arrays.binarySearch(grams, nameGrams[i][k]);
+				starts[nameGramIndices[i][k] + 1]++;
+			}
+		}
+		for (int g = 0; g < distinct; g++) starts[g+1] += starts[g];
+		postings = new int[total];
+		int[] next = Arrays.copyOf(starts, distinct);
+		for (int i = 0; i < nameGrams.length; i++) {
+			for (int g : nameGramIndices[i]) postings[next[g]++] = i;
+		}
+		checkRep();
+	}
+
+	/**
+	 * Returns the building names closest to a possibly misspelled or unfinished name, ignoring case.
+	 * A building is suggested if its name shares a trigram with the given name and the edit distance
+	 * from the given name to a prefix of its name is at most 1 for names of up to 4 characters, 2 for
+	 * up to 8 characters and 3 otherwise
+	 *
+	 * @param name The name to look up
+	 * @param limit The largest number of names returned
+	 * @requires name != null && limit >= 0
+	 * @return at most limit building names by increasing edit distance, then by how many more
+	 * characters they have, then in name order
+	 */
+	public List<String> suggest(String name, int limit) {
+		String key = name.toLowerCase(Locale.ROOT);
+		int maxEdits = key.length() <= 4 ? 1 : key.length() <= 8 ? 2 : 3;
+		long[] queryGrams = trigrams(key);
+		int[][] lists = new int[queryGrams.length][]; // the start and end of the postings of each trigram
+		for (int q = 0; q < queryGrams.length; q++) {
+			int g = Arrays.binarySearch(grams, queryGrams[q]);
+			lists[q] = g < 0 ? new int[] {0, 0} : new int[] {starts[g], starts[g+1]};
+		}
+		// an edit changes at most three trigrams and a longer name loses the one ending the given name,
+		// so a name within bound edits shares at least threshold(bound) of them and must then appear
+		// in one of the lists.length - threshold(bound) + 1 shortest lists
+		Arrays.sort(lists, (a, b) -> Integer.compare(a[1] - a[0], b[1] - b[0]));
+		int shortLists = lists.length - threshold(lists.length, maxEdits) + 1;
+		int candidateCount = 0;
+		for (int q = 0; q < shortLists; q++) candidateCount += lists[q][1] - lists[q][0];
+		int[] candidates = new int[candidateCount];
+		candidateCount = 0;
+		for (int q = 0; q < shortLists; q++) {
+			System.arraycopy(postings, lists[q][0], candidates, candidateCount, lists[q][1] - lists[q][0]);
+			candidateCount += lists[q][1] - lists[q][0];
+		}
+		Arrays.sort(candidates);
+		// groups the candidates by the number of short lists they appear in, most first
+		int[] groupStarts = new int[shortLists + 2];
+		for (int c = 0; c < candidates.length; c++) {
+			int end = c;
+			while (end + 1 < candidates.length && candidates[end+1] == candidates[c]) end++;
+			groupStarts[shortLists - (end - c + 1) + 1]++;
+			c = end;
+		}
+		for (int g = 0; g <= shortLists; g++) groupStarts[g+1] += groupStarts[g];
+		int[] byCount = new int[groupStarts[shortLists + 1]];
+		int[] next = Arrays.copyOf(groupStarts, shortLists + 1);
+		for (int c = 0; c < candidates.length; c++) {
+			int end = c;
+			while (end + 1 < candidates.length && candidates[end+1] == candidates[c]) end++;
+			byCount[next[shortLists - (end - c + 1)]++] = candidates[c];
+			c = end;
+		}
+		// once limit names are within some distance, farther names need not be verified, so the
+		// bound and with it the threshold tighten as names are found
+		int bound = maxEdits;
+		int[] found = new int[maxEdits + 1];
+		ArrayList<int[]> ranked = new ArrayList<int[]>();
+		for (int g = 0; g <= shortLists; g++) {
+			int count = shortLists - g; // the short lists each candidate of this group appears in
+			if (count + lists.length - shortLists < threshold(lists.length, bound)) break;
+			for (int c = groupStarts[g]; c < groupStarts[g+1]; c++) {
+				int building = byCount[c];
+				int needed = threshold(lists.length, bound);
+				int shared = count;
+				for (int q = shortLists; q < lists.length && shared < needed && shared + lists.length - q >= needed; q++) {
+					if (Arrays.binarySearch(postings, lists[q][0], lists[q][1], building) >= 0) shared++;
+				}
+				if (shared < needed) continue;
+				int distance = prefixDistance(key, buildings.getKey(building), bound);
+				if (distance > bound) continue;
+				ranked.add(new int[] {distance, Math.abs(buildings.getKey(building).length() - key.length()), building});
+				found[distance]++;
+				int total = 0;
+				for (int d = 0; d <= bound; d++) {
+					total += found[d];
+					if (total >= limit) {
+						bound = d;
+						break;
+					}
+				}
+			}
+		}
+		ranked.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(a[2], b[2]));
+		ArrayList<String> names = new ArrayList<String>();
+		for (int i = 0; i < ranked.size() && i < limit; i++) names.add(buildings.getName(ranked.get(i)[2]));
+		return names;
+	}
+
+	/**
+	 * Returns the heap size of the index
+	 *
+	 * @return the number of bytes used by the trigrams and postings
+	 */
+	public long memoryBytes() {
+		return grams.length * 8L + starts.length * 4L + postings.length * 4L;
+	}
+
+	// Returns the least number of trigrams, out of grams distinct ones, that a name within maxEdits
+	// edits of a prefix shares with the given name, and at least 1
+	private static int threshold(int grams, int maxEdits) {
+		return Math.max(1, grams - 3 * maxEdits - 1);
+	}
+
+	// Returns the distinct trigrams of a name, in increasing order
+	private static long[] trigrams(String name) {
+		String key = name.toLowerCase(Locale.ROOT);
+		int length = key.length() + 2;
+		if (length < 3) return new long[0];
+		long[] result = new long[length - 2];
+		for (int i = 0; i + 2 < length; i++) {
+			result[i] = ((long) padded(key, i) << 32) | ((long) padded(key, i + 1) << 16) | padded(key, i + 2);
+		}
+		Arrays.sort(result);
+		int distinct = 0;
+		for (int i = 0; i < result.length; i++) if (i == 0 || result[i] != result[i-1]) result[distinct++] = result[i];
+		return Arrays.copyOf(result, distinct);
+	}
+
+	// Returns the character at position i of PAD + key + PAD
+	private static char padded(String key, int i) {
+		if (i == 0 || i > key.length()) return PAD;
+		return key.charAt(i - 1);
+	}
+
+	// Returns the smallest edit distance between a and a prefix of b, or maxEdits + 1 if it is larger
+	// than maxEdits. Only the cells within maxEdits of the diagonal can be within maxEdits, so the
+	// others are taken to be maxEdits + 1.
+	private static int prefixDistance(String a, String b, int maxEdits) {
+		int far = maxEdits + 1;
+		if (a.length() - b.length() > maxEdits) return far;
+		int[] previous = new int[b.length() + 2];
+		int[] current = new int[b.length() + 2];
+		for (int j = 0; j <= b.length() + 1; j++) previous[j] = j <= maxEdits ? j : far;
+		for (int i = 1; i <= a.length(); i++) {
+			int first = Math.max(1, i - maxEdits);
+			int last = Math.min(b.length(), i + maxEdits);
+			current[first-1] = first == 1 ? Math.min(i, far) : far;
+			int best = current[first-1];
+			for (int j = first; j <= last; j++) {
+				int substitute = previous[j-1] + (a.charAt(i-1) == b.charAt(j-1) ? 0 : 1);
+				current[j] = Math.min(far, Math.min(substitute, Math.min(previous[j], current[j-1]) + 1));
+				best = Math.min(best, current[j]);
+			}
+			current[last+1] = far;
+			if (best > maxEdits) return far; // every later row is at least as far
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		int best = far;
+		for (int j = Math.max(0, a.length() - maxEdits); j <= Math.min(b.length(), a.length() + maxEdits); j++) best = Math.min(best, previous[j]);
+		return best;
+	}
+
+	/**
+	 * Checks that the representation invariant holds (if any).
+	 **/
+	// Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (buildings == null || grams == null || starts == null || postings == null) throw new RuntimeException("Index must not be null");
+		if (starts.length != grams.length + 1 || starts[0] != 0 || starts[grams.length] != postings.length) throw new RuntimeException("Every trigram must have a range of postings");
+	}
+}
@@ -0,0 +1,83 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class BatchQueryTest {
+	CampusWrapper graph;
+	ArrayList<String[]> pairs;
+	
+	@Before
+	public void SetUp() throws IOException { // loads the campus graph and every pair of node ids
+		graph = new CampusWrapper("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+		ArrayList<String> ids = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new FileReader("src/campus/data/RPI_map_data_Nodes.csv"));
+		String line;
+		while ((line = reader.readLine()) != null) ids.add(line.split(",")[1]);
+		reader.close();
+		ids.add("999"); // unknown id
+		pairs = new ArrayList<String[]>();
+		for (String id1 : ids) {
+			for (String id2 : ids) pairs.add(new String[] {id1, id2});
+		}
+	}
+	
+	// Checks that every batch result is the path found by a single query
+	private void assertSamePaths(List<String> paths) {
+		assertEquals(paths.size(),pairs.size());
+		for (int i = 0; i < pairs.size(); i++) {
+			assertEquals(pairs.get(i)[0] + " to " + pairs.get(i)[1], paths.get(i), graph.findPath(pairs.get(i)[0], pairs.get(i)[1]));
+		}
+	}
+	
+	@Test
+	public void testBatchInInputOrder() {
+		assertSamePaths(graph.findPaths(pairs));
+	}
+	
+	@Test
+	public void testBatchWithSharedCaches() {
+		graph.enableRouteCache(64);
+		graph.setRetainedTrees(4);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		List<String> paths = graph.findPaths(pairs, pool);
+		pool.shutdown();
+		graph.disableRouteCache();
+		graph.setRetainedTrees(0);
+		assertSamePaths(paths);
+	}
+	
+	@Test
+	public void testAsync() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		graph.setExecutor(executor);
+		assertEquals(graph.getExecutor() == executor,true);
+		assertEquals(graph.findPathAsync("7","11").get(),"10,11,156.051");
+		assertEquals(graph.findPathAsync("7","999").get(),",999");
+		executor.shutdown();
+	}
+	
+	@Test
+	public void testReloadDuringBatch() throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		Thread reload = new Thread(() -> graph.createNewGraph("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv"));
+		reload.start();
+		List<String> paths = graph.findPaths(pairs, pool);
+		reload.join();
+		pool.shutdown();
+		assertSamePaths(paths);
+	}
+}
@@ -0,0 +1,61 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class BuildingIndexTest {
+	BuildingIndex index;
+	
+	@Before
+	public void SetUp() { // indexes buildings sharing prefixes, an intersection and names that differ by case
+		index = new BuildingIndex(new String[] {"West Hall","","Walker Lab","West","Academy Hall","walker annex","Union"}, new String[] {"1","2","3","4","5","6","7"});
+	}
+	
+	@Test
+	public void testSortedNames() {
+		assertEquals(index.size(),6);
+		assertEquals(index.getName(0),"Academy Hall");
+		assertEquals(index.getID(0),"5");
+		assertEquals(index.getName(5),"walker annex");
+		assertEquals(index.indexOf("West Hall"),4);
+		assertEquals(index.getID(index.indexOf("West Hall")),"1");
+		assertEquals(index.indexOf(""),-1);
+		assertEquals(index.indexOf("Gym"),-1);
+	}
+	
+	@Test
+	public void testComplete() {
+		assertEquals(index.complete("w",10),Arrays.asList("walker annex","Walker Lab","West","West Hall"));
+		assertEquals(index.complete("WALKER ",10),Arrays.asList("walker annex","Walker Lab"));
+		assertEquals(index.complete("west",10),Arrays.asList("West","West Hall"));
+		assertEquals(index.complete("west h",10),Arrays.asList("West Hall"));
+		assertEquals(index.complete("west hall",10),Arrays.asList("West Hall"));
+		assertEquals(index.complete("west halls",10).size(),0);
+		assertEquals(index.complete("wa",1),Arrays.asList("walker annex"));
+		assertEquals(index.complete("x",10).size(),0);
+		assertEquals(index.complete("",10).size(),6);
+	}
+	
+	@Test
+	public void testCountPrefix() {
+		assertEquals(index.countPrefix(""),6);
+		assertEquals(index.countPrefix("W"),4);
+		assertEquals(index.countPrefix("walker"),2);
+		assertEquals(index.countPrefix("Walker L"),1);
+		assertEquals(index.countPrefix("Wz"),0);
+	}
+	
+	@Test
+	public void testEmpty() {
+		BuildingIndex empty = new BuildingIndex(new String[] {""}, new String[] {"1"});
+		assertEquals(empty.size(),0);
+		assertEquals(empty.countPrefix(""),0);
+		assertEquals(empty.complete("a",10).size(),0);
+	}
+}
@@ -0,0 +1,94 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class CampusDataTest {
+	String nodeFile, edgeFile, snapshotFile;
+	CampusData data;
+	
+	@Before
+	public void SetUp() throws IOException { // copies the campus files and saves their snapshot
+		Path directory = Files.createTempDirectory("campus");
+		directory.toFile().deleteOnExit();
+		nodeFile = directory.resolve("nodes.csv").toString();
+		edgeFile = directory.resolve("edges.csv").toString();
+		snapshotFile = directory.resolve("campus.snapshot").toString();
+		Files.copy(Paths.get("src/campus/data/RPI_map_data_Nodes.csv"), Paths.get(nodeFile), StandardCopyOption.REPLACE_EXISTING);
+		Files.copy(Paths.get("src/campus/data/RPI_map_data_Edges.csv"), Paths.get(edgeFile), StandardCopyOption.REPLACE_EXISTING);
+		for (String file : new String[] {nodeFile, edgeFile, snapshotFile}) Paths.get(file).toFile().deleteOnExit();
+		data = CampusData.read(nodeFile,edgeFile);
+		data.save(snapshotFile,nodeFile,edgeFile);
+	}
+	
+	@Test
+	public void testLoadMatchesRead() throws IOException {
+		CampusData loaded = CampusData.load(snapshotFile,nodeFile,edgeFile);
+		assertEquals(loaded.getGraph().size(),data.getGraph().size());
+		assertEquals(loaded.getGraph().edgeCount(),data.getGraph().edgeCount());
+		for (int i = 0; i < data.getGraph().size(); i++) {
+			assertEquals(loaded.getGraph().getLabel(i),data.getGraph().getLabel(i));
+			assertEquals(loaded.getName(i),data.getName(i));
+			assertEquals(loaded.getX(i),data.getX(i),0.0);
+			assertEquals(loaded.getY(i),data.getY(i),0.0);
+			assertEquals(loaded.getGraph().edgesStart(i),data.getGraph().edgesStart(i));
+		}
+		for (int e = 0; e < data.getGraph().edgeCount(); e++) {
+			assertEquals(loaded.getGraph().getTarget(e),data.getGraph().getTarget(e));
+			assertEquals(loaded.getGraph().getWeight(e),data.getGraph().getWeight(e),0.0);
+		}
+		assertEquals(loaded.toLocations().listAllBuildings(),data.toLocations().listAllBuildings());
+	}
+	
+	@Test
+	public void testWrapperUsesSnapshot() {
+		CampusWrapper csv = new CampusWrapper(nodeFile,edgeFile);
+		CampusWrapper snapshot = new CampusWrapper(nodeFile,edgeFile,snapshotFile);
+		assertEquals(snapshot.findPath("7","11"),csv.findPath("7","11"));
+		assertEquals(snapshot.findPath("1","99"),csv.findPath("1","99"));
+	}
+	
+	@Test
+	public void testWrapperSavesMissingSnapshot() throws IOException {
+		Files.delete(Paths.get(snapshotFile));
+		CampusWrapper graph = new CampusWrapper(nodeFile,edgeFile,snapshotFile);
+		assertEquals(graph.findPath("7","11"),"10,11,156.051");
+		assertEquals(Files.exists(Paths.get(snapshotFile)),true);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testStaleSnapshot() throws IOException {
+		Paths.get(edgeFile).toFile().setLastModified(Paths.get(edgeFile).toFile().lastModified() + 2000);
+		CampusData.load(snapshotFile,nodeFile,edgeFile);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testCorruptSnapshot() throws IOException {
+		RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw");
+		try {
+			file.seek(file.length() - 1);
+			int last = file.read();
+			file.seek(file.length() - 1);
+			file.write(last ^ 1);
+		} finally {
+			file.close();
+		}
+		CampusData.load(snapshotFile,nodeFile,edgeFile);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testNotASnapshot() throws IOException {
+		CampusData.load(nodeFile,nodeFile,edgeFile);
+	}
+}
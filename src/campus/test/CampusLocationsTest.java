@@ -0,0 +1,83 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class CampusLocationsTest {
+	CampusLocations columns, maps;
+	
+	@Before
+	public void SetUp() { // builds the same locations from columns and from maps
+		columns = new CampusLocations(new String[] {"1","2","3"}, new String[] {"Hall","","Gym"}, new double[] {10,10,20.5}, new double[] {10,0,10});
+		Map<String,ArrayList<String>> dataFromIDs = new HashMap<String,ArrayList<String>>();
+		dataFromIDs.put("1", new ArrayList<String>(Arrays.asList("Hall","10","10")));
+		dataFromIDs.put("2", new ArrayList<String>(Arrays.asList("","10","0")));
+		dataFromIDs.put("3", new ArrayList<String>(Arrays.asList("Gym","20.5","10")));
+		Map<String,String> buildings = new HashMap<String,String>();
+		buildings.put("Hall","1");
+		buildings.put("","2");
+		buildings.put("Gym","3");
+		maps = new CampusLocations(dataFromIDs,buildings);
+	}
+	
+	@Test
+	public void testPrimitiveAccessors() {
+		assertEquals(columns.size(),3);
+		assertEquals(columns.indexOf("3"),2);
+		assertEquals(columns.indexOf("4"),-1);
+		assertEquals(columns.getID(2),"3");
+		assertEquals(columns.getName(1),"");
+		assertEquals(columns.getX(2),20.5,0.0);
+		assertEquals(columns.getY(1),0.0,0.0);
+	}
+	
+	@Test
+	public void testStringAPI() {
+		for (CampusLocations locations : new CampusLocations[] {columns, maps}) {
+			assertEquals(locations.getID("Gym"),"3");
+			assertEquals(locations.getID("Pool"),null);
+			assertEquals(locations.getName("1"),"Hall");
+			assertEquals(locations.getName("4"),null);
+			assertEquals(locations.getX("1"),"10");
+			assertEquals(locations.getX("3"),"20.5");
+			assertEquals(locations.getY("4"),null);
+			assertEquals(locations.listAllBuildings(),"Gym,3\nHall,1\n");
+			assertEquals(locations.getBuildings(true)[0],"Select Depature");
+			assertEquals(locations.getBuildings(false).length,3);
+		}
+	}
+	
+	@Test
+	public void testDirections() {
+		assertEquals(columns.getDirection("1","2"),"North");
+		assertEquals(columns.getDirection("2","1"),"South");
+		assertEquals(columns.getDirection("1","3"),"East");
+		assertEquals(columns.getDirection("3","1"),"West");
+		assertEquals(columns.getDirection("2","3"),"SouthEast");
+		assertEquals(columns.getDirection(0,2),maps.getDirection("1","3"));
+	}
+	
+	@Test
+	public void testIndicesBuiltOnce() {
+		for (CampusLocations locations : new CampusLocations[] {columns, maps}) {
+			BuildingIndex buildings = locations.getBuildingIndex();
+			assertEquals(buildings.size(),2);
+			assertEquals(locations.getBuildingIndex() == buildings,true);
+			TrigramIndex trigrams = locations.getTrigramIndex();
+			assertEquals(trigrams.suggest("Hal",1).get(0),"Hall");
+			assertEquals(locations.getTrigramIndex() == trigrams,true);
+			SpatialIndex spatial = locations.getSpatialIndex();
+			assertEquals(spatial.size(),2);
+			assertEquals(locations.getSpatialIndex() == spatial,true);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class CampusParserTest {
+	String nodeFile = "src/campus/data/RPI_map_data_Nodes.csv";
+	String edgeFile = "src/campus/data/RPI_map_data_Edges.csv";
+	List<String> rows;
+	CampusDataHandler recorder;
+	
+	@Before
+	public void SetUp() { // records every row given to the handler
+		rows = new ArrayList<String>();
+		recorder = new CampusDataHandler() {
+			@Override
+			public void node(int node, String name, String id, double x, double y) { rows.add(node+":"+name+":"+id+":"+x+":"+y); }
+	
+			@Override
+			public void edge(int node1, int node2) { rows.add(node1+"-"+node2); }
+		};
+	}
+	
+	// Writes text to a temporary file and returns its path
+	private static String file(String text) throws IOException {
+		Path path = Files.createTempFile("campus", ".csv");
+		path.toFile().deleteOnExit();
+		Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+		return path.toString();
+	}
+	
+	@Test
+	public void testReadCampusData() throws IOException {
+		Map<String,ArrayList<String>> dataFromIDs = new HashMap<String,ArrayList<String>>();
+		Map<String,String> buildings = new HashMap<String,String>();
+		Set<ArrayList<String>> pathways = new HashSet<ArrayList<String>>();
+		CampusParser.readData(nodeFile,edgeFile,dataFromIDs,buildings,pathways);
+		assertEquals(dataFromIDs.size(),132);
+		assertEquals(dataFromIDs.get("1").get(0),"Pittsburgh Building");
+		assertEquals(dataFromIDs.get("1").get(1),"424");
+		assertEquals(dataFromIDs.get("1").get(2),"1184");
+		assertEquals(buildings.get("West Hall"),"2");
+		assertEquals(pathways.contains(new ArrayList<String>(Arrays.asList("1","130"))),true);
+	}
+	
+	@Test
+	public void testParseCountsBytes() throws IOException {
+		long bytes = CampusParser.parse(nodeFile,edgeFile,recorder);
+		assertEquals(bytes,Files.size(Paths.get(nodeFile)) + Files.size(Paths.get(edgeFile)));
+		assertEquals(rows.get(0),"0:Pittsburgh Building:1:424.0:1184.0");
+	}
+	
+	@Test
+	public void testLineEndingsAndBlankLines() throws IOException {
+		String nodes = file("A,a,1.5,-2\r\n\r\n,b,0.1,1e3\n,c,12.345678901234567,7");
+		String edges = file("a,b\r\n\nc,a");
+		CampusParser.parse(nodes,edges,recorder);
+		assertEquals(rows.size(),5);
+		assertEquals(rows.get(0),"0:A:a:1.5:-2.0");
+		assertEquals(rows.get(1),"1::b:0.1:1000.0");
+		assertEquals(rows.get(2),"2::c:"+Double.parseDouble("12.345678901234567")+":7.0");
+		assertEquals(rows.get(3),"0-1");
+		assertEquals(rows.get(4),"2-0");
+	}
+	
+	@Test
+	public void testCoordinatesMatchParseDouble() throws IOException {
+		String[] values = {"0", "-0", "0.1", "0.3", "123.456", "9007199254740993", "0.000000000000000000000001", "4.35", "1.", "+8.25"};
+		StringBuilder nodes = new StringBuilder();
+		for (int i = 0; i < values.length; i++) nodes.append(",").append(i).append(",").append(values[i]).append(",0\n");
+		CampusParser.parse(file(nodes.toString()),file(""),recorder);
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(rows.get(i),i+"::"+i+":"+Double.parseDouble(values[i])+":0.0");
+		}
+	}
+	
+	@Test(expected = IOException.class)
+	public void testUnknownEdgeId() throws IOException {
+		CampusParser.parse(file("A,a,1,2\n"),file("a,z\n"),recorder);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testBadCoordinate() throws IOException {
+		CampusParser.parse(file("A,a,one,2\n"),file(""),recorder);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testMissingField() throws IOException {
+		CampusParser.parse(file("A,a,1\n"),file(""),recorder);
+	}
+}
@@ -0,0 +1,82 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+import graph.FrozenGraph;
+
+public final class DirectionTableTest {
+	CampusWrapper graph;
+	
+	@Before
+	public void SetUp() { // loads the campus graph
+		graph = new CampusWrapper("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+	}
+	
+	@Test
+	public void testEveryEdgeMatchesCoordinates() {
+		FrozenGraph<String> snapshot = graph.getSnapshot();
+		DirectionTable directions = graph.getDirections();
+		assertEquals(directions.memoryBytes(),(long) snapshot.edgeCount());
+		for (int i = 0; i < snapshot.size(); i++) {
+			for (int e = snapshot.edgesStart(i); e < snapshot.edgesEnd(i); e++) {
+				String expected = graph.getLocations().getDirection(snapshot.getLabel(i),snapshot.getLabel(snapshot.getTarget(e)));
+				assertEquals(directions.getDirection(e),expected);
+				assertEquals(directions.getDirection(i,snapshot.getTarget(e)),expected);
+			}
+		}
+	}
+	
+	@Test
+	public void testOctants() {
+		FrozenGraph<String> snapshot = graph.getSnapshot();
+		DirectionTable directions = graph.getDirections();
+		String[] names = {"North","NorthEast","East","SouthEast","South","SouthWest","West","NorthWest"};
+		for (int e = 0; e < snapshot.edgeCount(); e++) {
+			assertEquals(directions.getDirection(e),names[directions.getOctant(e)]);
+		}
+	}
+	
+	// Checks that every step of an OK route walks the edge it names, with that edge's weight
+	private void assertEdgesWalked(Route route) {
+		FrozenGraph<String> snapshot = graph.getSnapshot();
+		DirectionTable directions = graph.getDirections();
+		for (int i = 1; i < route.size(); i++) {
+			int e = route.getEdge(i);
+			assertEquals(snapshot.edgesStart(route.getNode(i-1)) <= e && e < snapshot.edgesEnd(route.getNode(i-1)),true);
+			assertEquals(snapshot.getTarget(e),route.getNode(i));
+			assertEquals(route.getDistance(i) - route.getDistance(i-1),snapshot.getWeight(e),1e-9);
+			assertEquals(directions.getDirection(e),directions.getDirection(route.getNode(i-1),route.getNode(i)));
+		}
+	}
+	
+	@Test
+	public void testRouteEdges() {
+		FrozenGraph<String> snapshot = graph.getSnapshot();
+		for (SearchMode mode : SearchMode.values()) {
+			for (int i = 0; i < snapshot.size(); i += 13) {
+				for (int j = 0; j < snapshot.size(); j += 17) {
+					Route route = graph.findRoute(snapshot.getLabel(i),snapshot.getLabel(j),mode);
+					if (route.getStatus() != Route.Status.OK) continue;
+					assertEdgesWalked(route);
+					assertEdgesWalked(route.reverse());
+				}
+			}
+		}
+		ShortestPathTree tree = graph.getShortestPathTree(snapshot.getLabel(0));
+		for (int j = 0; j < snapshot.size(); j++) {
+			Route route = tree.findRoute(j);
+			if (route.getStatus() == Route.Status.OK) assertEdgesWalked(route);
+		}
+	}
+	
+	@Test
+	public void testStepWithoutEdge() {
+		int from = graph.getSnapshot().indexOf("1");
+		int to = graph.getSnapshot().indexOf("2");
+		assertEquals(graph.getDirections().getDirection(from,to),graph.getLocations().getDirection("1","2"));
+	}
+}
@@ -0,0 +1,87 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+import graph.FrozenGraph;
+
+public final class PointRouteTest {
+	CampusWrapper graph;
+	
+	@Before
+	public void SetUp() { // loads the campus graph
+		graph = new CampusWrapper("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+	}
+	
+	@Test
+	public void testSnap() { // Troy Building 7 at (660,1149) and Ricketts Building 10 at (728,1149)
+		PathwayPoint point = graph.snap(694,1139);
+		assertEquals(graph.getSnapshot().getLabel(point.getFrom()),"7");
+		assertEquals(graph.getSnapshot().getLabel(point.getTo()),"10");
+		assertEquals(point.getFraction(),0.5,1e-9);
+		assertEquals(point.getX(),694.0,1e-9);
+		assertEquals(point.getY(),1149.0,1e-9);
+		assertEquals(point.getOffset(),10.0,1e-9);
+	}
+	
+	@Test
+	public void testSnapMatchesScan() { // compares random points with projecting onto every segment
+		SegmentIndex segments = graph.getSegments();
+		FrozenGraph<String> snapshot = graph.getSnapshot();
+		Random random = new Random(7);
+		for (int k = 0; k < 500; k++) {
+			double px = random.nextDouble() * 2000;
+			double py = random.nextDouble() * 2000;
+			double best = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < snapshot.size(); i++) {
+				for (int e = snapshot.edgesStart(i); e < snapshot.edgesEnd(i); e++) {
+					best = Math.min(best, distance(px, py, i, snapshot.getTarget(e)));
+				}
+			}
+			assertEquals(segments.snap(px,py).getOffset(),best,1e-9);
+		}
+	}
+	
+	@Test
+	public void testNoSegments() {
+		FrozenGraph<String> empty = FrozenGraph.of(new String[] {"a"}, new int[] {0,0}, new int[0], new double[0]);
+		assertNull(new SegmentIndex(empty, new double[] {1}, new double[] {1}).snap(0,0));
+	}
+	
+	@Test
+	public void testRouteOnOneSegment() {
+		PointRoute route = graph.findRoute(700,1150,680,1150);
+		assertEquals(route.isFound(),true);
+		assertEquals(route.size(),0); // walks directly back along the segment
+		assertEquals(route.getTotalDistance(),20.0,1e-9);
+	}
+	
+	@Test
+	public void testRouteThroughNode() { // from halfway along 7-10 to halfway along 10-11
+		PointRoute route = graph.findRoute(694,1149,772,1150.5);
+		assertEquals(route.isFound(),true);
+		assertEquals(route.size(),1);
+		assertEquals(graph.getSnapshot().getLabel(route.getNode(0)),"10");
+		assertEquals(route.getTotalDistance(),34 + Math.hypot(88,3) / 2,1e-9);
+	}
+	
+	@Test
+	public void testRouteBetweenBuildings() { // points on buildings cost as much as the building route
+		PointRoute route = graph.findRoute(660,1149,816,1152);
+		assertEquals(route.getTotalDistance(),graph.findRoute("7","11").getTotalDistance(),1e-9);
+	}
+	
+	// Returns the distance from (px, py) to the segment between nodes i and j
+	private double distance(double px, double py, int i, int j) {
+		double x1 = graph.getNodeX(i), y1 = graph.getNodeY(i), x2 = graph.getNodeX(j), y2 = graph.getNodeY(j);
+		double length = (x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1);
+		double t = length == 0 ? 0 : Math.max(0, Math.min(1, ((px - x1) * (x2 - x1) + (py - y1) * (y2 - y1)) / length));
+		return Math.hypot(x1 + t * (x2 - x1) - px, y1 + t * (y2 - y1) - py);
+	}
+}
@@ -0,0 +1,73 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class RouteCacheTest {
+	RouteCache two;
+	CampusWrapper graph;
+	
+	@Before
+	public void SetUp() { // initializes a cache of two routes and the graph routes come from
+		two = new RouteCache(2);
+		graph = new CampusWrapper("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+	}
+	
+	@Test
+	public void testHitsAndMisses() {
+		assertEquals(two.get("7","11"),null);
+		two.put("7","11",graph.findRoute("7","11"),two.getGeneration());
+		assertEquals(two.get("7","11").format(),"10,11,156.051");
+		assertEquals(two.getHits(),1);
+		assertEquals(two.getMisses(),1);
+	}
+	
+	@Test
+	public void testReversedPair() {
+		two.put("7","11",graph.findRoute("7","11"),two.getGeneration());
+		assertEquals(two.get("11","7").format(),"10,7,156.051");
+		assertEquals(two.get("11","7").getDistance(1),graph.findRoute("11","7").getDistance(1),0.001);
+		two.put("7","7",graph.findRoute("7","7"),two.getGeneration());
+		assertEquals(two.get("7","7").format(),"0.000");
+	}
+	
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		Route route = graph.findRoute("7","11");
+		two.put("1","2",route,two.getGeneration());
+		two.put("1","3",route,two.getGeneration());
+		two.get("1","2");
+		two.put("1","4",route,two.getGeneration());
+		assertEquals(two.size(),2);
+		assertEquals(two.getEvictions(),1);
+		assertEquals(two.get("1","3"),null);
+		assertEquals(two.get("1","2"),route);
+	}
+	
+	@Test
+	public void testClearDropsOlderSearches() {
+		Route route = graph.findRoute("7","11");
+		long generation = two.getGeneration();
+		two.put("1","2",route,generation);
+		two.clear();
+		assertEquals(two.size(),0);
+		two.put("1","3",route,generation);
+		assertEquals(two.get("1","3"),null);
+	}
+	
+	@Test
+	public void testCampusWrapperCache() {
+		assertEquals(graph.getRouteCache(),null);
+		graph.enableRouteCache(10);
+		assertEquals(graph.findPath("7","11"),"10,11,156.051");
+		assertEquals(graph.findPath("7","11"),"10,11,156.051");
+		assertEquals(graph.findPath("11","7"),"10,7,156.051");
+		assertEquals(graph.getRouteCache().getHits(),2);
+		graph.createNewGraph("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+		assertEquals(graph.getRouteCache().size(),0);
+	}
+}
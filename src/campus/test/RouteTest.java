@@ -0,0 +1,66 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class RouteTest {
+	CampusWrapper graph;
+	
+	@Before
+	public void SetUp() { // loads the campus graph
+		graph = new CampusWrapper("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+	}
+	
+	@Test
+	public void testFoundRoute() {
+		Route route = graph.findRoute("7","11");
+		assertEquals(route.getStatus(),Route.Status.OK);
+		assertEquals(route.size(),3);
+		assertEquals(route.getId(0),"7");
+		assertEquals(route.getId(1),"10");
+		assertEquals(route.getId(2),"11");
+		assertEquals(graph.getSnapshot().getLabel(route.getNode(1)),"10");
+		assertEquals(route.getDistance(0),0.0,0.0);
+		assertEquals(route.getDistance(2),route.getTotalDistance(),0.0);
+		assertEquals(route.getTotalDistance(),156.051,0.001);
+		assertEquals(route.format(),"10,11,156.051");
+	}
+	
+	@Test
+	public void testRouteToSelf() {
+		Route route = graph.findRoute("7","7");
+		assertEquals(route.getStatus(),Route.Status.OK);
+		assertEquals(route.size(),1);
+		assertEquals(route.format(),"0.000");
+	}
+	
+	@Test
+	public void testUnknownIds() {
+		Route route = graph.findRoute("999","7");
+		assertEquals(route.getStatus(),Route.Status.UNKNOWN_START);
+		assertEquals(route.getUnknownIds().length,1);
+		assertEquals(route.format(),",999");
+		route = graph.findRoute("7","998");
+		assertEquals(route.getStatus(),Route.Status.UNKNOWN_END);
+		assertEquals(route.format(),",998");
+		route = graph.findRoute("999","998");
+		assertEquals(route.getStatus(),Route.Status.UNKNOWN_START);
+		assertEquals(route.getUnknownIds()[1],"998");
+		assertEquals(route.format(),",999,998");
+		assertEquals(route.size(),0);
+		assertEquals(Double.isNaN(route.getTotalDistance()),true);
+	}
+	
+	@Test
+	public void testReverse() {
+		Route route = graph.findRoute("7","11").reverse();
+		assertEquals(route.getStart(),"11");
+		assertEquals(route.getEnd(),"7");
+		assertEquals(route.format(),"10,7,156.051");
+		assertEquals(route.getDistance(0),0.0,0.0);
+	}
+}
@@ -0,0 +1,127 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+import graph.FrozenGraph;
+
+public final class SearchModeTest {
+	CampusWrapper graph;
+	ArrayList<String> ids;
+	
+	@Before
+	public void SetUp() throws IOException { // loads the campus graph and every node id
+		graph = new CampusWrapper("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+		ids = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new FileReader("src/campus/data/RPI_map_data_Nodes.csv"));
+		String line;
+		while ((line = reader.readLine()) != null) ids.add(line.split(",")[1]);
+		reader.close();
+		ids.add("999"); // unknown id
+	}
+	
+	// Returns the cost at the end of a path string, or the whole string for errors and no path
+	private static String cost(String path) {
+		if (path.isEmpty() || path.startsWith(",")) return path;
+		return path.substring(path.lastIndexOf(",") + 1);
+	}
+	
+	// Checks that every pair of ids has the same cost in 'mode' as in Dijkstra's algorithm
+	private void assertSameCosts(SearchMode mode) {
+		for (String id1 : ids) {
+			for (String id2 : ids) {
+				assertEquals(id1 + " to " + id2, cost(graph.findPath(id1, id2, SearchMode.DIJKSTRA)), cost(graph.findPath(id1, id2, mode)));
+			}
+		}
+	}
+	
+	@Test
+	public void testDefaultMode() {
+		assertEquals(graph.getSearchMode(),SearchMode.DIJKSTRA);
+		graph.setSearchMode(SearchMode.BIDIRECTIONAL_ASTAR);
+		assertEquals(graph.getSearchMode(),SearchMode.BIDIRECTIONAL_ASTAR);
+		assertEquals(graph.findPath("7","11"),"10,11,156.051");
+	}
+	
+	@Test
+	public void testBidirectionalAStar() {
+		assertSameCosts(SearchMode.BIDIRECTIONAL_ASTAR);
+	}
+	
+	@Test
+	public void testLandmarks() {
+		assertSameCosts(SearchMode.LANDMARKS);
+		graph.setLandmarkCount(1);
+		assertEquals(graph.getLandmarkBound().getLandmarks().length,1);
+		assertSameCosts(SearchMode.LANDMARKS);
+		graph.setLandmarkCount(0);
+		assertSameCosts(SearchMode.LANDMARKS);
+	}
+	
+	@Test
+	public void testBuildingMatrix() {
+		for (String id1 : ids) {
+			for (String id2 : ids) { // lookups give the exact same routes as Dijkstra's algorithm
+				assertEquals(graph.findPath(id1, id2, SearchMode.DIJKSTRA),graph.findPath(id1, id2, SearchMode.BUILDING_MATRIX));
+			}
+		}
+		assertEquals(graph.getBuildingMatrix().distance("7","11"),156.051,0.001);
+		assertEquals(Double.isNaN(graph.getBuildingMatrix().distance("7","99")),true);
+	}
+	
+	@Test
+	public void testContractionHierarchies() {
+		assertSameCosts(SearchMode.CONTRACTION_HIERARCHIES);
+	}
+	
+	@Test
+	public void testSavedContractionHierarchy() throws IOException {
+		File file = File.createTempFile("campus", ".ch");
+		file.deleteOnExit();
+		ContractionHierarchyPathFinder built = ContractionHierarchyPathFinder.build(graph.getSnapshot());
+		built.save(file.getPath());
+		ContractionHierarchyPathFinder loaded = ContractionHierarchyPathFinder.load(file.getPath(), graph.getSnapshot());
+		assertEquals(loaded.shortcutCount(),built.shortcutCount());
+		for (String id1 : ids) {
+			for (String id2 : ids) {
+				int source = graph.getSnapshot().indexOf(id1);
+				int target = graph.getSnapshot().indexOf(id2);
+				if (source == -1 || target == -1) continue;
+				assertEquals(loaded.findRoute(source, target).format(),built.findRoute(source, target).format());
+			}
+		}
+		graph.prepareContractionHierarchy(file.getPath());
+		assertEquals(graph.findPath("7","11",SearchMode.CONTRACTION_HIERARCHIES),"10,11,156.051");
+	}
+	
+	@Test(expected = IOException.class)
+	public void testStaleContractionHierarchy() throws IOException { // same pathways, one of another length
+		File file = File.createTempFile("campus", ".ch");
+		file.deleteOnExit();
+		FrozenGraph<String> snapshot = graph.getSnapshot();
+		ContractionHierarchyPathFinder.build(snapshot).save(file.getPath());
+		String[] labels = new String[snapshot.size()];
+		int[] offsets = new int[snapshot.size() + 1];
+		int[] targets = new int[snapshot.edgeCount()];
+		double[] weights = new double[snapshot.edgeCount()];
+		for (int i = 0; i < snapshot.size(); i++) {
+			labels[i] = snapshot.getLabel(i);
+			offsets[i+1] = snapshot.edgesEnd(i);
+			for (int e = snapshot.edgesStart(i); e < snapshot.edgesEnd(i); e++) {
+				targets[e] = snapshot.getTarget(e);
+				weights[e] = snapshot.getWeight(e);
+			}
+		}
+		weights[0] += 1;
+		ContractionHierarchyPathFinder.load(file.getPath(), FrozenGraph.of(labels, offsets, targets, weights));
+	}
+}
@@ -0,0 +1,74 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class ShortestPathTreeTest {
+	CampusWrapper graph;
+	ArrayList<String> ids;
+	
+	@Before
+	public void SetUp() throws IOException { // loads the campus graph and every node id
+		graph = new CampusWrapper("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+		ids = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new FileReader("src/campus/data/RPI_map_data_Nodes.csv"));
+		String line;
+		while ((line = reader.readLine()) != null) ids.add(line.split(",")[1]);
+		reader.close();
+	}
+	
+	@Test
+	public void testTreeWalk() {
+		ShortestPathTree tree = graph.getShortestPathTree("7");
+		assertEquals(tree.getSource(),"7");
+		assertEquals(tree.findRoute("11").format(),"10,11,156.051");
+		assertEquals(String.format("%.3f", tree.distanceTo("11")),"156.051");
+		assertEquals(tree.findRoute("7").format(),"0.000");
+		assertEquals(Double.isNaN(tree.distanceTo("999")),true);
+		assertEquals(graph.getShortestPathTree("999"),null);
+	}
+	
+	@Test
+	public void testRetainedTreesMatchDijkstra() {
+		ArrayList<String> expected = new ArrayList<String>();
+		for (String id1 : ids) {
+			for (String id2 : ids) expected.add(graph.findPath(id1, id2));
+		}
+		graph.setRetainedTrees(3);
+		assertEquals(graph.getRetainedTrees(),3);
+		int i = 0;
+		for (String id1 : ids) {
+			for (String id2 : ids) assertEquals(id1 + " to " + id2, graph.findPath(id1, id2), expected.get(i++));
+		}
+	}
+	
+	@Test
+	public void testRetainedTreeReused() {
+		graph.setRetainedTrees(2);
+		ShortestPathTree tree = graph.getShortestPathTree("7");
+		assertEquals(graph.getShortestPathTree("7") == tree,true);
+		graph.getShortestPathTree("11");
+		graph.getShortestPathTree("10");
+		assertEquals(graph.getShortestPathTree("7") == tree,false); // evicted as least recently used
+		graph.setRetainedTrees(0);
+		tree = graph.getShortestPathTree("7");
+		assertEquals(graph.getShortestPathTree("7") == tree,false);
+	}
+	
+	@Test
+	public void testReloadDropsTrees() {
+		graph.setRetainedTrees(2);
+		ShortestPathTree tree = graph.getShortestPathTree("7");
+		graph.createNewGraph("src/campus/data/RPI_map_data_Nodes.csv","src/campus/data/RPI_map_data_Edges.csv");
+		assertEquals(graph.getShortestPathTree("7") == tree,false);
+	}
+}
@@ -0,0 +1,81 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class SpatialIndexTest {
+	SpatialIndex index;
+	
+	@Before
+	public void SetUp() { // indexes four buildings and an intersection between them
+		index = new CampusLocations(new String[] {"1","2","3","4","5"}, new String[] {"Hall","Lab","","Gym","Pool"}, new double[] {10,30,20,10,100}, new double[] {10,10,20,30,100}).getSpatialIndex();
+	}
+	
+	@Test
+	public void testHitTest() {
+		assertEquals(index.size(),4);
+		assertEquals(index.hitTest(12,8,5),0);
+		assertEquals(index.hitTest(28,13,5),1);
+		assertEquals(index.hitTest(20,20,5),-1); // intersections are not buildings
+		assertEquals(index.hitTest(19,10,10),0); // the nearer of two hits
+		assertEquals(index.hitTest(50,50,5),-1);
+	}
+	
+	@Test
+	public void testNearest() {
+		assertEquals(Arrays.toString(index.nearest(20,20,2)),"[0, 1]"); // as near, so by index
+		assertEquals(Arrays.toString(index.nearest(90,90,1)),"[4]");
+		assertEquals(Arrays.toString(index.nearest(0,0,10)),"[0, 1, 3, 4]"); // Lab and Gym are as near
+		assertEquals(index.nearest(0,0,0).length,0);
+	}
+	
+	@Test
+	public void testRange() {
+		assertEquals(Arrays.toString(index.range(0,0,30,10)),"[0, 1]");
+		assertEquals(Arrays.toString(index.range(0,0,100,100)),"[0, 1, 3, 4]");
+		assertEquals(index.range(40,40,60,60).length,0);
+	}
+	
+	@Test
+	public void testMatchesScan() { // compares random queries with scanning every building
+		Random random = new Random(7);
+		int n = 500;
+		String[] ids = new String[n];
+		String[] names = new String[n];
+		double[] x = new double[n];
+		double[] y = new double[n];
+		for (int i = 0; i < n; i++) {
+			ids[i] = Integer.toString(i);
+			names[i] = "Building " + i;
+			x[i] = random.nextInt(100); // repeats coordinates
+			y[i] = random.nextInt(100);
+		}
+		SpatialIndex random_index = new CampusLocations(ids,names,x,y).getSpatialIndex();
+		for (int query = 0; query < 200; query++) {
+			double px = random.nextDouble() * 100;
+			double py = random.nextDouble() * 100;
+			int[] expected = new int[n];
+			int count = 0;
+			for (int i = 0; i < n; i++) if (Math.abs(x[i] - px) <= 5 && Math.abs(y[i] - py) <= 5) expected[count++] = i;
+			assertEquals(Arrays.toString(random_index.range(px-5,py-5,px+5,py+5)),Arrays.toString(Arrays.copyOf(expected,count)));
+			Integer[] order = new Integer[n];
+			for (int i = 0; i < n; i++) order[i] = i;
+			Arrays.sort(order, (a, b) -> { // nearest first, then by index
+				double da = (x[a]-px)*(x[a]-px) + (y[a]-py)*(y[a]-py);
+				double db = (x[b]-px)*(x[b]-px) + (y[b]-py)*(y[b]-py);
+				return da != db ? Double.compare(da,db) : Integer.compare(a,b);
+			});
+			int[] nearest = random_index.nearest(px,py,5);
+			for (int k = 0; k < 5; k++) assertEquals(nearest[k],(int) order[k]);
+			int hit = Math.abs(x[order[0]] - px) <= 5 && Math.abs(y[order[0]] - py) <= 5 ? order[0] : -1;
+			if (hit != -1 || count == 0) assertEquals(random_index.hitTest(px,py,5),hit);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package campus.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import campus.*;
+
+public final class TrigramIndexTest {
+	TrigramIndex index;
+	
+	@Before
+	public void SetUp() { // indexes buildings with similar names and an intersection
+		index = new TrigramIndex(new BuildingIndex(new String[] {"Lally Hall","Sage Laboratory","Cary Hall","Troy Building","","Sage Dining Hall","Academy Hall"}, new String[] {"1","2","3","4","5","6","7"}));
+	}
+	
+	@Test
+	public void testMisspelled() {
+		assertEquals(index.suggest("Laly Hall",1),Arrays.asList("Lally Hall"));
+		assertEquals(index.suggest("troy buildng",5),Arrays.asList("Troy Building"));
+		assertEquals(index.suggest("Sage Labratory",5),Arrays.asList("Sage Laboratory"));
+		assertEquals(index.suggest("Acadmey Hall",5),Arrays.asList("Academy Hall"));
+	}
+	
+	@Test
+	public void testRanking() { // nearest first, then the names with fewest extra characters
+		assertEquals(index.suggest("Laly Hall",5),Arrays.asList("Lally Hall","Cary Hall"));
+		assertEquals(index.suggest("Sage",5),Arrays.asList("Sage Laboratory","Sage Dining Hall"));
+		assertEquals(index.suggest("Sage",1),Arrays.asList("Sage Laboratory"));
+	}
+	
+	@Test
+	public void testUnfinished() {
+		assertEquals(index.suggest("Lally",5),Arrays.asList("Lally Hall"));
+		assertEquals(index.suggest("sage din",5),Arrays.asList("Sage Dining Hall"));
+	}
+	
+	@Test
+	public void testNoSuggestion() {
+		assertEquals(index.suggest("Gymnasium",5).size(),0);
+		assertEquals(index.suggest("",5).size(),0);
+		assertEquals(index.suggest("Lally Hall",0).size(),0);
+	}
+}
@@ -79,6 +79,16 @@ public class Edge<N,E> {
             return false;
         }
     }
+    
+    /**
+     * Standard hashCode function.
+     * 
+     * @return an int that all objects equal to 'this' will also return
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * parent.hashCode() + child.hashCode()) + label.hashCode();
+    }
 	
     /**
      * Checks that the representation invariant holds (if any).
@@ -0,0 +1,17 @@
+package graph;
+
+//	EdgeVisitor is the callback of FrozenGraph.forEachEdge. It receives each edge as primitives, so
+//	a traversal visits a node's edges without creating Edge objects or boxing weights.
+
+@FunctionalInterface
+public interface EdgeVisitor {
+	
+	/**
+	 * Visits one outgoing edge of a node
+	 *
+	 * @param edge The index of the edge
+	 * @param target The node index the edge leads to
+	 * @param weight The weight of the edge
+	 */
+	public void visit(int edge, int target, double weight);
+}
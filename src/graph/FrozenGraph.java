@@ -0,0 +1,229 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+public final class FrozenGraph<N> {
+	private final N[] labels;
+	private final HashMap<N,Integer> indices;
+	private final int[] offsets;
+	private final int[] targets;
+	private final double[] weights;
+
+	//	Abstraction Function:
+	//		A FrozenGraph is an immutable compressed sparse row (CSR) snapshot of a directed weighted
+	//		graph. Every node has an int index from 0 to size()-1, and labels[i] is the label of node
+	//		i while indices maps every label back to its index. The outgoing edges of node i are the
+	//		edges offsets[i] to offsets[i+1]-1, where edge e leads to node targets[e] with weight
+	//		weights[e]. Storing adjacency as flat primitive arrays lets searches walk the graph
+	//		without touching any Node or Edge objects. The N type represents the type for node labels.
+	//	Representation Invariant for every FrozenGraph g:
+	//		offsets.length == labels.length + 1 && offsets[0] == 0
+	//		offsets[labels.length] == targets.length == weights.length
+	//		for all i from 0 <= i < labels.length:
+	//			offsets[i] <= offsets[i+1]
+	//			indices.get(labels[i]) == i
+	//		for all e from 0 <= e < targets.length:
+	//			0 <= targets[e] < labels.length
+	//
+	//		In other words:
+	//		* every node's edges form a contiguous range of the edge arrays
+	//		* the label dictionary is a bijection between labels and indices
+
+	/**
+	 * Constructs a FrozenGraph object from already built arrays. Called by Graph.freeze().
+	 *
+	 * @param labels The label of each node index
+	 * @param indices The index of each label
+	 * @param offsets The start of each node's edges, followed by the number of edges
+	 * @param targets The node index each edge leads to
+	 * @param weights The weight of each edge
+	 * @requires the arrays satisfy the representation invariant and are not modified afterwards
+	 * @effects Constructs a FrozenGraph that takes ownership of the given arrays
+	 */
+	FrozenGraph(N[] labels, HashMap<N,Integer> indices, int[] offsets, int[] targets, double[] weights) {
+		this.labels = labels;
+		this.indices = indices;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		checkRep();
+	}
+
+	/**
+	 * Returns a FrozenGraph over arrays built elsewhere, such as arrays read back from a file. The
+	 * whole representation invariant is checked, so corrupt arrays are rejected here instead of
+	 * failing a later search.
+	 *
+	 * @param labels The label of each node index
+	 * @param offsets The start of each node's edges, followed by the number of edges
+	 * @param targets The node index each edge leads to
+	 * @param weights The weight of each edge
+	 * @requires no argument is null and the arrays are not modified afterwards
+	 * @return a FrozenGraph that takes ownership of the given arrays
+	 * @throws IllegalArgumentException if the arrays violate the representation invariant
+	 */
+	public static <N> FrozenGraph<N> of(N[] labels, int[] offsets, int[] targets, double[] weights) throws IllegalArgumentException {
+		HashMap<N,Integer> indices = new HashMap<N,Integer>(labels.length * 2);
+		for (int i = 0; i < labels.length; i++) indices.put(labels[i], i);
+		if (indices.size() != labels.length || offsets.length != labels.length + 1 || offsets[0] != 0
+				|| offsets[labels.length] != targets.length || targets.length != weights.length) {
+			throw new IllegalArgumentException("The arrays do not form a graph");
+		}
+		for (int i = 0; i < labels.length; i++) {
+			if (offsets[i] > offsets[i+1]) throw new IllegalArgumentException("Node "+i+" has a negative number of edges");
+		}
+		for (int target : targets) {
+			if (target < 0 || target >= labels.length) throw new IllegalArgumentException("Edge target "+target+" is not a node");
+		}
+		return new FrozenGraph<N>(labels, indices, offsets, targets, weights);
+	}
+
+	/**
+	 * Returns the number of nodes
+	 *
+	 * @return the number of nodes in the graph
+	 */
+	public int size() {
+		return labels.length;
+	}
+
+	/**
+	 * Returns the number of edges
+	 *
+	 * @return the number of edges in the graph
+	 */
+	public int edgeCount() {
+		return targets.length;
+	}
+
+	/**
+	 * Returns the index of the node labeled 'l'
+	 *
+	 * @param l The label of the node
+	 * @return the index of the node labeled 'l', or -1 if there is no such node
+	 */
+	public int indexOf(N l) {
+		Integer index = indices.get(l);
+		if (index == null) return -1;
+		return index;
+	}
+
+	/**
+	 * Returns the label of node 'i'
+	 *
+	 * @param i The index of the node
+	 * @requires 0 <= i < size()
+	 * @return the label of node 'i'
+	 */
+	public N getLabel(int i) {
+		return labels[i];
+	}
+
+	/**
+	 * Returns the first edge index of node 'i'
+	 *
+	 * @param i The index of the node
+	 * @requires 0 <= i < size()
+	 * @return the index of the first outgoing edge of node 'i'
+	 */
+	public int edgesStart(int i) {
+		return offsets[i];
+	}
+
+	/**
+	 * Returns the edge index after the last edge of node 'i'
+	 *
+	 * @param i The index of the node
+	 * @requires 0 <= i < size()
+	 * @return the index one past the last outgoing edge of node 'i'
+	 */
+	public int edgesEnd(int i) {
+		return offsets[i+1];
+	}
+
+	/**
+	 * Returns the number of outgoing edges of node 'i'
+	 *
+	 * @param i The index of the node
+	 * @requires 0 <= i < size()
+	 * @return the out-degree of node 'i'
+	 */
+	public int degree(int i) {
+		return offsets[i+1] - offsets[i];
+	}
+
+	/**
+	 * Returns the node index edge 'e' leads to
+	 *
+	 * @param e The index of the edge
+	 * @requires 0 <= e < edgeCount()
+	 * @return the target node index of edge 'e'
+	 */
+	public int getTarget(int e) {
+		return targets[e];
+	}
+
+	/**
+	 * Returns the weight of edge 'e'
+	 *
+	 * @param e The index of the edge
+	 * @requires 0 <= e < edgeCount()
+	 * @return the weight of edge 'e'
+	 */
+	public double getWeight(int e) {
+		return weights[e];
+	}
+
+	/**
+	 * Visits the outgoing edges of node 'i' in order, without allocating
+	 *
+	 * @param i The index of the node
+	 * @param visitor The callback given each edge
+	 * @requires 0 <= i < size() && visitor != null
+	 */
+	public void forEachEdge(int i, EdgeVisitor visitor) {
+		for (int e = offsets[i]; e < offsets[i+1]; e++) visitor.visit(e, targets[e], weights[e]);
+	}
+
+	/**
+	 * Returns a snapshot of this graph with every edge reversed, so that the outgoing edges of a
+	 * node in the result are the incoming edges of that node in this graph. Node indices and
+	 * labels are the same in both snapshots, and the reversed edges of each node are in order of
+	 * the index of the edge they reverse.
+	 *
+	 * @return a FrozenGraph with the same nodes and every edge reversed
+	 */
+	public FrozenGraph<N> reverse() {
+		int[] reverse_offsets = new int[labels.length + 1];
+		for (int e = 0; e < targets.length; e++) reverse_offsets[targets[e] + 1]++;
+		for (int i = 0; i < labels.length; i++) reverse_offsets[i+1] += reverse_offsets[i];
+		int[] next = Arrays.copyOf(reverse_offsets, labels.length);
+		int[] reverse_targets = new int[targets.length];
+		double[] reverse_weights = new double[weights.length];
+		for (int i = 0; i < labels.length; i++) {
+			for (int e = offsets[i]; e < offsets[i+1]; e++) {
+				int slot = next[targets[e]]++;
+				reverse_targets[slot] = i;
+				reverse_weights[slot] = weights[e];
+			}
+		}
+		return new FrozenGraph<N>(labels, indices, reverse_offsets, reverse_targets, reverse_weights);
+	}
+
+	/**
+	 * Checks that the representation invariant holds (if any).
+	 **/
+	// Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (offsets.length != labels.length + 1 || offsets[0] != 0) {
+			throw new RuntimeException("offsets must have one entry per node plus one");
+		}
+		if (offsets[labels.length] != targets.length || targets.length != weights.length) {
+			throw new RuntimeException("offsets, targets and weights must cover the same edges");
+		}
+		if (indices.size() != labels.length) {
+			throw new RuntimeException("Every node label must have a unique index");
+		}
+	}
+}
@@ -1,20 +1,34 @@
 package graph;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
 
 public class Graph<N,E> {
-	private ArrayList<Edge<N,E>> edges;
+	private LinkedHashSet<Edge<N,E>> edges;
 	private HashMap<N,Node<N,E>> nodes;
+	private Set<Edge<N,E>> edgeView;
+	private Collection<Node<N,E>> nodeView;
+	private Validation validation = Validation.INCREMENTAL;
 	
 	//	Abstraction Function:
 	//		A Graph is a mutable collection of edges, modeling a directed labeled multigraph. 
 	//		The nodes in the graph represent a character while the edges represent a relation
 	//		between two characters (common book or number of common books). Each node has a 
 	//		unique label and no identical edges are allowed. A collection of unique nodes are 
-	//		also stored in the graph. The N type represents the type for node labels while the
-	//		E type represents the type for edge labels.
+	//		also stored in the graph. Edges are kept in a hash set that remembers the order they
+	//		were added, so adding, removing and finding an edge take constant time. The N type
+	//		represents the type for node labels while the E type represents the type for edge labels.
 	//	Representation Invariant for every Graph g:
 	//		for all i,j from 0 <= i,j < edges.size():
 	//			if i < j:
@@ -30,6 +44,10 @@ public class Graph<N,E> {
 	//		* each node in Graph g has a unique label, which doesn't need to be checked due to the
 	//		  functionality of a HashMap<String,Node> by using Node labels as keys, providing 1 node per
 	//		  unique label.
+	//		
+	//		How much of the invariant is checked depends on validation: INCREMENTAL rejects an
+	//		identical edge in constant time as it is added, and FULL also audits the whole graph after
+	//		every change.
 	
 	/**
 	 * Constructs a Graph object
@@ -37,7 +55,7 @@ public class Graph<N,E> {
 	 * @effects Constructs an empty Graph
 	 */
 	public Graph() {
-		edges = new ArrayList<Edge<N,E>>(0);
+		edges = new LinkedHashSet<Edge<N,E>>();
 		nodes = new HashMap<N,Node<N,E>>(0);
 		checkRep();
 	}
@@ -56,11 +74,10 @@ public class Graph<N,E> {
 			nodes = new HashMap<N,Node<N,E>>(n);
 		}
 		Iterator<N> keys = nodes.keySet().iterator();
-		edges = new ArrayList<Edge<N,E>>(0);
+		edges = new LinkedHashSet<Edge<N,E>>();
 		while (keys.hasNext()) {
-			ArrayList<Edge<N,E>> node_edges = nodes.get(keys.next()).getEdges();
-			for (int i = 0; i < node_edges.size(); i++) {
-				edges.add(node_edges.get(i));
+			for (Edge<N,E> e : nodes.get(keys.next()).getEdgeView()) {
+				insert(e);
 			}
 		}
 		checkRep();
@@ -75,20 +92,21 @@ public class Graph<N,E> {
 	 */
 	public Graph(ArrayList<Edge<N,E>> e) {
 		if (e == null) { // handles null array list
-			edges = new ArrayList<Edge<N,E>>(0);
-		} else {
-			edges = new ArrayList<Edge<N,E>>(e);
+			e = new ArrayList<Edge<N,E>>(0);
 		}
+		edges = new LinkedHashSet<Edge<N,E>>(Math.max(16, e.size() * 2));
 		nodes = new HashMap<N,Node<N,E>>(0);
-		for (int i = 0; i < edges.size(); i++) {
-			if (nodes.get(edges.get(i).getParent().getLabel()) == null) { // if not in map
-				nodes.put(edges.get(i).getParent().getLabel(), edges.get(i).getParent());
+		for (int i = 0; i < e.size(); i++) {
+			Edge<N,E> edge = e.get(i);
+			insert(edge);
+			if (nodes.get(edge.getParent().getLabel()) == null) { // if not in map
+				nodes.put(edge.getParent().getLabel(), edge.getParent());
 			}
-			nodes.get(edges.get(i).getParent().getLabel()).addEdge(edges.get(i));
-			if (nodes.get(edges.get(i).getChild().getLabel()) == null) { // if not in map
-				nodes.put(edges.get(i).getChild().getLabel(), edges.get(i).getChild());
+			nodes.get(edge.getParent().getLabel()).addEdge(edge);
+			if (nodes.get(edge.getChild().getLabel()) == null) { // if not in map
+				nodes.put(edge.getChild().getLabel(), edge.getChild());
 			}
-			nodes.get(edges.get(i).getChild().getLabel()).addEdge(edges.get(i));	
+			nodes.get(edge.getChild().getLabel()).addEdge(edge);	
 		}
 		checkRep();
 	}
@@ -104,9 +122,9 @@ public class Graph<N,E> {
 	 */
 	public Graph(HashMap<N,Node<N,E>> n, ArrayList<Edge<N,E>> e) {
 		if (e == null) {
-			edges = new ArrayList<Edge<N,E>>(0);
-		} else {
-			edges = new ArrayList<Edge<N,E>>(e);
+			edges = new LinkedHashSet<Edge<N,E>>();
+		} else { // identical edges are merged
+			edges = new LinkedHashSet<Edge<N,E>>(e);
 		}
 		if (n == null) {
 			nodes = new HashMap<N,Node<N,E>>(0);
@@ -116,6 +134,21 @@ public class Graph<N,E> {
 //		checkRep();
 	}
 	
+	/**
+	 * 
+	 * @return The level of representation invariant checking done as the graph changes
+	 */
+	public Validation getValidation() { return validation; }
+	
+	/**
+	 * Sets the level of representation invariant checking done as the graph changes
+	 * 
+	 * @param v The validation level
+	 * @requires v != null
+	 * @modifies validation
+	 */
+	public void setValidation(Validation v) { validation = v; }
+	
 	/**
 	 * Returns a node labeled 'l' or null if none found
 	 * 
@@ -173,8 +206,9 @@ public class Graph<N,E> {
 	public boolean addEdge(Edge<N,E> e) {
 		if (!(nodes.containsKey(e.getParent().getLabel()) && nodes.containsKey(e.getChild().getLabel()))) {
 			return false;
+		} else if (!insert(e)) { // identical edge with validation off
+			return false;
 		} else {
-			edges.add(e);
 			nodes.get(e.getParent().getLabel()).addEdge(e);
 			checkRep();
 			return true;
@@ -186,12 +220,31 @@ public class Graph<N,E> {
 	 * 
 	 * @param e The edge to be removed
 	 * @requires e != null
-	 * @modifies edges
-	 * @effects Removes e in edges if contained
+	 * @modifies edges, the nodes of e
+	 * @effects Removes e in edges and in the edges of its parent and child nodes if contained
 	 * @return true if and if only there e is successfully removed from edges
 	 */
 	public boolean removeEdge(Edge<N,E> e) {
-		return edges.remove(e);
+		if (!edges.remove(e)) {
+			return false;
+		}
+		Node<N,E> parent = nodes.get(e.getParent().getLabel());
+		if (parent != null) parent.removeEdge(e);
+		Node<N,E> child = nodes.get(e.getChild().getLabel());
+		if (child != null) child.removeEdge(e);
+		checkRep();
+		return true;
+	}
+	
+	/**
+	 * Returns true if 'e' is contained in edges
+	 * 
+	 * @param e The edge being compared with
+	 * @requires e != null
+	 * @return true if and if only there exists an edge in edges that is identical to 'e'
+	 */
+	public boolean containsEdge(Edge<N,E> e) {
+		return edges.contains(e);
 	}
 	
 	/**
@@ -203,6 +256,69 @@ public class Graph<N,E> {
 		return new ArrayList<Edge<N,E>>(edges);
 	}
 	
+	/**
+	 * Returns a read-only view of the edges in Graph, in the order they were added. The view is
+	 * not a copy, so it reflects later changes to the graph.
+	 * 
+	 * @return an unmodifiable set of edges
+	 */
+	public Set<Edge<N,E>> getEdgeView() {
+		if (edgeView == null) { // created once, as the view holds no state of its own
+			edgeView = Collections.unmodifiableSet(edges);
+		}
+		return edgeView;
+	}
+	
+	/**
+	 * Returns a read-only view of the nodes in Graph. The view is not a copy, so it reflects
+	 * later changes to the graph.
+	 * 
+	 * @return an unmodifiable collection of nodes
+	 */
+	public Collection<Node<N,E>> getNodeView() {
+		if (nodeView == null) {
+			nodeView = Collections.unmodifiableCollection(nodes.values());
+		}
+		return nodeView;
+	}
+	
+	/**
+	 * Returns a spliterator over the edges in Graph, for sequential or parallel streams. It
+	 * reads the graph directly, so the graph must not change while it is used.
+	 * 
+	 * @return a sized, distinct and ordered spliterator of edges
+	 */
+	public Spliterator<Edge<N,E>> edgeSpliterator() {
+		return getEdgeView().spliterator();
+	}
+	
+	/**
+	 * Returns a spliterator over the nodes in Graph, for sequential or parallel streams. It
+	 * reads the graph directly, so the graph must not change while it is used.
+	 * 
+	 * @return a sized and distinct spliterator of nodes
+	 */
+	public Spliterator<Node<N,E>> nodeSpliterator() {
+		return getNodeView().spliterator();
+	}
+	
+	/**
+	 * Passes every edge stored at the node labeled 'l' to 'action', without copying them
+	 * 
+	 * @param l The label of the node
+	 * @param action The action performed on each edge
+	 * @requires l != null && action != null && action does not change the node's edges
+	 * @return true if and if only there is a node labeled 'l'
+	 */
+	public boolean forEachEdge(N l, Consumer<? super Edge<N,E>> action) {
+		Node<N,E> node = nodes.get(l);
+		if (node == null) {
+			return false;
+		}
+		node.getEdgeView().forEach(action);
+		return true;
+	}
+	
 	/**
 	 * Returns the values of nodes in Graph or an empty list if there are none
 	 * 
@@ -216,17 +332,99 @@ public class Graph<N,E> {
 		}
 	}
 	
+	/**
+	 * Returns an immutable compressed sparse row snapshot of this graph, keeping each node's
+	 * edges in the order they were added
+	 * 
+	 * @param weight The function that converts an edge label to its weight
+	 * @requires weight != null
+	 * @return a FrozenGraph with the same nodes and outgoing edges as this graph
+	 */
+	public FrozenGraph<N> freeze(ToDoubleFunction<? super E> weight) {
+		return freeze(weight, null);
+	}
+	
+	/**
+	 * Returns an immutable compressed sparse row snapshot of this graph, with each node's edges
+	 * sorted by 'order'. Later changes to this graph are not reflected in the snapshot.
+	 * 
+	 * @param weight The function that converts an edge label to its weight
+	 * @param order The order of each node's edges, or null to keep the order they were added
+	 * @requires weight != null
+	 * @return a FrozenGraph with the same nodes and outgoing edges as this graph
+	 */
+	@SuppressWarnings("unchecked")
+	public FrozenGraph<N> freeze(ToDoubleFunction<? super E> weight, Comparator<? super Edge<N,E>> order) {
+		ArrayList<Node<N,E>> node_list = new ArrayList<Node<N,E>>(getNodeView());
+		N[] labels = (N[]) new Object[node_list.size()];
+		HashMap<N,Integer> indices = new HashMap<N,Integer>(node_list.size() * 2);
+		for (int i = 0; i < node_list.size(); i++) {
+			labels[i] = node_list.get(i).getLabel();
+			indices.put(labels[i], i);
+		}
+		int[] offsets = new int[labels.length + 1];
+		ArrayList<Edge<N,E>> out_edges = new ArrayList<Edge<N,E>>();
+		for (int i = 0; i < labels.length; i++) {
+			ArrayList<Edge<N,E>> node_edges = new ArrayList<Edge<N,E>>(0);
+			for (Edge<N,E> e : node_list.get(i).getEdgeView()) { // only keeps edges directed away from the node
+				if (e.getParent().getLabel().equals(labels[i]) && indices.containsKey(e.getChild().getLabel())) {
+					node_edges.add(e);
+				}
+			}
+			if (order != null) Collections.sort(node_edges, order);
+			out_edges.addAll(node_edges);
+			offsets[i+1] = out_edges.size();
+		}
+		int[] targets = new int[out_edges.size()];
+		double[] weights = new double[out_edges.size()];
+		for (int e = 0; e < out_edges.size(); e++) {
+			targets[e] = indices.get(out_edges.get(e).getChild().getLabel());
+			weights[e] = weight.applyAsDouble(out_edges.get(e).getLabel());
+		}
+		return new FrozenGraph<N>(labels, indices, offsets, targets, weights);
+	}
+	
+	/**
+	 * Audits the whole representation invariant in O(V + E) time, whatever the validation level.
+	 * The edge set is rehashed, so it also catches edges whose labels were changed after they
+	 * were added.
+	 * 
+	 * @throws RuntimeException if the representation invariant is violated
+	 */
+	public void audit() throws RuntimeException {
+		HashSet<Edge<N,E>> seen = new HashSet<Edge<N,E>>(Math.max(16, edges.size() * 2));
+		for (Edge<N,E> e : edges) {
+			if (!seen.add(e) || !edges.contains(e)) {
+				throw new RuntimeException("Edges in a Graph cannot be identical");
+			}
+		}
+		for (Map.Entry<N,Node<N,E>> entry : nodes.entrySet()) {
+			if (!entry.getKey().equals(entry.getValue().getLabel())) {
+				throw new RuntimeException("Nodes in a Graph must be stored under their label");
+			}
+		}
+	}
+	
+	// Adds e to edges, throwing a RuntimeException for an identical edge unless validation is OFF,
+	// and returns true if and if only e was added
+	private boolean insert(Edge<N,E> e) throws RuntimeException {
+		if (edges.add(e)) {
+			return true;
+		}
+		if (validation != Validation.OFF) {
+			throw new RuntimeException("Edges in a Graph cannot be identical");
+		}
+		return false;
+	}
+	
     /**
      * Checks that the representation invariant holds (if any).
      **/
-    // Throws a RuntimeException if the rep invariant is violated.
+    // Throws a RuntimeException if the rep invariant is violated. The incremental checks are done
+    // as edges are inserted, so only a FULL validation level audits here.
 	private void checkRep() throws RuntimeException {
-		for (int i = 0; i < edges.size(); i++) {
-			for (int j = 0; j < edges.size(); j++) {
-				if (i < j && (edges.get(i).equals(edges.get(j)))) {
-					throw new RuntimeException("Edges in a Graph cannot be identical");
-				}
-			}
+		if (validation == Validation.FULL) {
+			audit();
 		}
 	}
 }
\ No newline at end of file
@@ -27,10 +27,9 @@ public class GraphWrapper {
 	}
 	
 	public Iterator<String> listNodes() {
-		ArrayList<Node<String,String>> graph_nodes = graph.getNodes();
-		ArrayList<String> strings = new ArrayList<String>(0);
-		for (int i = 0; i < graph_nodes.size(); i++) {
-			strings.add(graph_nodes.get(i).getLabel());
+		ArrayList<String> strings = new ArrayList<String>(graph.getNodeView().size());
+		for (Node<String,String> node : graph.getNodeView()) {
+			strings.add(node.getLabel());
 		}
 		strings.sort(new StringComparator());
 		return strings.iterator();
@@ -41,10 +40,9 @@ public class GraphWrapper {
 		if (node == null) {
 			return null;
 		} else {
-			ArrayList<Edge<String,String>> node_edges = node.getEdges();
-			ArrayList<String> strings = new ArrayList<String>(0);
-			for (int i = 0; i < node_edges.size(); i++) {
-				strings.add(node_edges.get(i).getChild().getLabel() + "(" + node_edges.get(i).getLabel() + ")");
+			ArrayList<String> strings = new ArrayList<String>(node.getEdgeView().size());
+			for (Edge<String,String> e : node.getEdgeView()) {
+				strings.add(e.getChild().getLabel() + "(" + e.getLabel() + ")");
 			}
 			strings.sort(new StringComparator());
 			return strings.iterator();
@@ -0,0 +1,179 @@
+package graph;
+
+import java.util.Arrays;
+
+public class IndexedMinHeap {
+	private int[] heap;
+	private int[] position;
+	private double[] keys;
+	private int size;
+
+	//	Abstraction Function:
+	//		An IndexedMinHeap is a mutable priority queue of the integer ids 0 to capacity-1, where
+	//		each contained id has a double key. heap[0..size-1] is a binary heap of ids ordered by
+	//		their keys, position[id] is the index of id inside heap, or -1 if id is not contained,
+	//		and keys[id] is the current key of id. Storing the position of every id allows the key
+	//		of a contained id to be decreased in O(log n) instead of inserting a duplicate entry.
+	//	Representation Invariant for every IndexedMinHeap h:
+	//		0 <= size <= heap.length
+	//		for all i from 0 <= i < size:
+	//			position[heap[i]] == i
+	//			if i > 0: keys[heap[(i-1)/2]] <= keys[heap[i]]
+	//
+	//		In other words:
+	//		* every contained id knows where it is in the heap
+	//		* every parent key is no greater than the keys of its children
+
+	/**
+	 * Constructs an IndexedMinHeap object
+	 *
+	 * @param capacity The number of ids, 0 to capacity-1, that can be stored
+	 * @requires capacity >= 0
+	 * @effects Constructs an empty IndexedMinHeap for ids less than 'capacity'
+	 */
+	public IndexedMinHeap(int capacity) {
+		heap = new int[capacity];
+		position = new int[capacity];
+		keys = new double[capacity];
+		Arrays.fill(position, -1);
+		size = 0;
+	}
+
+	/**
+	 * Returns true if there are no ids in the heap
+	 *
+	 * @return true if and if only the heap is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of ids in the heap
+	 *
+	 * @return the number of ids in the heap
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if 'id' is in the heap
+	 *
+	 * @param id The id being checked
+	 * @requires 0 <= id < capacity
+	 * @return true if and if only 'id' is in the heap
+	 */
+	public boolean contains(int id) {
+		return position[id] != -1;
+	}
+
+	/**
+	 * Returns the key of 'id'
+	 *
+	 * @param id The id of the key
+	 * @requires contains(id)
+	 * @return the key of 'id'
+	 */
+	public double getKey(int id) {
+		return keys[id];
+	}
+
+	/**
+	 * Inserts 'id' with key 'key', or lowers the key of 'id' if it is already contained and
+	 * 'key' is smaller than its current key
+	 *
+	 * @param id The id to be inserted or updated
+	 * @param key The key of the id
+	 * @requires 0 <= id < capacity
+	 * @modifies heap, position, keys, size
+	 * @effects Inserts 'id' or decreases its key
+	 * @return true if and if only 'id' was inserted or had its key decreased
+	 */
+	public boolean insertOrDecrease(int id, double key) {
+		if (position[id] == -1) {
+			heap[size] = id;
+			position[id] = size;
+			keys[id] = key;
+			siftUp(size++);
+			return true;
+		} else if (key < keys[id]) {
+			keys[id] = key;
+			siftUp(position[id]);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the id with the smallest key without removing it
+	 *
+	 * @requires !isEmpty()
+	 * @return the id with the smallest key
+	 */
+	public int peek() {
+		return heap[0];
+	}
+
+	/**
+	 * Removes and returns the id with the smallest key
+	 *
+	 * @requires !isEmpty()
+	 * @modifies heap, position, size
+	 * @effects Removes the id with the smallest key
+	 * @return the id with the smallest key
+	 */
+	public int poll() {
+		int min = heap[0];
+		position[min] = -1;
+		if (--size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	/**
+	 * Removes every id from the heap
+	 *
+	 * @modifies position, size
+	 * @effects Empties the heap
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) position[heap[i]] = -1;
+		size = 0;
+	}
+
+	// Moves the id at heap index i up until its parent key is no greater
+	private void siftUp(int i) {
+		int id = heap[i];
+		double key = keys[id];
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[heap[parent]] <= key) break;
+			heap[i] = heap[parent];
+			position[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = id;
+		position[id] = i;
+	}
+
+	// Moves the id at heap index i down until its children keys are no smaller
+	private void siftDown(int i) {
+		int id = heap[i];
+		double key = keys[id];
+		int half = size >>> 1;
+		while (i < half) {
+			int child = 2*i + 1;
+			if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+			if (key <= keys[heap[child]]) break;
+			heap[i] = heap[child];
+			position[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = id;
+		position[id] = i;
+	}
+}
@@ -1,18 +1,23 @@
 package graph;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public class Node<N,E> {
 	private final N label;
-	private ArrayList<Edge<N,E>> edges;
+	private LinkedHashSet<Edge<N,E>> edges;
+	private Set<Edge<N,E>> edgeView;
 	
 	//	Abstraction Function:
 	//		A Node is a vertex of the graph that contains its label and list of edges to 
 	//		directed nodes. This may represent a character in marvel.csv. The edges a node 
 	//		contains simulates a relation between the child nodes of the edges with this node.
 	//		For example, a node will have edges to other nodes if they are in the same book.
-	//		The N type represents the type for node labels while the E type represents the type 
-	//		for edge labels.
+	//		The edges are kept in a hash set that remembers the order they were added, so adding,
+	//		removing and finding an edge take constant time. The N type represents the type for
+	//		node labels while the E type represents the type for edge labels.
 	//	Representation Invariant for every Graph g:
 	//		n.label != null
 	//				
@@ -28,7 +33,8 @@ public class Node<N,E> {
 	 */
 	public Node(N l) {
 		label = l;
-		edges = new ArrayList<Edge<N,E>>(0);
+		edges = new LinkedHashSet<Edge<N,E>>();
+		edgeView = Collections.unmodifiableSet(edges);
 		checkRep();
 	}
 	
@@ -42,7 +48,8 @@ public class Node<N,E> {
 	 */
 	public Node(N l, ArrayList<Edge<N,E>> e) {
 		label = l;
-		edges = new ArrayList<Edge<N,E>>(0);
+		edges = new LinkedHashSet<Edge<N,E>>(Math.max(16, e.size() * 2));
+		edgeView = Collections.unmodifiableSet(edges);
 		for (int i = 0; i < e.size(); i++) {
 			this.addEdge(e.get(i));
 		}
@@ -68,12 +75,7 @@ public class Node<N,E> {
 	 * @return true if and if only there e is successfully added to edges
 	 */
 	public boolean addEdge(Edge<N,E> e) {
-		if (containsEdge(e)) {
-			return false;
-		} else {
-			edges.add(e);
-			return true;
-		}
+		return edges.add(e);
 	}
 	
 	/**
@@ -90,7 +92,7 @@ public class Node<N,E> {
 	}
 	
 	/**
-	 * Returns a copy of the list of edges from this node
+	 * Returns a copy of the list of edges from this node, in the order they were added
 	 * 
 	 * @return a list of node's edges
 	 */
@@ -98,6 +100,16 @@ public class Node<N,E> {
 		return new ArrayList<Edge<N,E>>(edges);
 	}
 	
+	/**
+	 * Returns a read-only view of the edges from this node, in the order they were added. The
+	 * view is not a copy, so it reflects later changes to this node.
+	 * 
+	 * @return an unmodifiable set of node's edges
+	 */
+	public Set<Edge<N,E>> getEdgeView() {
+		return edgeView;
+	}
+	
 	/**
 	 * Returns true if 'e' is contained in edges
 	 * 
@@ -106,29 +118,34 @@ public class Node<N,E> {
 	 * @return true if and if only there exists an edge in edges that is identical to 'e'
 	 */
 	public boolean containsEdge(Edge<N,E> e) {
-		for (int i = 0; i < edges.size(); i++) {
-			if (edges.get(i).equals(e)) {
-				return true;
-			}
-		}
-		return false;
+		return edges.contains(e);
 	}
 	
     /**
      * Standard equality operation.
      * 
      * @param obj The object to be compared for equality.
-     * @return true if and if only the labels for 'this' and 'obj' are identical
+     * @return true if and if only the labels for 'this' and 'obj' are equal
      */
     @Override
     public boolean equals(/*@Nullable*/ Object obj) {
         if (obj instanceof Node<?,?>) {
         	Node<?,?> n = (Node<?,?>) obj;
-            return this.getLabel() == n.getLabel();
+            return this.getLabel().equals(n.getLabel());
         } else {
             return false;
         }
     }
+    
+    /**
+     * Standard hashCode function.
+     * 
+     * @return an int that all objects equal to 'this' will also return
+     */
+    @Override
+    public int hashCode() {
+        return label.hashCode();
+    }
 	
     /**
      * Checks that the representation invariant holds (if any).
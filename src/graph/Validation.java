@@ -0,0 +1,14 @@
+package graph;
+
+//	Validation is the level of representation invariant checking a Graph performs as it is built
+//	and edited. Graphs used as read-mostly data structures can turn checking off, while tests and
+//	debugging sessions can ask for a full audit after every change.
+
+public enum Validation {
+	/** No checks; adding an identical edge is silently refused */
+	OFF,
+	/** Constant-time checks of the edge being added, such as rejecting an identical edge */
+	INCREMENTAL,
+	/** The incremental checks plus a full audit of the representation after every change */
+	FULL
+}
@@ -0,0 +1,330 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.function.ToDoubleFunction;
+
+public class WeightedGraph<N> {
+	private ArrayList<N> labels;
+	private HashMap<N,Integer> indices;
+	private int[][] targets;
+	private double[][] weights;
+	private int[] degrees;
+	private int edgeCount;
+
+	//	Abstraction Function:
+	//		A WeightedGraph is a mutable directed graph with double edge weights, specialised so no
+	//		weight is boxed and no Node or Edge object is created. Every node has an int index from 0
+	//		to size()-1 in the order it was added, labels.get(i) is the label of node i, and indices
+	//		maps every label back to its index. The outgoing edges of node i are the first
+	//		degrees[i] entries of targets[i] and weights[i], in the order they were added, where the
+	//		k-th edge leads to node targets[i][k] with weight weights[i][k]. Like Graph, no identical
+	//		edges are allowed. The N type represents the type for node labels.
+	//	Representation Invariant for every WeightedGraph g:
+	//		labels.size() == indices.size() <= targets.length == weights.length == degrees.length
+	//		for all i from 0 <= i < labels.size():
+	//			indices.get(labels.get(i)) == i
+	//			0 <= degrees[i] <= targets[i].length == weights[i].length
+	//		edgeCount == the sum of degrees
+	//
+	//		In other words:
+	//		* the label dictionary is a bijection between labels and indices
+	//		* the per-node arrays have room for every edge of the node
+
+	/**
+	 * Constructs a WeightedGraph object
+	 *
+	 * @effects Constructs an empty WeightedGraph
+	 */
+	public WeightedGraph() {
+		labels = new ArrayList<N>();
+		indices = new HashMap<N,Integer>();
+		targets = new int[16][];
+		weights = new double[16][];
+		degrees = new int[16];
+		edgeCount = 0;
+		checkRep();
+	}
+
+	/**
+	 * Constructs a WeightedGraph with the same nodes and edges as a Graph
+	 *
+	 * @param graph The graph to be copied
+	 * @param weight The function that converts an edge label to its weight
+	 * @requires graph != null && weight != null
+	 * @return a WeightedGraph with the nodes of graph and every edge stored at its parent node
+	 * whose child is in graph
+	 */
+	public static <N,E> WeightedGraph<N> of(Graph<N,E> graph, ToDoubleFunction<? super E> weight) {
+		WeightedGraph<N> weighted = new WeightedGraph<N>();
+		for (Node<N,E> node : graph.getNodeView()) weighted.addNode(node.getLabel());
+		for (Node<N,E> node : graph.getNodeView()) {
+			int from = weighted.indexOf(node.getLabel());
+			for (Edge<N,E> e : node.getEdgeView()) { // only keeps edges directed away from the node
+				int to = weighted.indexOf(e.getChild().getLabel());
+				if (e.getParent().getLabel().equals(node.getLabel()) && to != -1) weighted.addEdge(from, to, weight.applyAsDouble(e.getLabel()));
+			}
+		}
+		return weighted;
+	}
+
+	/**
+	 * Returns the number of nodes
+	 *
+	 * @return the number of nodes in the graph
+	 */
+	public int size() {
+		return labels.size();
+	}
+
+	/**
+	 * Returns the number of edges
+	 *
+	 * @return the number of edges in the graph
+	 */
+	public int edgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * Adds a node labeled 'l' if there is none
+	 *
+	 * @param l The label of the node
+	 * @requires l != null
+	 * @modifies labels, indices
+	 * @effects Adds a node labeled 'l' with the next index if not contained
+	 * @return the index of the node labeled 'l'
+	 */
+	public int addNode(N l) {
+		Integer index = indices.get(l);
+		if (index != null) return index;
+		int i = labels.size();
+		if (i == degrees.length) { // doubles the room for nodes
+			targets = Arrays.copyOf(targets, i * 2);
+			weights = Arrays.copyOf(weights, i * 2);
+			degrees = Arrays.copyOf(degrees, i * 2);
+		}
+		labels.add(l);
+		indices.put(l, i);
+		targets[i] = new int[2];
+		weights[i] = new double[2];
+		checkRep();
+		return i;
+	}
+
+	/**
+	 * Returns the index of the node labeled 'l'
+	 *
+	 * @param l The label of the node
+	 * @return the index of the node labeled 'l', or -1 if there is no such node
+	 */
+	public int indexOf(N l) {
+		Integer index = indices.get(l);
+		if (index == null) return -1;
+		return index;
+	}
+
+	/**
+	 * Returns the label of node 'i'
+	 *
+	 * @param i The index of the node
+	 * @requires 0 <= i < size()
+	 * @return the label of node 'i'
+	 */
+	public N getLabel(int i) {
+		return labels.get(i);
+	}
+
+	/**
+	 * Adds an edge from node 'from' to node 'to'
+	 *
+	 * @param from The index of the parent node
+	 * @param to The index of the child node
+	 * @param weight The weight of the edge
+	 * @requires 0 <= from, to < size()
+	 * @modifies targets, weights, degrees, edgeCount
+	 * @effects Adds the edge after the other edges of 'from' if not contained
+	 * @return true if and if only the edge is successfully added
+	 */
+	public boolean addEdge(int from, int to, double weight) {
+		if (find(from, to, weight) != -1) return false;
+		int k = degrees[from];
+		if (k == targets[from].length) { // doubles the room for the node's edges
+			targets[from] = Arrays.copyOf(targets[from], k * 2);
+			weights[from] = Arrays.copyOf(weights[from], k * 2);
+		}
+		targets[from][k] = to;
+		weights[from][k] = weight;
+		degrees[from]++;
+		edgeCount++;
+		checkRep();
+		return true;
+	}
+
+	/**
+	 * Removes an edge from node 'from' to node 'to'
+	 *
+	 * @param from The index of the parent node
+	 * @param to The index of the child node
+	 * @param weight The weight of the edge
+	 * @requires 0 <= from, to < size()
+	 * @modifies targets, weights, degrees, edgeCount
+	 * @effects Removes the edge if contained, keeping the order of the other edges of 'from'
+	 * @return true if and if only the edge is successfully removed
+	 */
+	public boolean removeEdge(int from, int to, double weight) {
+		int k = find(from, to, weight);
+		if (k == -1) return false;
+		int after = degrees[from] - k - 1;
+		System.arraycopy(targets[from], k + 1, targets[from], k, after);
+		System.arraycopy(weights[from], k + 1, weights[from], k, after);
+		degrees[from]--;
+		edgeCount--;
+		checkRep();
+		return true;
+	}
+
+	/**
+	 * Returns true if there is an edge from node 'from' to node 'to' with the given weight
+	 *
+	 * @param from The index of the parent node
+	 * @param to The index of the child node
+	 * @param weight The weight of the edge
+	 * @requires 0 <= from, to < size()
+	 * @return true if and if only the edge is contained
+	 */
+	public boolean containsEdge(int from, int to, double weight) {
+		return find(from, to, weight) != -1;
+	}
+
+	/**
+	 * Returns the number of outgoing edges of node 'i'
+	 *
+	 * @param i The index of the node
+	 * @requires 0 <= i < size()
+	 * @return the out-degree of node 'i'
+	 */
+	public int degree(int i) {
+		return degrees[i];
+	}
+
+	/**
+	 * Returns the node index the k-th edge of node 'i' leads to
+	 *
+	 * @param i The index of the node
+	 * @param k The position of the edge among the edges of node 'i'
+	 * @requires 0 <= i < size() && 0 <= k < degree(i)
+	 * @return the target node index of the edge
+	 */
+	public int getTarget(int i, int k) {
+		return targets[i][k];
+	}
+
+	/**
+	 * Returns the weight of the k-th edge of node 'i'
+	 *
+	 * @param i The index of the node
+	 * @param k The position of the edge among the edges of node 'i'
+	 * @requires 0 <= i < size() && 0 <= k < degree(i)
+	 * @return the weight of the edge
+	 */
+	public double getWeight(int i, int k) {
+		return weights[i][k];
+	}
+
+	/**
+	 * Visits the outgoing edges of node 'i' in the order they were added, without allocating.
+	 * The edge index given to the visitor is the position of the edge among the edges of 'i'.
+	 *
+	 * @param i The index of the node
+	 * @param visitor The callback given each edge
+	 * @requires 0 <= i < size() && visitor != null && visitor does not change the graph
+	 */
+	public void forEachEdge(int i, EdgeVisitor visitor) {
+		for (int k = 0; k < degrees[i]; k++) visitor.visit(k, targets[i][k], weights[i][k]);
+	}
+
+	/**
+	 * Returns an immutable compressed sparse row snapshot of this graph with the same node
+	 * indices, with each node's edges sorted by weight, then by the label of the node they lead
+	 * to. Later changes to this graph are not reflected in the snapshot.
+	 *
+	 * @param labelOrder The order of child labels for edges of equal weight, or null to keep
+	 * every node's edges in the order they were added
+	 * @return a FrozenGraph with the same nodes and edges as this graph
+	 */
+	@SuppressWarnings("unchecked")
+	public FrozenGraph<N> freeze(Comparator<? super N> labelOrder) {
+		int n = labels.size();
+		N[] frozen_labels = (N[]) labels.toArray();
+		int[] offsets = new int[n + 1];
+		int[] frozen_targets = new int[edgeCount];
+		double[] frozen_weights = new double[edgeCount];
+		for (int i = 0; i < n; i++) {
+			Integer[] order = new Integer[degrees[i]];
+			for (int k = 0; k < order.length; k++) order[k] = k;
+			if (labelOrder != null) {
+				final int node = i;
+				Arrays.sort(order, (k1, k2) -> {
+					int x = Double.compare(weights[node][k1], weights[node][k2]);
+					if (x == 0) return labelOrder.compare(labels.get(targets[node][k1]), labels.get(targets[node][k2]));
+					return x;
+				});
+			}
+			offsets[i+1] = offsets[i] + order.length;
+			for (int k = 0; k < order.length; k++) {
+				frozen_targets[offsets[i] + k] = targets[i][order[k]];
+				frozen_weights[offsets[i] + k] = weights[i][order[k]];
+			}
+		}
+		return new FrozenGraph<N>(frozen_labels, new HashMap<N,Integer>(indices), offsets, frozen_targets, frozen_weights);
+	}
+
+	/**
+	 * Returns a Graph with the same nodes and edges as this graph, for callers of the Graph API.
+	 * Later changes to either graph are not reflected in the other.
+	 *
+	 * @return a Graph<N,Double> with one Node per node and one Edge per edge of this graph
+	 */
+	public Graph<N,Double> toGraph() {
+		HashMap<N,Node<N,Double>> nodes = new HashMap<N,Node<N,Double>>(labels.size() * 2);
+		ArrayList<Node<N,Double>> byIndex = new ArrayList<Node<N,Double>>(labels.size());
+		for (N l : labels) {
+			Node<N,Double> node = new Node<N,Double>(l);
+			nodes.put(l, node);
+			byIndex.add(node);
+		}
+		ArrayList<Edge<N,Double>> edges = new ArrayList<Edge<N,Double>>(edgeCount);
+		for (int i = 0; i < labels.size(); i++) {
+			for (int k = 0; k < degrees[i]; k++) {
+				Edge<N,Double> e = new Edge<N,Double>(byIndex.get(i), byIndex.get(targets[i][k]), weights[i][k]);
+				byIndex.get(i).addEdge(e);
+				edges.add(e);
+			}
+		}
+		return new Graph<N,Double>(nodes, edges);
+	}
+
+	// Returns the position of the edge among the edges of 'from', or -1 if it is not contained
+	private int find(int from, int to, double weight) {
+		for (int k = 0; k < degrees[from]; k++) {
+			if (targets[from][k] == to && Double.compare(weights[from][k], weight) == 0) return k;
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks that the representation invariant holds (if any).
+	 **/
+	// Throws a RuntimeException if the rep invariant is violated.
+	private void checkRep() throws RuntimeException {
+		if (labels.size() != indices.size() || labels.size() > degrees.length) {
+			throw new RuntimeException("Every node label must have a unique index and room for edges");
+		}
+		if (targets.length != degrees.length || weights.length != degrees.length) {
+			throw new RuntimeException("targets, weights and degrees must cover the same nodes");
+		}
+	}
+}
@@ -51,6 +51,12 @@ public final class EdgeTest {
 		assertEquals(one_one.equals(one),false);
 	}
 	
+	@Test
+	public void testHashCode() {
+		assertEquals(one_one.hashCode(),new Edge<String,String>(new Node<String,String>("1"),new Node<String,String>("1"),"1").hashCode());
+		assertEquals(one_two.hashCode(),new Edge<String,String>(new Node<String,String>(new String("1")),new Node<String,String>("2"),new String("2")).hashCode());
+	}
+	
 	@Test(expected = RuntimeException.class)
 	public void testNullParent() {
 		Edge<String,String> e = new Edge<String,String>(null,two,"3");
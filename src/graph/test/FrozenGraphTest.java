@@ -0,0 +1,119 @@
+package graph.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import graph.*;
+
+public final class FrozenGraphTest {
+	Graph<String,Double> empty, three;
+	
+	@Before
+	public void SetUp() { // initializes test graphs
+		empty = new Graph<String,Double>();
+		HashMap<String,Node<String,Double>> nodes = new HashMap<String,Node<String,Double>>();
+		nodes.put("1", new Node<String,Double>("1"));
+		nodes.put("2", new Node<String,Double>("2"));
+		nodes.put("3", new Node<String,Double>("3"));
+		three = new Graph<String,Double>(nodes);
+		three.addEdge(new Edge<String,Double>(nodes.get("1"),nodes.get("3"),5.0));
+		three.addEdge(new Edge<String,Double>(nodes.get("1"),nodes.get("2"),2.0));
+		three.addEdge(new Edge<String,Double>(nodes.get("2"),nodes.get("3"),6.0));
+	}
+	
+	@Test
+	public void testEmptyGraph() {
+		FrozenGraph<String> frozen = empty.freeze(Double::doubleValue);
+		assertEquals(frozen.size(),0);
+		assertEquals(frozen.edgeCount(),0);
+		assertEquals(frozen.indexOf("1"),-1);
+	}
+	
+	@Test
+	public void testLabelDictionary() {
+		FrozenGraph<String> frozen = three.freeze(Double::doubleValue);
+		assertEquals(frozen.size(),3);
+		for (String l : Arrays.asList("1","2","3")) {
+			assertEquals(frozen.getLabel(frozen.indexOf(l)),l);
+		}
+		assertEquals(frozen.indexOf("4"),-1);
+	}
+	
+	@Test
+	public void testAdjacencyInAddedOrder() {
+		FrozenGraph<String> frozen = three.freeze(Double::doubleValue);
+		assertEquals(frozen.edgeCount(),3);
+		int one = frozen.indexOf("1");
+		assertEquals(frozen.degree(one),2);
+		assertEquals(frozen.getLabel(frozen.getTarget(frozen.edgesStart(one))),"3");
+		assertEquals(frozen.getWeight(frozen.edgesStart(one)),5.0,0.0);
+		assertEquals(frozen.getLabel(frozen.getTarget(frozen.edgesStart(one) + 1)),"2");
+		assertEquals(frozen.degree(frozen.indexOf("2")),1);
+		assertEquals(frozen.degree(frozen.indexOf("3")),0);
+	}
+	
+	@Test
+	public void testAdjacencyInSortedOrder() {
+		Comparator<Edge<String,Double>> byWeight = (e1, e2) -> e1.getLabel().compareTo(e2.getLabel());
+		FrozenGraph<String> frozen = three.freeze(Double::doubleValue, byWeight);
+		int one = frozen.indexOf("1");
+		ArrayList<Double> weights = new ArrayList<Double>();
+		for (int e = frozen.edgesStart(one); e < frozen.edgesEnd(one); e++) weights.add(frozen.getWeight(e));
+		assertEquals(weights,Arrays.asList(2.0,5.0));
+	}
+	
+	@Test
+	public void testForEachEdge() {
+		FrozenGraph<String> frozen = three.freeze(Double::doubleValue);
+		ArrayList<String> visited = new ArrayList<String>();
+		frozen.forEachEdge(frozen.indexOf("1"), (e, target, weight) -> visited.add(frozen.getLabel(target) + "(" + weight + ")"));
+		assertEquals(visited,Arrays.asList("3(5.0)","2(2.0)"));
+	}
+	
+	@Test
+	public void testSnapshotIgnoresLaterChanges() {
+		FrozenGraph<String> frozen = three.freeze(Double::doubleValue);
+		three.addNode(new Node<String,Double>("4"));
+		three.addEdge(new Edge<String,Double>(three.getNode("3"),three.getNode("4"),1.0));
+		assertEquals(frozen.size(),3);
+		assertEquals(frozen.edgeCount(),3);
+	}
+	
+	@Test
+	public void testReverse() {
+		FrozenGraph<String> reverse = three.freeze(Double::doubleValue).reverse();
+		assertEquals(reverse.size(),3);
+		assertEquals(reverse.edgeCount(),3);
+		assertEquals(reverse.degree(reverse.indexOf("1")),0);
+		assertEquals(reverse.degree(reverse.indexOf("2")),1);
+		assertEquals(reverse.degree(reverse.indexOf("3")),2);
+		int two = reverse.indexOf("2");
+		assertEquals(reverse.getLabel(reverse.getTarget(reverse.edgesStart(two))),"1");
+		assertEquals(reverse.getWeight(reverse.edgesStart(two)),2.0,0.0);
+	}
+	
+	@Test
+	public void testOfArrays() {
+		FrozenGraph<String> frozen = FrozenGraph.of(new String[] {"a","b"}, new int[] {0,1,1}, new int[] {1}, new double[] {2.5});
+		assertEquals(frozen.indexOf("b"),1);
+		assertEquals(frozen.getTarget(frozen.edgesStart(0)),1);
+		assertEquals(frozen.getWeight(0),2.5,0.0);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testOfArraysWithBadTarget() {
+		FrozenGraph.of(new String[] {"a","b"}, new int[] {0,1,1}, new int[] {2}, new double[] {2.5});
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testOfArraysWithDuplicateLabel() {
+		FrozenGraph.of(new String[] {"a","a"}, new int[] {0,0,0}, new int[0], new double[0]);
+	}
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.stream.StreamSupport;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -149,6 +150,74 @@ public final class GraphTest {
 		test.addEdge(one_one);
 	}
 	
+	@Test
+	public void testViews() {
+		three.addEdge(one_two);
+		assertEquals(new ArrayList<Edge<String,String>>(three.getEdgeView()),Arrays.asList(one_two));
+		assertEquals(three.getEdgeView() == three.getEdgeView(),true);
+		three.addEdge(one_three);
+		assertEquals(new ArrayList<Edge<String,String>>(three.getEdgeView()),Arrays.asList(one_two,one_three));
+		assertEquals(three.getNodeView().size(),3);
+		assertEquals(StreamSupport.stream(three.nodeSpliterator(), true).count(),3);
+		assertEquals(StreamSupport.stream(three.edgeSpliterator(), true).filter(e -> e.getLabel().equals("5")).count(),1);
+		ArrayList<Edge<String,String>> visited = new ArrayList<Edge<String,String>>();
+		assertEquals(three.forEachEdge("1", visited::add),true);
+		assertEquals(visited,Arrays.asList(one_two,one_three));
+		assertEquals(three.forEachEdge("4", visited::add),false);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void testEdgeViewIsReadOnly() {
+		three.getEdgeView().add(one_two);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void testNodeViewIsReadOnly() {
+		three.getNodeView().clear();
+	}
+	
+	@Test
+	public void testValidationLevels() {
+		assertEquals(three.getValidation(),Validation.INCREMENTAL);
+		three.setValidation(Validation.OFF);
+		assertEquals(three.addEdge(one_two),true);
+		assertEquals(three.addEdge(new Edge<String,String>(new Node<String,String>("1"),new Node<String,String>("2"),"2")),false);
+		assertEquals(three.getEdges(),Arrays.asList(one_two));
+		three.setValidation(Validation.FULL);
+		assertEquals(three.addEdge(two_three),true);
+		three.audit();
+		assertEquals(three.containsEdge(two_three),true);
+		assertEquals(three.removeEdge(two_three),true);
+		assertEquals(three.containsEdge(two_three),false);
+		assertEquals(three.getNode("2").containsEdge(two_three),false);
+	}
+	
+	@Test(expected = RuntimeException.class)
+	public void testIncrementalRejectsIdenticalEdge() {
+		three.addEdge(one_two);
+		three.addEdge(new Edge<String,String>(new Node<String,String>("1"),new Node<String,String>("2"),"2"));
+	}
+	
+	@Test
+	public void testLargeGraph() { // would take hours with quadratic edge checks
+		Graph<String,String> large = new Graph<String,String>();
+		int n = 1000;
+		for (int i = 0; i < n; i++) large.addNode(new Node<String,String>("" + i));
+		ArrayList<Edge<String,String>> added = new ArrayList<Edge<String,String>>();
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < 100; j++) {
+				Edge<String,String> e = new Edge<String,String>(large.getNode("" + i),large.getNode("" + ((i + j) % n)),"" + j);
+				assertEquals(large.addEdge(e),true);
+				added.add(e);
+			}
+		}
+		assertEquals(large.getEdges().size(),100000);
+		for (int i = 0; i < added.size(); i += 2) assertEquals(large.removeEdge(added.get(i)),true);
+		assertEquals(large.getEdges().size(),50000);
+		assertEquals(large.containsEdge(added.get(1)),true);
+		large.audit();
+	}
+	
 	@Test
 	public void testNullEdges() {
 		Graph<String,String> test = new Graph<String,String>((ArrayList<Edge<String,String>>) null);
@@ -0,0 +1,68 @@
+package graph.test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import graph.*;
+
+public final class IndexedMinHeapTest {
+	IndexedMinHeap zero, five;
+
+	@Before
+	public void SetUp() { // tests heap constructor and initializes test heaps
+		zero = new IndexedMinHeap(0);
+		five = new IndexedMinHeap(5);
+	}
+
+	@Test
+	public void testEmptyHeap() {
+		assertEquals(zero.isEmpty(),true);
+		assertEquals(zero.size(),0);
+		assertEquals(five.isEmpty(),true);
+		assertEquals(five.contains(0),false);
+	}
+
+	@Test
+	public void testPollingInKeyOrder() {
+		assertEquals(five.insertOrDecrease(3,3.0),true);
+		assertEquals(five.insertOrDecrease(1,1.0),true);
+		assertEquals(five.insertOrDecrease(4,4.0),true);
+		assertEquals(five.insertOrDecrease(0,0.5),true);
+		assertEquals(five.insertOrDecrease(2,2.0),true);
+		assertEquals(five.size(),5);
+		assertEquals(five.poll(),0);
+		assertEquals(five.poll(),1);
+		assertEquals(five.poll(),2);
+		assertEquals(five.poll(),3);
+		assertEquals(five.poll(),4);
+		assertEquals(five.isEmpty(),true);
+	}
+
+	@Test
+	public void testDecreaseKey() {
+		five.insertOrDecrease(0,5.0);
+		five.insertOrDecrease(1,3.0);
+		assertEquals(five.insertOrDecrease(0,6.0),false);
+		assertEquals(five.getKey(0),5.0,0.0);
+		assertEquals(five.insertOrDecrease(0,1.0),true);
+		assertEquals(five.getKey(0),1.0,0.0);
+		assertEquals(five.size(),2);
+		assertEquals(five.peek(),0);
+		assertEquals(five.poll(),0);
+		assertEquals(five.contains(0),false);
+		assertEquals(five.contains(1),true);
+	}
+
+	@Test
+	public void testClear() {
+		five.insertOrDecrease(2,2.0);
+		five.insertOrDecrease(4,1.0);
+		five.clear();
+		assertEquals(five.isEmpty(),true);
+		assertEquals(five.contains(2),false);
+		assertEquals(five.insertOrDecrease(2,7.0),true);
+		assertEquals(five.poll(),2);
+	}
+}
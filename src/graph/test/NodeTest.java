@@ -82,6 +82,27 @@ public final class NodeTest {
 		assertEquals(one.equals(one_one),false);
 	}
 	
+	@Test
+	public void testEdgeView() {
+		one.addEdge(one_one);
+		assertEquals(new ArrayList<Edge<String,String>>(one.getEdgeView()),Arrays.asList(one_one));
+		one.addEdge(one_two);
+		assertEquals(one.getEdgeView().size(),2);
+		assertEquals(one.getEdgeView().contains(one_two),true);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void testEdgeViewIsReadOnly() {
+		one.getEdgeView().remove(one_one);
+	}
+	
+	@Test
+	public void testHashCode() {
+		assertEquals(one.hashCode(),new Node<String,String>("1").hashCode());
+		assertEquals(one.equals(new Node<String,String>(new String("1"))),true);
+		assertEquals(one.hashCode(),new Node<String,String>(new String("1")).hashCode());
+	}
+	
 	@Test
 	public void testContainsEdge() {
 		Node<String,String> four = new Node<String,String>("4",new ArrayList<Edge<String,String>>(Arrays.asList(one_one,one_one_2)));
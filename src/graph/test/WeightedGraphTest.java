@@ -0,0 +1,111 @@
+package graph.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import graph.*;
+	
+public final class WeightedGraphTest {
+	WeightedGraph<String> empty, three;
+	
+	@Before
+	public void SetUp() { // initializes test graphs
+		empty = new WeightedGraph<String>();
+		three = new WeightedGraph<String>();
+		int one = three.addNode("1");
+		int two = three.addNode("2");
+		int tri = three.addNode("3");
+		three.addEdge(one,tri,5.0);
+		three.addEdge(one,two,2.0);
+		three.addEdge(two,tri,6.0);
+	}
+	
+	@Test
+	public void testEmptyGraph() {
+		assertEquals(empty.size(),0);
+		assertEquals(empty.edgeCount(),0);
+		assertEquals(empty.indexOf("1"),-1);
+		assertEquals(empty.freeze(null).size(),0);
+	}
+	
+	@Test
+	public void testAddNode() {
+		assertEquals(three.size(),3);
+		assertEquals(three.addNode("2"),1);
+		assertEquals(three.size(),3);
+		assertEquals(three.getLabel(three.indexOf("3")),"3");
+		for (int i = 0; i < 100; i++) empty.addNode("n" + i);
+		assertEquals(empty.size(),100);
+		assertEquals(empty.indexOf("n99"),99);
+	}
+	
+	@Test
+	public void testEdges() {
+		assertEquals(three.edgeCount(),3);
+		assertEquals(three.degree(0),2);
+		assertEquals(three.getTarget(0,0),2);
+		assertEquals(three.getWeight(0,1),2.0,0.0);
+		assertEquals(three.addEdge(0,2,5.0),false);
+		assertEquals(three.addEdge(0,2,7.0),true);
+		assertEquals(three.containsEdge(0,2,7.0),true);
+		assertEquals(three.removeEdge(0,2,5.0),true);
+		assertEquals(three.removeEdge(0,2,5.0),false);
+		assertEquals(three.degree(0),2);
+		assertEquals(three.getTarget(0,0),1);
+		assertEquals(three.getWeight(0,1),7.0,0.0);
+		assertEquals(three.edgeCount(),3);
+	}
+	
+	@Test
+	public void testManyEdges() {
+		int hub = empty.addNode("hub");
+		for (int i = 0; i < 50; i++) empty.addEdge(hub,empty.addNode("n" + i),i);
+		assertEquals(empty.degree(hub),50);
+		assertEquals(empty.getWeight(hub,49),49.0,0.0);
+		double[] sum = new double[1];
+		empty.forEachEdge(hub, (e, target, weight) -> sum[0] += weight);
+		assertEquals(sum[0],1225.0,0.0);
+	}
+	
+	@Test
+	public void testFreezeSortsByWeightThenLabel() {
+		three.addEdge(0,2,2.0);
+		FrozenGraph<String> frozen = three.freeze(String::compareTo);
+		assertEquals(frozen.edgeCount(),4);
+		int start = frozen.edgesStart(frozen.indexOf("1"));
+		assertEquals(frozen.getLabel(frozen.getTarget(start)),"2");
+		assertEquals(frozen.getLabel(frozen.getTarget(start + 1)),"3");
+		assertEquals(frozen.getWeight(start + 1),2.0,0.0);
+		assertEquals(frozen.getWeight(start + 2),5.0,0.0);
+		FrozenGraph<String> added = three.freeze(null);
+		assertEquals(added.getWeight(added.edgesStart(0)),5.0,0.0);
+	}
+	
+	@Test
+	public void testGraphAdapter() {
+		Graph<String,Double> graph = three.toGraph();
+		assertEquals(graph.getNodeView().size(),3);
+		assertEquals(graph.getEdgeView().size(),3);
+		assertEquals(graph.getNode("1").getEdgeView().size(),2);
+		WeightedGraph<String> copy = WeightedGraph.of(graph, Double::doubleValue);
+		assertEquals(copy.size(),3);
+		assertEquals(copy.edgeCount(),3);
+		assertEquals(copy.containsEdge(copy.indexOf("2"),copy.indexOf("3"),6.0),true);
+	}
+	
+	@Test
+	public void testAdapterKeepsOnlyOutgoingEdges() {
+		HashMap<String,Node<String,Double>> nodes = new HashMap<String,Node<String,Double>>();
+		nodes.put("a", new Node<String,Double>("a"));
+		nodes.put("b", new Node<String,Double>("b"));
+		Graph<String,Double> graph = new Graph<String,Double>(nodes);
+		graph.addEdge(new Edge<String,Double>(nodes.get("a"),nodes.get("b"),1.5));
+		WeightedGraph<String> copy = WeightedGraph.of(graph, Double::doubleValue);
+		assertEquals(copy.edgeCount(),1);
+		assertEquals(copy.degree(copy.indexOf("b")),0);
+	}
+}
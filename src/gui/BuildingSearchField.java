@@ -0,0 +1,129 @@
+package gui;
+
+import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import campus.BuildingIndex;
+import campus.TrigramIndex;
+
+//	BuildingSearchField is not an ADT, but a subtype of JPanel. It represents an incremental search
+//	field for selecting a building by name, which replaces a drop-down menu of every building. Each
+//	keystroke restarts a short timer, and once typing pauses the matching names are looked up in the
+//	prefix trie of a BuildingIndex on a worker thread, so the event dispatch thread never filters
+//	the names however many buildings the campus has. Only the first matches are listed, and if no
+//	name starts with the typed text, the names closest to it are suggested from a TrigramIndex.
+class BuildingSearchField extends JPanel {
+	private static final long serialVersionUID = 6120407953388142071L;
+	// The milliseconds typing must pause before the names are filtered
+	private static final int DEBOUNCE_DELAY = 150;
+	// The largest number of names listed at once
+	private static final int MATCH_LIMIT = 500;
+	// The largest number of names suggested for a misspelled name
+	private static final int SUGGESTION_LIMIT = 10;
+	private BuildingIndex index;
+	private TrigramIndex trigrams;
+	private JTextField text;
+	private JList<String> matches;
+	private Timer debounce;
+	private int generation;
+
+	/**
+	 * Constructs a BuildingSearchField object
+	 *
+	 * @param title The label shown above the field
+	 * @param index The index of the buildings to search
+	 * @param trigrams The trigram index of the names of index
+	 * @requires index != null && trigrams != null
+	 * @effects Creates a BuildingSearchField listing the first buildings of index
+	 */
+	public BuildingSearchField(String title, BuildingIndex index, TrigramIndex trigrams) {
+		super(new BorderLayout());
+		this.index = index;
+		this.trigrams = trigrams;
+		text = new JTextField(20);
+		matches = new JList<String>();
+		matches.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		matches.setVisibleRowCount(12);
+		debounce = new Timer(DEBOUNCE_DELAY, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				filter();
+			}
+		});
+		debounce.setRepeats(false);
+		text.getDocument().addDocumentListener(new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent e) { debounce.restart(); }
+
+			@Override
+			public void removeUpdate(DocumentEvent e) { debounce.restart(); }
+
+			@Override
+			public void changedUpdate(DocumentEvent e) { debounce.restart(); }
+		});
+		JPanel top = new JPanel(new BorderLayout());
+		top.add(new JLabel(title),BorderLayout.NORTH);
+		top.add(text,BorderLayout.CENTER);
+		add(top,BorderLayout.NORTH);
+		add(new JScrollPane(matches),BorderLayout.CENTER);
+		filter();
+	}
+
+	/**
+	 * Returns the selected building, which is the selected name in the list, else the typed name if
+	 * it is a building, else the only listed name
+	 *
+	 * @return the selected building name, or null if no building is selected
+	 */
+	public String getSelectedName() {
+		String selected = matches.getSelectedValue();
+		if (selected != null) return selected;
+		if (index.indexOf(text.getText()) != -1) return text.getText();
+		if (matches.getModel().getSize() == 1) return matches.getModel().getElementAt(0);
+		return null;
+	}
+
+	/**
+	 * Looks up the names starting with the typed text, or else the names closest to it, on a worker
+	 * thread, then lists them unless the text changed in the meantime
+	 *
+	 * @modifies generation, matches
+	 */
+	private void filter() {
+		final int current = ++generation;
+		final String prefix = text.getText();
+		new SwingWorker<List<String>,Void>() {
+			@Override
+			protected List<String> doInBackground() {
+				List<String> names = index.complete(prefix, MATCH_LIMIT);
+				if (names.isEmpty()) names = trigrams.suggest(prefix, SUGGESTION_LIMIT);
+				return names;
+			}
+
+			@Override
+			protected void done() {
+				if (current != generation) return; // a later filter replaces these names
+				try {
+					List<String> names = get();
+					matches.setListData(names.toArray(new String[names.size()]));
+				} catch (InterruptedException | ExecutionException e) {
+					matches.setListData(new String[0]);
+				}
+			}
+		}.execute();
+	}
+}
@@ -4,15 +4,25 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.JPanel;
 import javax.swing.Timer;
 
@@ -22,18 +32,34 @@ import javax.swing.Timer;
 //	calculations behind the painting
 class MapPanel extends JPanel {
 	private static final long serialVersionUID = -4067234593881149800L;
+	// The map is decoded whole only if its pixels take at most this part of the heap, and otherwise
+	// decoded region by region as it is viewed
+	private static final int DECODE_FRACTION = 8;
+	// The part of the heap the tiles of the map may take
+	private static final int CACHE_FRACTION = 16;
+	// The map pixels of route drawn per second unless set otherwise
+	static final double DEFAULT_SPEED = 400;
+	// The milliseconds between frames of the animation, which caps it at about 60 frames a second
+	private static final int FRAME_DELAY = 16;
+	// The stroke of the route's lines and endpoint circles
+	private static final BasicStroke STROKE = new BasicStroke(10);
+	// The map pixels around a line or circle that its stroke may cover. Every hop is its own
+	// subpath, so there are no joins, but the square caps of a diagonal line reach half the width
+	// times sqrt(2) past its end.
+	private static final int STROKE_MARGIN = (int) Math.ceil(STROKE.getLineWidth() / 2 * Math.sqrt(2));
 	private String imagePath;
-	private BufferedImage img;
+	private MapTiles tiles; // the pyramid of scaled tiles the map is painted from
 	private ArrayList<Integer> coords;
+	private Path2D.Double route; // the finished lines of the route, in map coordinates
+	private ArrayList<int[]> markers; // the color, x and y of each endpoint circle
 	private boolean draw;
 	private boolean unzoom;
-	private boolean change_x;
-	private double b;
-	private double x1;
-	private double x2;
-	private double y1;
+	private double x2; // the point the line being drawn has reached
 	private double y2;
-	private double slope;
+	private double speed = DEFAULT_SPEED;
+	private Timer timer;
+	private long startTime; // when the animation started, in System.nanoTime()
+	private double hopStart; // how far along the route the line being drawn starts
 	private int iter;
 	private int x_zoom;
 	private int y_zoom;
@@ -42,18 +68,49 @@ class MapPanel extends JPanel {
 	private int mapSize;
 	
 	/**
-	 * Constructs a MapPanel object
+	 * Constructs a MapPanel object, decoding the campus map image once if it fits in memory and
+	 * otherwise only the regions of it that are viewed
 	 * 
 	 * @param path The path of the image
-	 * @throws IOException
-	 * @modifies imagePath
+	 * @modifies imagePath, tiles, mapSize
 	 * @effects Creates a MapPanel object
 	 */
 	public MapPanel(String path) {
 		imagePath = path;
+		long heap = Runtime.getRuntime().maxMemory();
+		try { // obtains the square campus map at the top of the image
+			ImageInputStream input = ImageIO.createImageInputStream(new File(imagePath));
+			Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+			if (readers == null || !readers.hasNext()) throw new IOException("Cannot read the image " + imagePath);
+			ImageReader reader = readers.next();
+			reader.setInput(input, false, true);
+			int side = Math.min(reader.getWidth(0), reader.getHeight(0));
+			if ((long) side * side * 4 > heap / DECODE_FRACTION) tiles = new MapTiles(reader, side, side, heap / CACHE_FRACTION, this::repaint);
+			else { // decodes it whole into the pixel format of the screen
+				BufferedImage full_img = reader.read(0);
+				reader.dispose();
+				input.close();
+				BufferedImage img = compatibleImage(side, side);
+				Graphics2D g2 = img.createGraphics();
+				g2.drawImage(full_img, 0, 0, null);
+				g2.dispose();
+				tiles = new MapTiles(img, heap / CACHE_FRACTION, this::repaint);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			tiles = new MapTiles(compatibleImage(1, 1), heap / CACHE_FRACTION, this::repaint);
+		}
+		mapSize = (int)(tiles.getWidth()*(30/75.0));
 		clearDrawings();
 	}
 	
+	// Returns an opaque image of the given size in the pixel format of the screen, so drawing it
+	// needs no conversion
+	private static BufferedImage compatibleImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration().createCompatibleImage(width, height, Transparency.OPAQUE);
+	}
+	
 	/**
 	 * 
 	 * @return whether the path is still being drawn or not
@@ -61,26 +118,22 @@ class MapPanel extends JPanel {
 	public boolean getDraw() { return draw; }
 	
 	/**
-	 * Sets iter to 0 and empties elements in coords, if and if only draw is true
+	 * Sets iter to 0 and empties coords and the route overlay, if and only if draw is false. The
+	 * base map is left untouched, so nothing is read again
 	 * 
-	 * @modifies  unzoom, iter, coords, img, x_zoom, y_zoom, w_zoom, h_zoom, mapSize
+	 * @modifies unzoom, iter, coords, route, markers, x_zoom, y_zoom, w_zoom, h_zoom
 	 */
 	public void clearDrawings() {
 		if (draw) return;
 		unzoom = true;
 		iter = 0;
 		coords = new ArrayList<Integer>();
-		try { // obtains the campus map image and initializes zoom variables 
-			BufferedImage full_img = ImageIO.read(new File(imagePath));
-			img = full_img.getSubimage(0, 0, full_img.getWidth(), full_img.getWidth());
-			x_zoom = 0;
-			y_zoom = 0;
-			w_zoom = img.getWidth();
-			h_zoom = img.getHeight();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		mapSize = (int)(img.getWidth()*(30/75.0));
+		route = new Path2D.Double();
+		markers = new ArrayList<int[]>();
+		x_zoom = 0;
+		y_zoom = 0;
+		w_zoom = tiles.getWidth();
+		h_zoom = tiles.getHeight();
 	}
 	
 	/**
@@ -127,8 +180,8 @@ class MapPanel extends JPanel {
 	 */
 	public void zoomMove(int x, int y) {
 		unzoom = false;
-		if (x > 0) x_zoom = Math.min(x_zoom + x, img.getWidth() - w_zoom);
-		if (y > 0) y_zoom = Math.min(y_zoom + y, img.getHeight() - h_zoom);
+		if (x > 0) x_zoom = Math.min(x_zoom + x, tiles.getWidth() - w_zoom);
+		if (y > 0) y_zoom = Math.min(y_zoom + y, tiles.getHeight() - h_zoom);
 		if (x < 0) x_zoom = Math.max(x_zoom + x, 0);
 		if (y < 0) y_zoom = Math.max(y_zoom + y, 0);
 	}
@@ -156,8 +209,8 @@ class MapPanel extends JPanel {
 		unzoom = false;
 		x_zoom = Math.max(x_zoom - 50, 0);
 		y_zoom = Math.max(y_zoom - 50, 0);
-		w_zoom = Math.min(w_zoom + 100, img.getWidth() - x_zoom);
-		h_zoom = Math.min(h_zoom + 100, img.getHeight() - y_zoom);
+		w_zoom = Math.min(w_zoom + 100, tiles.getWidth() - x_zoom);
+		h_zoom = Math.min(h_zoom + 100, tiles.getHeight() - y_zoom);
 	}
 	
 	/**
@@ -198,133 +251,178 @@ class MapPanel extends JPanel {
 	}
 	
 	/**
-	 * Delays drawing each line by incrementing by the pixel every 1 millisecond
 	 * 
-	 * @modifies iter, x1, y1, x2, y2
+	 * @return The map pixels of route drawn per second
+	 */
+	public double getSpeed() { return speed; }
+	
+	/**
+	 * Sets how fast the route is drawn, carrying on from the point already reached if it is being
+	 * drawn
+	 * 
+	 * @param speed The map pixels of route drawn per second
+	 * @requires speed > 0
+	 * @modifies speed, startTime
+	 */
+	public void setSpeed(double speed) {
+		long now = System.nanoTime();
+		double distance = (now - startTime) / 1e9 * this.speed;
+		this.speed = speed;
+		startTime = now - (long) (distance / speed * 1e9);
+	}
+	
+	/**
+	 * Draws the route over time, a frame at most every FRAME_DELAY milliseconds. Each frame draws as
+	 * much of the route as speed allows for the time since the start, however late the frame is, and
+	 * repaints only the part of the panel that the new part of the route covers
+	 * 
+	 * @modifies iter, x2, y2, hopStart, startTime, timer, route, markers, draw
 	 */
 	public void animate() {
+		if (timer != null) timer.stop();
 		calculateZoomVariables();
 		if (coords.isEmpty()) return;
-		updateRouteVariables();
-		if (x1 == coords.get(iter+2) && y1 == coords.get(iter+3)) { // if path to self, repaints and exits
+		x2 = coords.get(iter);
+		y2 = coords.get(iter+1);
+		hopStart = 0;
+		if (x2 == coords.get(iter+2) && y2 == coords.get(iter+3)) { // if path to self, marks it, repaints and exits
+			drawEndpoint(2, coords.get(iter), coords.get(iter+1));
+			draw = false;
 			repaint();
 			return;
 		}
-		Timer timer = new Timer(0, new ActionListener() { // delays each pixel drawing to looked animated
+		drawEndpoint(0, coords.get(iter), coords.get(iter+1));
+		repaint();
+		startTime = System.nanoTime();
+		timer = new Timer(FRAME_DELAY, new ActionListener() { // draws the route a frame at a time
 			
 			/**
-			 * Iterates to the next pixel value in the path
+			 * Draws the route as far as the time since the start allows
 			 * 
-			 * @modifies iter, x1, y1, x2, y2
+			 * @modifies iter, x2, y2, hopStart, route, markers, draw
 			 */
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				repaint();
-				if ((change_x && x2 == coords.get(iter+2)) || (!change_x && y2 == coords.get(iter+3))) { // if end of line has been reached 
-					iter += 4;
-					if (iter >= coords.size()) { // if end of the entire path has been reached
-						Timer sourceTimer = (Timer) e.getSource();
-						sourceTimer.stop();
-					} else {
-						updateRouteVariables();
-					}
-				} else { // updates route variables
-					if (change_x) { // if incrementing by x
-						if (x1 < coords.get(iter+2)) { // if target x is greater
-							++x1;
-							++x2;
-						} else {
-							--x1;
-							--x2;
-						}
-						y1 = y2;
-						y2 = slope*x2 + b;
-					} else { // if incrementing by y
-						if (y1 < coords.get(iter+3)) { // if target y is greater
-							++y1;
-							++y2;
-						} else {
-							--y1;
-							--y2;
-						}
-						x1 = x2;
-						x2 = (y2 - b) / slope;
-					}
-				}
+				advance((System.nanoTime() - startTime) / 1e9 * speed);
 			}
 		});
-		timer.setRepeats(true);
+		timer.setCoalesce(true);
 		timer.start();
 	}
 	
 	/**
-	 * Updates the variables after a line is finished being drawn
+	 * Finishes drawing the route at once, if it is being drawn
 	 * 
-	 * @modifies x1, y1, x2, y2, b, slope, change_x
+	 * @modifies iter, x2, y2, hopStart, route, markers, draw
 	 */
-	private void updateRouteVariables() {
-		x1 = coords.get(iter);
-		y1 = coords.get(iter+1);
-		slope = (coords.get(iter+3) - coords.get(iter+1)) / (double) (coords.get(iter+2) - coords.get(iter));
-		b = y1 - (slope*x1);
-		if (Math.abs(coords.get(iter+3) - y2) > Math.abs(coords.get(iter+2) - x2)) { // iterates by y
-			change_x = false;
-			if (y1 < coords.get(iter+3)) y2 = y1 + 1;
-			else y2 = y1 - 1;
-			x2 = (y2 - b) / slope;
-		} else { // iterates by x
-			change_x = true;
-			if (x1 < coords.get(iter+2)) x2 = x1 + 1;
-			else x2 = x1 - 1;
-			y2 = slope*x2 + b;
-		}
+	public void skipToEnd() {
+		if (draw && timer != null && timer.isRunning()) advance(Double.POSITIVE_INFINITY);
 	}
-	 /**
-	  * Draws a circle around the route endpoint
-	  * 
-	  * @param color 0 for green, 1 for red, 2 for yellow
-	  * @param x The x coordinate
-	  * @param y The y coordinate
-	  */
-	public void drawEndpoint(int color, int x, int y) {
-		Graphics2D g2 = img.createGraphics();
-		g2.setStroke(new BasicStroke(10));
-		if (color == 0) {
-			g2.setColor(Color.green);
-		} else if (color == 1){
-			g2.setColor(Color.red);
-		} else {
-			g2.setColor(Color.yellow);
+	
+	// Draws the route up to a distance along it, stopping the animation once it is all drawn, and
+	// repaints what was drawn
+	private void advance(double distance) {
+		Rectangle2D.Double drawn = new Rectangle2D.Double(x2, y2, 0, 0);
+		while (iter < coords.size()) {
+			double hop_x = coords.get(iter+2) - coords.get(iter);
+			double hop_y = coords.get(iter+3) - coords.get(iter+1);
+			double length = Math.sqrt(hop_x * hop_x + hop_y * hop_y);
+			if (hopStart + length > distance) { // the line being drawn ends within this hop
+				double fraction = (distance - hopStart) / length;
+				x2 = coords.get(iter) + fraction * hop_x;
+				y2 = coords.get(iter+1) + fraction * hop_y;
+				drawn.add(x2, y2);
+				break;
+			}
+			route.moveTo(coords.get(iter), coords.get(iter+1));
+			route.lineTo(coords.get(iter+2), coords.get(iter+3));
+			x2 = coords.get(iter+2);
+			y2 = coords.get(iter+3);
+			drawn.add(x2, y2);
+			hopStart += length;
+			iter += 4;
 		}
-		g2.drawOval(x - 15, y - 15, 30, 30);
+		double margin = STROKE_MARGIN;
+		if (iter >= coords.size()) { // if end of the entire path has been reached
+			drawEndpoint(1, coords.get(iter-2), coords.get(iter-1));
+			draw = false;
+			timer.stop();
+			margin += 15; // the radius of the circle
+		}
+		repaintMap(drawn, margin);
 	}
 	
-	// Paints to the map
-	@Override
-	protected void paintComponent(Graphics g) {
-		super.paintComponent(g);
+	// Repaints the part of the panel showing a rectangle of the map grown by a margin
+	private void repaintMap(Rectangle2D area, double margin) {
+		Rectangle2D.Double grown = new Rectangle2D.Double(area.getX() - margin, area.getY() - margin, area.getWidth() + 2 * margin, area.getHeight() + 2 * margin);
+		Rectangle bounds = mapToPanel(viewport()).createTransformedShape(grown).getBounds();
+		bounds.grow(1, 1); // for antialiased edges
+		repaint(bounds);
+	}
+	
+	// Returns the x, y, width and height of the part of the map shown, then the x, y and size of the
+	// square of the panel it is shown in
+	private int[] viewport() {
 		int x_difference = getWidth() - mapSize;
 		int y_difference = getHeight() - mapSize;
 		int min_difference = Math.min(x_difference, y_difference);
 		int	new_x = (int) (x_difference/2.0 - min_difference/2.0);
 		int	new_y = (int) (y_difference/2.0 - min_difference/2.0);
-		if (draw) { // if drawing
-			Graphics2D g2 = img.createGraphics();
-			g2.setStroke(new BasicStroke(10));
-			if (iter == 0) { // draws departure endpoint
-				if ((coords.get(iter).equals(coords.get(iter+2))) && (coords.get(iter+1).equals(coords.get(iter+3)))) { // if path to self
-					drawEndpoint(2,coords.get(iter),coords.get(iter+1));
-					draw = false;
-				} else drawEndpoint(0,coords.get(iter),coords.get(iter+1));
-			}
-			g2.setColor(Color.black);
-			g2.draw(new Line2D.Double(x1, y1, x2, y2));
-			if (iter == coords.size()) { // draws destination endpoint
-				drawEndpoint(1,coords.get(iter-2),coords.get(iter-1));
-				draw = false;
+		int size = mapSize + min_difference;
+		if (unzoom) return new int[] {0, 0, tiles.getWidth(), tiles.getHeight(), new_x, new_y, size};
+		// shows only the zoomed part of the map
+		return new int[] {Math.max(x_zoom, 0), Math.max(y_zoom, 0), Math.min(w_zoom, tiles.getWidth() - x_zoom), Math.min(h_zoom, tiles.getHeight() - y_zoom), new_x, new_y, size};
+	}
+	
+	// Returns the transform from map coordinates to panel coordinates of a viewport
+	private static AffineTransform mapToPanel(int[] view) {
+		AffineTransform toPanel = new AffineTransform();
+		toPanel.translate(view[4], view[5]);
+		toPanel.scale(view[6] / (double) view[2], view[6] / (double) view[3]);
+		toPanel.translate(-view[0], -view[1]);
+		return toPanel;
+	}
+	
+	/**
+	 * Circles a route endpoint on the overlay
+	 * 
+	 * @param color 0 for green, 1 for red, 2 for yellow
+	 * @param x The x coordinate
+	 * @param y The y coordinate
+	 * @modifies markers
+	 */
+	public void drawEndpoint(int color, int x, int y) {
+		for (int[] marker : markers) if (marker[0] == color && marker[1] == x && marker[2] == y) return; // already circled
+		markers.add(new int[] {color, x, y});
+	}
+	
+	// Paints the visible tiles of the map, then the route overlay over the same part of the map
+	@Override
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		int[] view = viewport();
+		Graphics2D g2 = (Graphics2D) g.create();
+		tiles.paint(g2, view[0], view[1], view[2], view[3], view[4], view[5], view[6], view[6]);
+		// maps map coordinates onto the panel the same way as the image
+		g2.clipRect(view[4], view[5], view[6], view[6]);
+		g2.transform(mapToPanel(view));
+		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		// keeps the line being drawn from shifting with its rounded end, outside the repainted part
+		g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+		g2.setStroke(STROKE);
+		g2.setColor(Color.black);
+		g2.draw(route);
+		if (draw && iter < coords.size()) g2.draw(new Line2D.Double(coords.get(iter), coords.get(iter+1), x2, y2)); // the line being drawn
+		for (int[] marker : markers) {
+			if (marker[0] == 0) {
+				g2.setColor(Color.green);
+			} else if (marker[0] == 1){
+				g2.setColor(Color.red);
+			} else {
+				g2.setColor(Color.yellow);
 			}
-		} 
-		if (!unzoom)((Graphics2D) g).drawImage(img.getSubimage(Math.max(x_zoom, 0), Math.max(y_zoom, 0), Math.min(w_zoom, img.getWidth() - x_zoom), Math.min(h_zoom, img.getHeight() - y_zoom)), new_x, new_y, mapSize + min_difference, mapSize + min_difference, this);
-		else ((Graphics2D) g).drawImage(img, new_x, new_y, mapSize + min_difference, mapSize + min_difference, this);
+			g2.drawOval(marker[1] - 15, marker[2] - 15, 30, 30);
+		}
+		g2.dispose();
 	}
 }
\ No newline at end of file
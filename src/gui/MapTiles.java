@@ -0,0 +1,319 @@
+package gui;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+
+//	MapTiles is not an ADT; therefore it does not need an abstraction function nor a representation
+//	invariant. It represents a pyramid of pre-scaled copies of the campus map, cut into square tiles
+//	of TILE_SIZE pixels. Level 0 is the map itself and each further level halves the one below it,
+//	until a level fits in one tile. Tiles are built lazily on a background thread when a paint first
+//	needs them, each from the four tiles beneath it, and are kept once built. A paint draws only the
+//	tiles that intersect the visible part of the map, from the level whose pixels are nearest to but
+//	no smaller than the pixels of the panel, so a frame costs about as much as the panel is large
+//	however large the map is. Until a tile is built, the nearest coarser built tile stands in for it.
+//	For a map too large to hold in memory, there is no full-resolution image at all: each tile is
+//	decoded from the image file on demand, only its region and at its level's subsampling, and the
+//	tiles of a row requested together are decoded in one read. Built tiles are kept in a cache of a
+//	bounded number of bytes, which evicts the least recently drawn tiles first, so memory scales with
+//	the viewport rather than with the map.
+class MapTiles {
+	// The width and height of a tile in pixels
+	static final int TILE_SIZE = 256;
+	private BufferedImage base; // the full-resolution map, or null if tiles are decoded from reader
+	private ImageReader reader; // used by the builder thread only
+	private int width;
+	private int height;
+	private int levels;
+	private long cacheBytes;
+	private long usedBytes;
+	private LinkedHashMap<Long, BufferedImage> tiles = new LinkedHashMap<Long, BufferedImage>(64, 0.75f, true); // least recently drawn first
+	private Set<Long> pending = ConcurrentHashMap.newKeySet();
+	private LinkedBlockingDeque<Long> requests = new LinkedBlockingDeque<Long>();
+	private Runnable onTileBuilt;
+
+	/**
+	 * Constructs a MapTiles object of a decoded map and starts its builder thread
+	 *
+	 * @param base The full-resolution map, which is not copied and must not change
+	 * @param cacheBytes The most bytes of tiles kept at once
+	 * @param onTileBuilt Run on the builder thread after each requested tile is built
+	 * @requires base != null && cacheBytes > 0 && onTileBuilt != null
+	 * @effects Creates a MapTiles object with no tiles built
+	 */
+	public MapTiles(BufferedImage base, long cacheBytes, Runnable onTileBuilt) {
+		this(base, null, base.getWidth(), base.getHeight(), cacheBytes, onTileBuilt);
+	}
+
+	/**
+	 * Constructs a MapTiles object that decodes the regions of a map image as they are needed, and
+	 * starts its builder thread
+	 *
+	 * @param reader The reader of the map image, whose input is set and is read from the builder
+	 * thread only from now on
+	 * @param width The width of the map, from the left edge of the image
+	 * @param height The height of the map, from the top edge of the image
+	 * @param cacheBytes The most bytes of tiles kept at once, besides the coarsest tile
+	 * @param onTileBuilt Run on the builder thread after each requested tile is built
+	 * @requires reader != null && 0 < width <= image width && 0 < height <= image height &&
+	 * cacheBytes > 0 && onTileBuilt != null
+	 * @effects Creates a MapTiles object and requests its coarsest tile
+	 */
+	public MapTiles(ImageReader reader, int width, int height, long cacheBytes, Runnable onTileBuilt) {
+		this(null, reader, width, height, cacheBytes, onTileBuilt);
+		request(levels - 1, 0, 0); // so that a stand-in for every tile soon exists
+	}
+
+	// Constructs a MapTiles object with either a decoded map or a reader
+	private MapTiles(BufferedImage base, ImageReader reader, int width, int height, long cacheBytes, Runnable onTileBuilt) {
+		this.base = base;
+		this.reader = reader;
+		this.width = width;
+		this.height = height;
+		this.cacheBytes = cacheBytes;
+		this.onTileBuilt = onTileBuilt;
+		levels = 1;
+		while (Math.max(width, height) > TILE_SIZE << (levels - 1)) levels++;
+		Thread builder = new Thread(this::buildRequested, "map-tile-builder");
+		builder.setDaemon(true);
+		builder.setPriority(Thread.MIN_PRIORITY);
+		builder.start();
+	}
+
+	/**
+	 *
+	 * @return The width of the map in pixels
+	 */
+	public int getWidth() { return width; }
+
+	/**
+	 *
+	 * @return The height of the map in pixels
+	 */
+	public int getHeight() { return height; }
+
+	/**
+	 *
+	 * @return The bytes of tiles kept at the moment
+	 */
+	public synchronized long getUsedBytes() { return usedBytes; }
+
+	/**
+	 *
+	 * @return The number of levels of the pyramid
+	 */
+	public int getLevels() { return levels; }
+
+	/**
+	 * Returns the level to draw the map at a scale from, whose pixels are the nearest to the pixels
+	 * of the panel without being smaller
+	 *
+	 * @param scale The panel pixels per map pixel
+	 * @requires scale > 0
+	 * @return the level, from 0 to getLevels() - 1
+	 */
+	public int levelFor(double scale) {
+		int level = 0;
+		while (level + 1 < levels && scale * (1 << (level + 1)) <= 1) level++;
+		return level;
+	}
+
+	/**
+	 * Draws a rectangle of the map into a rectangle of the panel, requesting every tile not yet built
+	 * that is within the clip of the graphics
+	 *
+	 * @param g The graphics of the panel
+	 * @param source_x The x coordinate of the rectangle on the map
+	 * @param source_y The y coordinate of the rectangle on the map
+	 * @param source_w The width of the rectangle on the map
+	 * @param source_h The height of the rectangle on the map
+	 * @param dest_x The x coordinate of the rectangle on the panel
+	 * @param dest_y The y coordinate of the rectangle on the panel
+	 * @param dest_w The width of the rectangle on the panel
+	 * @param dest_h The height of the rectangle on the panel
+	 * @requires g != null && source_w > 0 && source_h > 0
+	 * @modifies g
+	 */
+	public void paint(Graphics2D g, int source_x, int source_y, int source_w, int source_h, int dest_x, int dest_y, int dest_w, int dest_h) {
+		double scale_x = dest_w / (double) source_w;
+		double scale_y = dest_h / (double) source_h;
+		int level = levelFor(Math.min(scale_x, scale_y));
+		int span = TILE_SIZE << level; // the map pixels a tile of this level covers
+		int first_column = Math.max(source_x, 0) / span;
+		int first_row = Math.max(source_y, 0) / span;
+		int last_column = (Math.min(source_x + source_w, width) - 1) / span;
+		int last_row = (Math.min(source_y + source_h, height) - 1) / span;
+		Rectangle clip = g.getClipBounds(); // only part of the panel may need painting
+		for (int row = first_row; row <= last_row; row++) {
+			for (int column = first_column; column <= last_column; column++) {
+				// rounds the edges of each tile alike, so neighboring tiles meet without seams
+				int x1 = dest_x + (int) Math.round((column * span - source_x) * scale_x);
+				int y1 = dest_y + (int) Math.round((row * span - source_y) * scale_y);
+				int x2 = dest_x + (int) Math.round((Math.min((column + 1) * span, width) - source_x) * scale_x);
+				int y2 = dest_y + (int) Math.round((Math.min((row + 1) * span, height) - source_y) * scale_y);
+				if (clip != null && !clip.intersects(x1, y1, x2 - x1, y2 - y1)) continue;
+				BufferedImage tile = cached(key(level, column, row));
+				if (tile != null) {
+					g.drawImage(tile, x1, y1, x2, y2, 0, 0, tile.getWidth(), tile.getHeight(), null);
+					continue;
+				}
+				request(level, column, row);
+				drawStandIn(g, level, column, row, x1, y1, x2, y2);
+			}
+		}
+	}
+
+	// Draws the part of the nearest coarser built tile that covers a tile, or else that part of the
+	// map itself if it is decoded
+	private void drawStandIn(Graphics2D g, int level, int column, int row, int x1, int y1, int x2, int y2) {
+		for (int coarser = level + 1; coarser < levels; coarser++) {
+			BufferedImage tile = cached(key(coarser, column >> (coarser - level), row >> (coarser - level)));
+			if (tile == null) continue;
+			int shift = coarser - level;
+			int size = TILE_SIZE >> shift; // the pixels of the coarser tile covering this one
+			int sx = (column - ((column >> shift) << shift)) * size;
+			int sy = (row - ((row >> shift) << shift)) * size;
+			g.drawImage(tile, x1, y1, x2, y2, sx, sy, Math.min(sx + size, tile.getWidth()), Math.min(sy + size, tile.getHeight()), null);
+			return;
+		}
+		if (base == null) return;
+		int span = TILE_SIZE << level;
+		g.drawImage(base, x1, y1, x2, y2, column * span, row * span, Math.min((column + 1) * span, width), Math.min((row + 1) * span, height), null);
+	}
+
+	// Queues a tile to be built ahead of every earlier request, unless it is already queued
+	private void request(int level, int column, int row) {
+		long key = key(level, column, row);
+		if (pending.add(key)) requests.offerFirst(key);
+	}
+
+	// Builds the most recently requested tiles for as long as the program runs
+	private void buildRequested() {
+		while (true) {
+			long key;
+			try {
+				key = requests.takeFirst();
+			} catch (InterruptedException e) {
+				return;
+			}
+			int level = (int) (key >>> 48);
+			int column = (int) (key >>> 24) & 0xFFFFFF;
+			int row = (int) key & 0xFFFFFF;
+			if (base != null) {
+				tile(level, column, row);
+				pending.remove(key);
+			} else {
+				// takes the other requested tiles of the row along, to decode them in the same read
+				int first = column;
+				int last = column;
+				ArrayList<Long> row_keys = new ArrayList<Long>();
+				row_keys.add(key);
+				for (Iterator<Long> i = requests.iterator(); i.hasNext();) {
+					long other = i.next();
+					if ((int) (other >>> 48) != level || ((int) other & 0xFFFFFF) != row) continue;
+					i.remove();
+					row_keys.add(other);
+					first = Math.min(first, (int) (other >>> 24) & 0xFFFFFF);
+					last = Math.max(last, (int) (other >>> 24) & 0xFFFFFF);
+				}
+				try {
+					decode(level, row, first, last);
+					pending.removeAll(row_keys);
+				} catch (IOException e) { // leaves the tiles pending, so they are not requested again
+					e.printStackTrace();
+				}
+			}
+			onTileBuilt.run();
+		}
+	}
+
+	// Decodes the tiles of a level from the first to the last column of a row in one read, taking
+	// every 2^level-th pixel of every 2^level-th line of their region of the image
+	private void decode(int level, int row, int first, int last) throws IOException {
+		int span = TILE_SIZE << level;
+		ImageReadParam param = reader.getDefaultReadParam();
+		param.setSourceRegion(new Rectangle(first * span, row * span, Math.min((last + 1) * span, width) - first * span, Math.min((row + 1) * span, height) - row * span));
+		param.setSourceSubsampling(1 << level, 1 << level, 0, 0);
+		BufferedImage strip = reader.read(0, param);
+		int type = strip.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		for (int column = first; column <= last; column++) {
+			int x = (column - first) * TILE_SIZE;
+			if (x >= strip.getWidth()) break;
+			BufferedImage tile = new BufferedImage(Math.min(TILE_SIZE, strip.getWidth() - x), strip.getHeight(), type);
+			Graphics2D g2 = tile.createGraphics();
+			g2.drawImage(strip, -x, 0, null);
+			g2.dispose();
+			store(key(level, column, row), tile);
+		}
+	}
+
+	// Returns a tile, building it and any of the tiles beneath it that it needs first
+	private BufferedImage tile(int level, int column, int row) {
+		BufferedImage tile = cached(key(level, column, row));
+		if (tile != null) return tile;
+		int span = TILE_SIZE << level;
+		int tile_width = (Math.min((column + 1) * span, width) - column * span + (1 << level) - 1) >> level;
+		int tile_height = (Math.min((row + 1) * span, height) - row * span + (1 << level) - 1) >> level;
+		tile = new BufferedImage(tile_width, tile_height, base.getType() == BufferedImage.TYPE_CUSTOM ? BufferedImage.TYPE_INT_RGB : base.getType());
+		Graphics2D g2 = tile.createGraphics();
+		if (level == 0) g2.drawImage(base, -column * TILE_SIZE, -row * TILE_SIZE, null);
+		else { // averages each two by two pixels of the four tiles beneath
+			g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			for (int i = 0; i < 4; i++) {
+				int child_column = 2 * column + i % 2;
+				int child_row = 2 * row + i / 2;
+				if (child_column * (span / 2) >= width || child_row * (span / 2) >= height) continue;
+				BufferedImage child = tile(level - 1, child_column, child_row);
+				int x = i % 2 * TILE_SIZE / 2;
+				int y = i / 2 * TILE_SIZE / 2;
+				g2.drawImage(child, x, y, x + (child.getWidth() + 1) / 2, y + (child.getHeight() + 1) / 2, 0, 0, child.getWidth(), child.getHeight(), null);
+			}
+		}
+		g2.dispose();
+		store(key(level, column, row), tile);
+		return tile;
+	}
+
+	// Returns a built tile, marking it as the most recently drawn, or null if it is not kept
+	private synchronized BufferedImage cached(long key) {
+		return tiles.get(key);
+	}
+
+	// Keeps a built tile, evicting the least recently drawn tiles until the tiles fit in cacheBytes.
+	// The coarsest tile is never evicted, so there is always a stand-in once it is built.
+	private synchronized void store(long key, BufferedImage tile) {
+		BufferedImage old = tiles.put(key, tile);
+		if (old != null) usedBytes -= bytes(old);
+		usedBytes += bytes(tile);
+		for (Iterator<Map.Entry<Long, BufferedImage>> i = tiles.entrySet().iterator(); i.hasNext() && usedBytes > cacheBytes;) {
+			Map.Entry<Long, BufferedImage> entry = i.next();
+			if (entry.getKey() == key || (int) (entry.getKey() >>> 48) == levels - 1) continue;
+			usedBytes -= bytes(entry.getValue());
+			i.remove();
+		}
+	}
+
+	// Returns the bytes of the pixels of a tile
+	private static long bytes(BufferedImage tile) {
+		DataBuffer buffer = tile.getRaster().getDataBuffer();
+		return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+	}
+
+	// Returns the key of a tile
+	private static long key(int level, int column, int row) {
+		return ((long) level << 48) | ((long) column << 24) | row;
+	}
+}
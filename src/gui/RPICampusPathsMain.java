@@ -2,30 +2,38 @@ package gui;
 
 import java.awt.BorderLayout;
 import java.awt.Dimension;
+import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
-import java.util.Arrays;
-import java.util.Iterator;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import campus.CampusLocations;
 import campus.CampusWrapper;
+import campus.PathwayPoint;
+import campus.PointRoute;
+import campus.Route;
 
 //	RPICampusPathsMain is not an ADT. It represents the view and controller for finding and painting
 //	a route between two selected buildings on an RPI Campus map image.
 
 public class RPICampusPathsMain {
+	// The choices of how fast routes are drawn, and their multiples of the default speed
+	private static final String[] SPEED_NAMES = {"Slow", "Normal", "Fast", "Fastest"};
+	private static final double[] SPEEDS = {0.5, 1, 2, 4};
 	private MapPanel mapPanel;
-	private JComboBox<String> departureMenu;
-	private JComboBox<String> destinationMenu;
+	private JComboBox<String> speedMenu;
+	private BuildingSearchField departureMenu;
+	private BuildingSearchField destinationMenu;
 	private String clickedPath1;
+	private double[] clickedPoint;
 	
 	// The listener for the GUI buttons
 	private class ButtonListener implements ActionListener {
@@ -55,11 +63,10 @@ public class RPICampusPathsMain {
 				loadRouteFrame(graph);
 			} else if (id.equals("Route")) { // Calculates and draws a route between two selected buildings
 				mapPanel.clearDrawings();
-				String id1 = graph.getLocations().getID((String) departureMenu.getSelectedItem());
-				String id2 = graph.getLocations().getID((String) destinationMenu.getSelectedItem());
+				String id1 = graph.getLocations().getID(departureMenu.getSelectedName());
+				String id2 = graph.getLocations().getID(destinationMenu.getSelectedName());
 				if (id1 == null || id2 == null) return;
-				String path = graph.findPath(id1, id2);
-				pathParser(id1,id2,path,graph);
+				drawRoute(graph.findRoute(id1, id2),graph);
 				mapPanel.animate();
 			} else if (id.equals("ZoomIn")) { // Zooms in by 50 pixels
 				mapPanel.zoomIn();
@@ -67,6 +74,10 @@ public class RPICampusPathsMain {
 			} else if (id.equals("ZoomOut")) { // Zooms out by 50 pixels
 				mapPanel.zoomOut();
 				mapPanel.repaint();
+			} else if (id.equals("Skip")) { // Finishes drawing the route at once
+				mapPanel.skipToEnd();
+			} else if (id.equals("Speed")) { // Sets how fast routes are drawn
+				mapPanel.setSpeed(MapPanel.DEFAULT_SPEED * SPEEDS[speedMenu.getSelectedIndex()]);
 			} else { // Resets the map
 				mapPanel.clearDrawings();
 				mapPanel.repaint();
@@ -91,9 +102,10 @@ public class RPICampusPathsMain {
 		}
 		
 		/**
-		 * Selects buildings and draws route if two buildings are selected by mouse clicking on appropriate map area
+		 * Selects buildings and draws route if two buildings are selected by mouse clicking on appropriate map area.
+		 * A click away from every building selects the nearest point on a pathway instead.
 		 * 
-		 * @modifies clickedPath1, mapPanel
+		 * @modifies clickedPath1, clickedPoint, mapPanel
 		 */
 		@Override
 		public void mouseClicked(MouseEvent e) {
@@ -105,30 +117,36 @@ public class RPICampusPathsMain {
 			double scale = mapPanel.getMapSize() / (double) (mapPanel.getMapSize() + min_difference);
 			double clickX = (((e.getX() - new_x) * 2.5) * scale);
 			double clickY = (((e.getY() - new_y) * 2.5) * scale);
-			Iterator<String> iter = Arrays.stream(graph.getLocations().getBuildings(true)).iterator();
-			while (iter.hasNext()) { // Iterates through all buildings 
-				String name = iter.next();
-				if (graph.getLocations().getID(name) != null) {
-					String id = graph.getLocations().getID(name);
-					double idX = Integer.parseInt(graph.getLocations().getX(id));
-					double idY = Integer.parseInt(graph.getLocations().getY(id));		
-					if (idX - 14*scale <= clickX && clickX <= idX + 14*scale && idY - 14*scale <= clickY && clickY <= idY + 14*scale) { // Checks to see is mouse clicked on building id area
-						if (clickedPath1.equals("")) { // sets building to be the departure
-							clickedPath1 = id;
-							mapPanel.clearDrawings();
-							mapPanel.repaint();
-							mapPanel.drawEndpoint(0, (int) idX, (int) idY);
-							mapPanel.repaint();
-						} else { // sets building to be the destination, calculates the path, draws the path, and resets the departure string variable 
-							mapPanel.drawEndpoint(1, (int) idX, (int) idY);
-							mapPanel.repaint();
-							pathParser(clickedPath1,id,graph.findPath(clickedPath1, id),graph);
-							mapPanel.animate();
-							clickedPath1 = "";
-						}
-						break;
-					}
-				}
+			CampusLocations locations = graph.getLocations();
+			int i = locations.getSpatialIndex().hitTest(clickX, clickY, 14*scale); // the building whose id area was clicked
+			String id = null;
+			double idX, idY;
+			if (i != -1) {
+				id = locations.getID(i);
+				idX = locations.getX(i);
+				idY = locations.getY(i);
+			} else { // snaps a click away from the buildings onto the nearest pathway
+				PathwayPoint point = graph.snap(clickX, clickY);
+				if (point == null) return;
+				idX = point.getX();
+				idY = point.getY();
+			}
+			if (clickedPoint == null) { // sets building or point to be the departure
+				clickedPath1 = id == null ? "" : id;
+				clickedPoint = new double[] {idX, idY};
+				if (id != null) graph.getShortestPathTree(id); // the destination clicked next is then a tree walk
+				mapPanel.clearDrawings();
+				mapPanel.repaint();
+				mapPanel.drawEndpoint(0, (int) idX, (int) idY);
+				mapPanel.repaint();
+			} else { // sets building or point to be the destination, calculates the path, draws the path, and resets the departure
+				mapPanel.drawEndpoint(1, (int) idX, (int) idY);
+				mapPanel.repaint();
+				if (id != null && !clickedPath1.equals("")) drawRoute(graph.findRoute(clickedPath1, id),graph);
+				else drawRoute(graph.findRoute(clickedPoint[0], clickedPoint[1], idX, idY),graph);
+				mapPanel.animate();
+				clickedPath1 = "";
+				clickedPoint = null;
 			}
 		}
 
@@ -168,47 +186,68 @@ public class RPICampusPathsMain {
 	}
 	
 	/**
-	 * Parses path for the route between id1 and id2, and draws or shows a dialog accordingly
+	 * Draws the segments of a route, or shows a dialog if it cannot be drawn
 	 * 
-	 * @param id1 The departure id
-	 * @param id2 The destination id
-	 * @param path The string to be parsed
-	 * @param graph The campus graph
+	 * @param route The route to be drawn
+	 * @param graph The campus graph the route was found in
 	 * @modifies mapPanel
 	 */
-	private void pathParser(String id1, String id2, String path, CampusWrapper graph) {
-		if (path.equals("0.000")) { // for path to self
-			mapPanel.setDraw(Integer.parseInt(graph.getLocations().getX(id1)), Integer.parseInt(graph.getLocations().getY(id1)), Integer.parseInt(graph.getLocations().getX(id2)), Integer.parseInt(graph.getLocations().getY(id2)));
-			return;
-		}
-		int i = path.indexOf(",");
-		if (i == -1) { // no path found
+	private void drawRoute(Route route, CampusWrapper graph) {
+		if (route.getStatus() != Route.Status.OK) { // no path found
 			JOptionPane.showMessageDialog(new JFrame(), "No path could be drawn.");
-		} else { // prints path
-			String id3 = path.substring(0,i);
-			mapPanel.setDraw(Integer.parseInt(graph.getLocations().getX(id1)), Integer.parseInt(graph.getLocations().getY(id1)), Integer.parseInt(graph.getLocations().getX(id3)), Integer.parseInt(graph.getLocations().getY(id3)));
-			int j = path.indexOf(",",i+1);
-			while (i != -1) { // iterates through path string, printing each line
-				if (j != -1) { // if path has not ended
-					String id4 = path.substring(i+1,j);
-					mapPanel.setDraw(Integer.parseInt(graph.getLocations().getX(id3)), Integer.parseInt(graph.getLocations().getY(id3)), Integer.parseInt(graph.getLocations().getX(id4)), Integer.parseInt(graph.getLocations().getY(id4)));
-					id3 = id4;
-				} 
-				i = j;
-				j = path.indexOf(",",i+1);
+		} else if (route.size() == 1) { // for path to self
+			int node = route.getNode(0);
+			mapPanel.setDraw((int) graph.getNodeX(node), (int) graph.getNodeY(node), (int) graph.getNodeX(node), (int) graph.getNodeY(node));
+		} else { // draws each hop of the route
+			for (int i = 1; i < route.size(); i++) {
+				int from = route.getNode(i-1);
+				int to = route.getNode(i);
+				mapPanel.setDraw((int) graph.getNodeX(from), (int) graph.getNodeY(from), (int) graph.getNodeX(to), (int) graph.getNodeY(to));
 			}
 		}
 	}
 	
+	/**
+	 * Draws the segments of a route between two points on pathways, or shows a dialog if it cannot
+	 * be drawn
+	 * 
+	 * @param route The route to be drawn
+	 * @param graph The campus graph the route was found in
+	 * @modifies mapPanel
+	 */
+	private void drawRoute(PointRoute route, CampusWrapper graph) {
+		if (route == null || !route.isFound()) { // no path found
+			JOptionPane.showMessageDialog(new JFrame(), "No path could be drawn.");
+			return;
+		}
+		int[] points = new int[2 * route.size() + 4]; // the start, every node and the destination
+		points[0] = (int) route.getStart().getX();
+		points[1] = (int) route.getStart().getY();
+		for (int i = 0; i < route.size(); i++) {
+			points[2*i + 2] = (int) graph.getNodeX(route.getNode(i));
+			points[2*i + 3] = (int) graph.getNodeY(route.getNode(i));
+		}
+		points[points.length - 2] = (int) route.getEnd().getX();
+		points[points.length - 1] = (int) route.getEnd().getY();
+		int from = 0;
+		for (int i = 2; i < points.length; i += 2) { // draws each hop, skipping hops of no length
+			if (points[i] == points[from] && points[i+1] == points[from+1]) continue;
+			mapPanel.setDraw(points[from], points[from+1], points[i], points[i+1]);
+			from = i;
+		}
+		if (from == 0) mapPanel.setDraw(points[0], points[1], points[0], points[1]); // for path to self
+	}
+	
 	/**
 	 * Creates the main campus GUI frame
 	 * 
 	 * @param graph The campus graph
-	 * @modifies clickedPath1, mapPanel
+	 * @modifies clickedPath1, clickedPoint, mapPanel, speedMenu
 	 */
 	public void loadMapFrame(CampusWrapper graph) {
 		// Initializing variables and components
 		clickedPath1 = "";
+		clickedPoint = null;
 	    JFrame frame = new JFrame("RPI Campus Paths");
 	    String imagePath = "src/gui/data/RPI_campus_map_2010_extra_nodes_edges.png";
 	    mapPanel = new MapPanel(imagePath);
@@ -225,6 +264,11 @@ public class RPICampusPathsMain {
 	    zoomInButton.addActionListener(new ButtonListener("ZoomIn",null));
 	    JButton zoomOutButton = new JButton("ZoomOut");
 	    zoomOutButton.addActionListener(new ButtonListener("ZoomOut",null));
+	    JButton skipButton = new JButton("Skip");
+	    skipButton.addActionListener(new ButtonListener("Skip",null));
+	    speedMenu = new JComboBox<String>(SPEED_NAMES);
+	    speedMenu.setSelectedIndex(1);
+	    speedMenu.addActionListener(new ButtonListener("Speed",null));
 	    // Adds to GUI
 	    frame.add(mapPanel,BorderLayout.CENTER);
 	    frame.add(buttonPanel,BorderLayout.NORTH);
@@ -232,6 +276,8 @@ public class RPICampusPathsMain {
 	    buttonPanel.add(resetButton);
 	    buttonPanel.add(zoomInButton);
 	    buttonPanel.add(zoomOutButton);
+	    buttonPanel.add(skipButton);
+	    buttonPanel.add(speedMenu);
 	    frame.pack();
 	    frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 	    frame.setVisible(true); 
@@ -246,13 +292,16 @@ public class RPICampusPathsMain {
 	public void loadRouteFrame(CampusWrapper graph) {
 		// Initializes components
 		JFrame frame = new JFrame("Select Buildings");
-		departureMenu = new JComboBox<String>(graph.getLocations().getBuildings(true));
-		destinationMenu = new JComboBox<String>(graph.getLocations().getBuildings(false));
+		CampusLocations locations = graph.getLocations();
+		departureMenu = new BuildingSearchField("Departure",locations.getBuildingIndex(),locations.getTrigramIndex());
+		destinationMenu = new BuildingSearchField("Destination",locations.getBuildingIndex(),locations.getTrigramIndex());
+		JPanel menuPanel = new JPanel(new GridLayout(1,2));
 	    JButton routeButton = new JButton("Draw Route");
 	    routeButton.addActionListener(new ButtonListener("Route",graph));
 		// Adds to Route GUI
-		frame.add(departureMenu,BorderLayout.NORTH);
-		frame.add(destinationMenu,BorderLayout.CENTER);
+		menuPanel.add(departureMenu);
+		menuPanel.add(destinationMenu);
+		frame.add(menuPanel,BorderLayout.CENTER);
 		frame.add(routeButton,BorderLayout.SOUTH);
 	    frame.pack();
 	    frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -268,7 +317,10 @@ public class RPICampusPathsMain {
 		// Initializing graph and map
 		String nodeArg = "src/campus/data/RPI_map_data_Nodes.csv";
 		String edgeArg = "src/campus/data/RPI_map_data_Edges.csv";
-		CampusWrapper graph = new CampusWrapper(nodeArg,edgeArg);
+		String snapshotArg = "src/campus/data/RPI_map_data.snapshot";
+		CampusWrapper graph = new CampusWrapper(nodeArg,edgeArg,snapshotArg); // parses the files only once
+		graph.enableRouteCache(256); // users often redraw the same route
+		graph.setRetainedTrees(4); // and pick several destinations from one departure
 		RPICampusPathsMain main = new RPICampusPathsMain();
 		main.loadMapFrame(graph);
 	}